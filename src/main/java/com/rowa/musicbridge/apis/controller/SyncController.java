@@ -1,14 +1,19 @@
 package com.rowa.musicbridge.apis.controller;
 
-import com.rowa.musicbridge.sync.TidalSyncService;
+import com.rowa.musicbridge.apis.dto.SyncJobResponse;
+import com.rowa.musicbridge.sync.SyncJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller for handling manual triggers of the TIDAL synchronization process.
@@ -18,10 +23,10 @@ import java.util.Map;
 public class SyncController {
 
     private static final Logger log = LoggerFactory.getLogger(SyncController.class);
-    private final TidalSyncService tidalSyncService;
+    private final SyncJobService syncJobService;
 
-    public SyncController(TidalSyncService tidalSyncService) {
-        this.tidalSyncService = tidalSyncService;
+    public SyncController(SyncJobService syncJobService) {
+        this.syncJobService = syncJobService;
     }
 
     /**
@@ -32,13 +37,17 @@ public class SyncController {
      *
      * Important: URL muss in Anführungszeichen,
      * Example: curl -X POST "http://localhost:8080/api/sync/trigger?query=rock&trackLimit=50"
+     *
+     * The sync runs in the background: responds at once with 202 Accepted, the job id ("jobId") and the
+     * job status URL in the Location header (GET /api/sync/jobs/{id});
+     * 503 if too many sync jobs are already waiting.
      */
     @PostMapping("/trigger")
-    public ResponseEntity<Map<String, String>> triggerSync(
+    public ResponseEntity<Map<String, Object>> triggerSync(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) Integer trackLimit) {
 
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         
         try {
             // Validation for trackLimit: must be positive if provided
@@ -70,17 +79,26 @@ public class SyncController {
             String effectiveQuery = (query != null && !query.isBlank()) ? query : null;
             log.info("Triggering sync with query='{}', trackLimit={}", effectiveQuery, trackLimit);
             
-            tidalSyncService.syncArtistsAndAlbums(effectiveQuery, trackLimit);
+            SyncJobResponse job = syncJobService.submit(effectiveQuery, trackLimit);
             
             String usedQuery = effectiveQuery != null ? effectiveQuery : "default query from config";
             String usedLimit = trackLimit != null ? String.valueOf(trackLimit) : "default limit from config";
 
-            response.put("status", "success");
-            response.put("message", "TIDAL sync started successfully");
             response.put("query", usedQuery);
             response.put("trackLimit", usedLimit);
-
-            return ResponseEntity.ok(response);
+            response.put("jobId", job.getId());
+            response.put("job", job);
+            response.put("status", "accepted");
+            response.put("message", "TIDAL sync job queued");
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sync/jobs/" + job.getId()))
+                    .body(response);
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Sync job rejected: {}", e.getMessage());
+            response.put("status", "rejected");
+            response.put("message", "Too many TIDAL sync jobs queued, try again later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
 
         } catch (IllegalArgumentException e) {
             log.error("Validation error: {}", e.getMessage());
@@ -97,6 +115,25 @@ public class SyncController {
         }
     }
 
+    /**
+     * Status of a sync job: stage, counts, throughput, error and ETA.
+     * GET /api/sync/jobs/{id}
+     * 404 if the job does not exist.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SyncJobResponse> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(syncJobService.getJob(id));
+    }
+
+    /**
+     * Job history, the 20 most recent sync jobs first.
+     * GET /api/sync/jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<SyncJobResponse>> getRecentJobs() {
+        return ResponseEntity.ok(syncJobService.getRecentJobs());
+    }
+
     /**
      * Global Exception Handler for MethodArgumentTypeMismatchException,
      * which occurs when a request parameter cannot be converted to the expected type.
@@ -0,0 +1,93 @@
+package com.rowa.musicbridge.apis.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.rowa.musicbridge.domain.entity.SyncJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for the status of an asynchronous sync job.
+ * Counts are live while the job runs; throughput and ETA are derived from them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobResponse {
+
+    private UUID id;
+
+    private SyncJobStatus status;
+
+    // queued, search, album-fetch, persist, done
+    private String stage;
+
+    private String query;
+
+    @JsonProperty("track_limit")
+    private Integer trackLimit;
+
+    @JsonProperty("artists_found")
+    private int artistsFound;
+
+    // Vom unterbrochenen Lauf bereits erledigt, werden nicht erneut geholt
+    @JsonProperty("artists_resumed")
+    private int artistsResumed;
+
+    @JsonProperty("artists_fetched")
+    private int artistsFetched;
+
+    @JsonProperty("artists_processed")
+    private int artistsProcessed;
+
+    @JsonProperty("artists_failed")
+    private int artistsFailed;
+
+    @JsonProperty("artists_skipped")
+    private int artistsSkipped;
+
+    @JsonProperty("albums_processed")
+    private int albumsProcessed;
+
+    @JsonProperty("artists_inserted")
+    private int artistsInserted;
+
+    @JsonProperty("artists_updated")
+    private int artistsUpdated;
+
+    @JsonProperty("artists_unchanged")
+    private int artistsUnchanged;
+
+    @JsonProperty("albums_inserted")
+    private int albumsInserted;
+
+    @JsonProperty("albums_updated")
+    private int albumsUpdated;
+
+    @JsonProperty("albums_unchanged")
+    private int albumsUnchanged;
+
+    // Persistierte (verarbeitete + fehlgeschlagene) Artists pro Sekunde seit Start
+    @JsonProperty("artists_per_second")
+    private Double artistsPerSecond;
+
+    // Geschätzte Restlaufzeit, nur solange der Job läuft
+    @JsonProperty("eta_seconds")
+    private Long etaSeconds;
+
+    private String error;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("started_at")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    private LocalDateTime finishedAt;
+}
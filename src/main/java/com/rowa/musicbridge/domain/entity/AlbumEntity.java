@@ -60,4 +60,8 @@ public class AlbumEntity {
     @Column(name = "manually_modified", nullable = false)
     @Builder.Default
     private Boolean manuallyModified = false;
+
+    // Fingerprint der von TIDAL übernommenen Felder, siehe CatalogContentHash
+    @Column(name = "content_hash")
+    private Long contentHash;
 }
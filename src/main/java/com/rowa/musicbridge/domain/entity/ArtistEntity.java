@@ -51,6 +51,10 @@ public class ArtistEntity {
     @Builder.Default
     private Boolean manuallyModified = false;
 
+    // Fingerprint der von TIDAL übernommenen Felder, siehe CatalogContentHash
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     public void addAlbum(AlbumEntity album) {
         albums.add(album);
         album.setArtist(this);
@@ -0,0 +1,105 @@
+package com.rowa.musicbridge.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Asynchroner TIDAL Sync-Job mit Status und Zählern des Laufs (Job-Historie)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Builder
+@Entity
+@Table(name = "sync_jobs")
+public class SyncJobEntity {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "query", length = 500)
+    private String query;
+
+    @Column(name = "track_limit")
+    private Integer trackLimit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SyncJobStatus status;
+
+    @Column(name = "stage", nullable = false, length = 20)
+    private String stage;
+
+    @Column(name = "artists_found", nullable = false)
+    @Builder.Default
+    private int artistsFound = 0;
+
+    @Column(name = "artists_resumed", nullable = false)
+    @Builder.Default
+    private int artistsResumed = 0;
+
+    @Column(name = "artists_processed", nullable = false)
+    @Builder.Default
+    private int artistsProcessed = 0;
+
+    @Column(name = "artists_failed", nullable = false)
+    @Builder.Default
+    private int artistsFailed = 0;
+
+    @Column(name = "artists_skipped", nullable = false)
+    @Builder.Default
+    private int artistsSkipped = 0;
+
+    @Column(name = "albums_processed", nullable = false)
+    @Builder.Default
+    private int albumsProcessed = 0;
+
+    @Column(name = "artists_inserted", nullable = false)
+    @Builder.Default
+    private int artistsInserted = 0;
+
+    @Column(name = "artists_updated", nullable = false)
+    @Builder.Default
+    private int artistsUpdated = 0;
+
+    @Column(name = "artists_unchanged", nullable = false)
+    @Builder.Default
+    private int artistsUnchanged = 0;
+
+    @Column(name = "albums_inserted", nullable = false)
+    @Builder.Default
+    private int albumsInserted = 0;
+
+    @Column(name = "albums_updated", nullable = false)
+    @Builder.Default
+    private int albumsUpdated = 0;
+
+    @Column(name = "albums_unchanged", nullable = false)
+    @Builder.Default
+    private int albumsUnchanged = 0;
+
+    // Instanz, die den Job ausführt; ihr Lease (lease_until) wird nur per SQL in Datenbankzeit gesetzt
+    @Column(name = "owner", updatable = false)
+    private String owner;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,19 @@
+package com.rowa.musicbridge.domain.entity;
+
+/**
+ * Lifecycle of a sync job: QUEUED → RUNNING → COMPLETED | ABORTED | FAILED
+ */
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    /** all artists were attempted (single artists may still have failed) */
+    COMPLETED,
+    /** stopped early, e.g. because a TIDAL circuit breaker opened */
+    ABORTED,
+    /** unexpected error or interrupted by a restart */
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == ABORTED || this == FAILED;
+    }
+}
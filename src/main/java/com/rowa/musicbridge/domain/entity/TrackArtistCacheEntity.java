@@ -0,0 +1,32 @@
+package com.rowa.musicbridge.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistierter Eintrag des Track -> Artists Caches der TIDAL Integration
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Builder
+@Entity
+@Table(name = "track_artist_cache")
+public class TrackArtistCacheEntity {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "tidal_track_id", nullable = false)
+    private String tidalTrackId;
+
+    // Artists des Tracks als JSON Array [{"id": ..., "name": ...}]
+    @Column(name = "artists", nullable = false, columnDefinition = "TEXT")
+    private String artists;
+
+    @Column(name = "cached_at", nullable = false)
+    private LocalDateTime cachedAt;
+}
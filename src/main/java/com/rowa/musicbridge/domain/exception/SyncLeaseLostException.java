@@ -0,0 +1,11 @@
+package com.rowa.musicbridge.domain.exception;
+
+/**
+ * An instance no longer holds the lease of a sync run shard it was working on: the lease expired and another
+ * instance claimed the shard (or resumed the run), so this instance must stop writing the shard
+ */
+public class SyncLeaseLostException extends RuntimeException {
+    public SyncLeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,11 @@ public interface AlbumRepository extends JpaRepository<AlbumEntity, UUID> {
 
     boolean existsByTidalId(String tidalId);
 
+    /**
+     * Loads all albums of a sync batch in one query
+     */
+    List<AlbumEntity> findByTidalIdIn(Collection<String> tidalIds);
+
     List<AlbumEntity> findByArtist_Name(String artistName);
 
     List<AlbumEntity> findByArtistId(UUID artistId);
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,11 @@ public interface ArtistRepository extends JpaRepository<ArtistEntity, UUID> {
 
     boolean existsByTidalId(String tidalId);
 
+    /**
+     * Loads all artists of a sync batch in one query
+     */
+    List<ArtistEntity> findByTidalIdIn(Collection<String> tidalIds);
+
     @Query("SELECT a FROM ArtistEntity a LEFT JOIN FETCH a.albums WHERE a.id = :id")
     Optional<ArtistEntity> findByIdWithAlbums(@Param("id") UUID id);
 
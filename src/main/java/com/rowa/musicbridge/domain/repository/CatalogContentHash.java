@@ -0,0 +1,50 @@
+package com.rowa.musicbridge.domain.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/**
+ * Fingerprint of the TIDAL-sourced fields of an artist or album (content_hash column).
+ * The sync only writes a row if its fingerprint changed, so unchanged rows cause no UPDATE.
+ * 64 bits of SHA-256 over the length-prefixed fields; null and "" hash differently.
+ */
+public final class CatalogContentHash {
+
+    private CatalogContentHash() {
+    }
+
+    public static long artist(String name) {
+        return hash(name);
+    }
+
+    /**
+     * The artist link is not part of the hash, it is compared directly (artist_id, artist_name)
+     */
+    public static long album(String title, LocalDate releaseDate) {
+        return hash(title, releaseDate != null ? releaseDate.toString() : null);
+    }
+
+    private static long hash(String... fields) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        for (String field : fields) {
+            byte[] bytes = field != null ? field.getBytes(StandardCharsets.UTF_8) : null;
+            length.clear();
+            length.putInt(bytes != null ? bytes.length : -1);
+            digest.update(length.array());
+            if (bytes != null) {
+                digest.update(bytes);
+            }
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+}
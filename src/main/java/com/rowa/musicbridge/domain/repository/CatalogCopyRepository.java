@@ -0,0 +1,222 @@
+package com.rowa.musicbridge.domain.repository;
+
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Bulk import of synced artists and albums for full catalog refreshes (PostgreSQL only).
+ * <p>
+ * The rows are streamed with {@code COPY ... FROM STDIN} into temporary staging tables and then merged
+ * into artists and albums with one INSERT ... ON CONFLICT per table, which only updates rows with
+ * manually_modified = false whose content_hash (or album artist) changed. Must run inside a transaction: the staging tables live until commit.
+ * </p>
+ */
+@Repository
+public class CatalogCopyRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // seq = Reihenfolge im Input, damit bei doppelten tidal_ids wie beim Upsert die letzte Zeile gewinnt
+    static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS staging_artists (
+                seq BIGINT NOT NULL,
+                tidal_id VARCHAR(255) NOT NULL,
+                name VARCHAR(500) NOT NULL,
+                content_hash BIGINT NOT NULL
+            ) ON COMMIT DROP;
+            CREATE TEMP TABLE IF NOT EXISTS staging_albums (
+                seq BIGINT NOT NULL,
+                tidal_id VARCHAR(255) NOT NULL,
+                title VARCHAR(500) NOT NULL,
+                release_date DATE,
+                content_hash BIGINT NOT NULL,
+                artist_tidal_id VARCHAR(255) NOT NULL
+            ) ON COMMIT DROP;
+            TRUNCATE staging_artists, staging_albums
+            """;
+
+    static final String COPY_ARTISTS_SQL = "COPY staging_artists (seq, tidal_id, name, content_hash) FROM STDIN (FORMAT csv)";
+
+    static final String COPY_ALBUMS_SQL =
+            "COPY staging_albums (seq, tidal_id, title, release_date, content_hash, artist_tidal_id) FROM STDIN (FORMAT csv)";
+
+    // Zählt wie CatalogUpsertRepository: total, inserted (xmax = 0), updated
+    static final String MERGE_ARTISTS_SQL = """
+            WITH source AS (
+                SELECT DISTINCT ON (tidal_id) tidal_id, name, content_hash
+                FROM staging_artists
+                ORDER BY tidal_id, seq DESC
+            ), written AS (
+                INSERT INTO artists (tidal_id, name, content_hash)
+                SELECT tidal_id, name, content_hash FROM source
+                ON CONFLICT (tidal_id) DO UPDATE
+                    SET name = EXCLUDED.name,
+                        content_hash = EXCLUDED.content_hash,
+                        updated_at = CURRENT_TIMESTAMP
+                    WHERE artists.manually_modified = false
+                      AND artists.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT (SELECT count(*) FROM source) AS total,
+                   count(*) FILTER (WHERE inserted) AS inserted,
+                   count(*) FILTER (WHERE NOT inserted) AS updated
+            FROM written
+            """;
+
+    static final String MERGE_ALBUMS_SQL = """
+            WITH source AS (
+                SELECT DISTINCT ON (s.tidal_id) s.tidal_id, s.title, s.release_date, s.content_hash,
+                       a.id AS artist_id, a.name AS artist_name
+                FROM staging_albums s
+                JOIN artists a ON a.tidal_id = s.artist_tidal_id
+                ORDER BY s.tidal_id, s.seq DESC
+            ), written AS (
+                INSERT INTO albums (tidal_id, title, release_date, content_hash, artist_id, artist_name)
+                SELECT tidal_id, title, release_date, content_hash, artist_id, artist_name FROM source
+                ON CONFLICT (tidal_id) DO UPDATE
+                    SET title = EXCLUDED.title,
+                        release_date = EXCLUDED.release_date,
+                        content_hash = EXCLUDED.content_hash,
+                        artist_id = EXCLUDED.artist_id,
+                        artist_name = EXCLUDED.artist_name,
+                        updated_at = CURRENT_TIMESTAMP
+                    WHERE albums.manually_modified = false
+                      AND (albums.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                        OR albums.artist_id IS DISTINCT FROM EXCLUDED.artist_id
+                        OR albums.artist_name IS DISTINCT FROM EXCLUDED.artist_name)
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT (SELECT count(*) FROM source) AS total,
+                   count(*) FILTER (WHERE inserted) AS inserted,
+                   count(*) FILTER (WHERE NOT inserted) AS updated
+            FROM written
+            """;
+
+    /**
+     * Inserted, updated and unchanged rows per table
+     */
+    public record MergeResult(CatalogWriteCounts artists, CatalogWriteCounts albums) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogCopyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Copies the rows into the staging tables and merges them into artists and albums.
+     * Albums whose artist exists neither in the input nor in the database are skipped.
+     */
+    public MergeResult importCatalog(Collection<ArtistRow> artists, Collection<AlbumRow> albums) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("COPY import requires an active transaction");
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<MergeResult>) connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+            copyArtists(connection, artists);
+            copyAlbums(connection, albums);
+
+            try (var statement = connection.createStatement()) {
+                CatalogWriteCounts artistCounts;
+                try (ResultSet resultSet = statement.executeQuery(MERGE_ARTISTS_SQL)) {
+                    artistCounts = CatalogUpsertRepository.WRITE_COUNTS.extractData(resultSet);
+                }
+                try (ResultSet resultSet = statement.executeQuery(MERGE_ALBUMS_SQL)) {
+                    return new MergeResult(artistCounts, CatalogUpsertRepository.WRITE_COUNTS.extractData(resultSet));
+                }
+            }
+        });
+    }
+
+    private static void copyArtists(Connection connection, Collection<ArtistRow> artists) throws SQLException {
+        try (Writer writer = copyWriter(connection, COPY_ARTISTS_SQL)) {
+            long seq = 0;
+            for (ArtistRow artist : artists) {
+                writer.write(Long.toString(seq++));
+                writer.write(',');
+                writeCsv(writer, artist.tidalId());
+                writer.write(',');
+                writeCsv(writer, artist.name());
+                writer.write(',');
+                writer.write(Long.toString(artist.contentHash()));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw copyFailed(e);
+        }
+    }
+
+    private static void copyAlbums(Connection connection, Collection<AlbumRow> albums) throws SQLException {
+        try (Writer writer = copyWriter(connection, COPY_ALBUMS_SQL)) {
+            long seq = 0;
+            for (AlbumRow album : albums) {
+                writer.write(Long.toString(seq++));
+                writer.write(',');
+                writeCsv(writer, album.tidalId());
+                writer.write(',');
+                writeCsv(writer, album.title());
+                writer.write(',');
+                // Ungequotet leer = NULL
+                if (album.releaseDate() != null) {
+                    writer.write(album.releaseDate().toString());
+                }
+                writer.write(',');
+                writer.write(Long.toString(album.contentHash()));
+                writer.write(',');
+                writeCsv(writer, album.artistTidalId());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw copyFailed(e);
+        }
+    }
+
+    /**
+     * Streams into COPY FROM STDIN; the rows are sent while they are written, not collected first
+     */
+    private static Writer copyWriter(Connection connection, String copySql) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        return new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, copySql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8),
+                COPY_BUFFER_SIZE);
+    }
+
+    /**
+     * Always quoted, so empty strings stay empty strings instead of NULL
+     */
+    private static void writeCsv(Writer writer, String value) throws IOException {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * PGCopyOutputStream reports server errors (e.g. a value too long) as IOException with the SQLException as cause
+     */
+    private static SQLException copyFailed(IOException e) {
+        if (e.getCause() instanceof SQLException sqlException) {
+            return sqlException;
+        }
+        return new SQLException("COPY into staging table failed", e);
+    }
+}
@@ -0,0 +1,198 @@
+package com.rowa.musicbridge.domain.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Set-based upserts of synced artists and albums via JDBC (PostgreSQL only).
+ * <p>
+ * Every statement sends up to tidal.sync.upsert-batch-size rows as arrays and unnests them server side,
+ * so thousands of rows cost one round trip instead of one INSERT/UPDATE per entity.
+ * Existing rows are matched by tidal_id and only updated while manually_modified = false,
+ * the same protection the JPA sync path applies, and only if their content_hash (or the artist of an album)
+ * changed, so unchanged rows are neither rewritten nor get a new updated_at.
+ * </p>
+ */
+@Repository
+public class CatalogUpsertRepository {
+
+    // xmax = 0 nur bei neu eingefügten Zeilen; übersprungene Konflikte liefern keine Zeile
+    static final String UPSERT_ARTISTS_SQL = """
+            WITH source AS (
+                SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::bigint[]) AS t(tidal_id, name, content_hash)
+            ), written AS (
+                INSERT INTO artists (tidal_id, name, content_hash)
+                SELECT tidal_id, name, content_hash FROM source
+                ON CONFLICT (tidal_id) DO UPDATE
+                    SET name = EXCLUDED.name,
+                        content_hash = EXCLUDED.content_hash,
+                        updated_at = CURRENT_TIMESTAMP
+                    WHERE artists.manually_modified = false
+                      AND artists.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT (SELECT count(*) FROM source) AS total,
+                   count(*) FILTER (WHERE inserted) AS inserted,
+                   count(*) FILTER (WHERE NOT inserted) AS updated
+            FROM written
+            """;
+
+    // artist_id und artist_name kommen aus artists, damit auch manuell geänderte Artist-Namen übernommen werden
+    static final String UPSERT_ALBUMS_SQL = """
+            WITH source AS (
+                SELECT t.tidal_id, t.title, t.release_date, t.content_hash, a.id AS artist_id, a.name AS artist_name
+                FROM unnest(?::varchar[], ?::varchar[], ?::date[], ?::bigint[], ?::varchar[])
+                    AS t(tidal_id, title, release_date, content_hash, artist_tidal_id)
+                JOIN artists a ON a.tidal_id = t.artist_tidal_id
+            ), written AS (
+                INSERT INTO albums (tidal_id, title, release_date, content_hash, artist_id, artist_name)
+                SELECT tidal_id, title, release_date, content_hash, artist_id, artist_name FROM source
+                ON CONFLICT (tidal_id) DO UPDATE
+                    SET title = EXCLUDED.title,
+                        release_date = EXCLUDED.release_date,
+                        content_hash = EXCLUDED.content_hash,
+                        artist_id = EXCLUDED.artist_id,
+                        artist_name = EXCLUDED.artist_name,
+                        updated_at = CURRENT_TIMESTAMP
+                    WHERE albums.manually_modified = false
+                      AND (albums.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                        OR albums.artist_id IS DISTINCT FROM EXCLUDED.artist_id
+                        OR albums.artist_name IS DISTINCT FROM EXCLUDED.artist_name)
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT (SELECT count(*) FROM source) AS total,
+                   count(*) FILTER (WHERE inserted) AS inserted,
+                   count(*) FILTER (WHERE NOT inserted) AS updated
+            FROM written
+            """;
+
+    /**
+     * Artist as delivered by TIDAL
+     */
+    public record ArtistRow(String tidalId, String name) {
+
+        public long contentHash() {
+            return CatalogContentHash.artist(name);
+        }
+    }
+
+    /**
+     * Album as delivered by TIDAL, linked to its artist by the artist's tidal_id
+     */
+    public record AlbumRow(String tidalId, String title, LocalDate releaseDate, String artistTidalId) {
+
+        public long contentHash() {
+            return CatalogContentHash.album(title, releaseDate);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CatalogUpsertRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${tidal.sync.upsert-batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Inserts new artists and updates the name of existing, not manually modified ones whose name changed
+     * @return inserted, updated and unchanged artists (duplicate tidal ids counted once)
+     */
+    public CatalogWriteCounts upsertArtists(Collection<ArtistRow> artists) {
+        CatalogWriteCounts counts = CatalogWriteCounts.NONE;
+        for (List<ArtistRow> batch : batches(artists, ArtistRow::tidalId)) {
+            String[] tidalIds = new String[batch.size()];
+            String[] names = new String[batch.size()];
+            Long[] contentHashes = new Long[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                tidalIds[i] = batch.get(i).tidalId();
+                names[i] = batch.get(i).name();
+                contentHashes[i] = batch.get(i).contentHash();
+            }
+            counts = counts.plus(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_ARTISTS_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", tidalIds));
+                statement.setArray(2, connection.createArrayOf("varchar", names));
+                statement.setArray(3, connection.createArrayOf("bigint", contentHashes));
+                return statement;
+            }, WRITE_COUNTS));
+        }
+        return counts;
+    }
+
+    /**
+     * Inserts new albums and updates existing, not manually modified ones.
+     * Albums whose artist does not exist (yet) are skipped and not counted, so artists must be upserted first.
+     * @return inserted, updated and unchanged albums (duplicate tidal ids counted once)
+     */
+    public CatalogWriteCounts upsertAlbums(Collection<AlbumRow> albums) {
+        CatalogWriteCounts counts = CatalogWriteCounts.NONE;
+        for (List<AlbumRow> batch : batches(albums, AlbumRow::tidalId)) {
+            String[] tidalIds = new String[batch.size()];
+            String[] titles = new String[batch.size()];
+            Date[] releaseDates = new Date[batch.size()];
+            Long[] contentHashes = new Long[batch.size()];
+            String[] artistTidalIds = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                AlbumRow album = batch.get(i);
+                tidalIds[i] = album.tidalId();
+                titles[i] = album.title();
+                releaseDates[i] = album.releaseDate() != null ? Date.valueOf(album.releaseDate()) : null;
+                contentHashes[i] = album.contentHash();
+                artistTidalIds[i] = album.artistTidalId();
+            }
+            counts = counts.plus(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_ALBUMS_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", tidalIds));
+                statement.setArray(2, connection.createArrayOf("varchar", titles));
+                statement.setArray(3, connection.createArrayOf("date", releaseDates));
+                statement.setArray(4, connection.createArrayOf("bigint", contentHashes));
+                statement.setArray(5, connection.createArrayOf("varchar", artistTidalIds));
+                return statement;
+            }, WRITE_COUNTS));
+        }
+        return counts;
+    }
+
+    /**
+     * Reads (total, inserted, updated) of an upsert/merge statement; rows not written are unchanged
+     */
+    static final ResultSetExtractor<CatalogWriteCounts> WRITE_COUNTS = resultSet -> {
+        resultSet.next();
+        int total = resultSet.getInt("total");
+        int inserted = resultSet.getInt("inserted");
+        int updated = resultSet.getInt("updated");
+        return new CatalogWriteCounts(inserted, updated, total - inserted - updated);
+    };
+
+    /**
+     * De-duplicates by tidal_id (last row wins) and splits into statements of batchSize rows.
+     * ON CONFLICT DO UPDATE fails if one statement touches the same row twice.
+     */
+    private <T> List<List<T>> batches(Collection<T> rows, Function<T, String> tidalId) {
+        Map<String, T> unique = new LinkedHashMap<>();
+        for (T row : rows) {
+            unique.put(tidalId.apply(row), row);
+        }
+
+        List<T> distinct = new ArrayList<>(unique.values());
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            batches.add(distinct.subList(from, Math.min(distinct.size(), from + batchSize)));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,18 @@
+package com.rowa.musicbridge.domain.repository;
+
+/**
+ * Outcome of writing synced rows of one table
+ *
+ * @param inserted  new rows
+ * @param updated   existing rows whose TIDAL data changed
+ * @param unchanged existing rows left as they were: same content hash or manually modified
+ */
+public record CatalogWriteCounts(int inserted, int updated, int unchanged) {
+
+    public static final CatalogWriteCounts NONE = new CatalogWriteCounts(0, 0, 0);
+
+    public CatalogWriteCounts plus(CatalogWriteCounts other) {
+        return new CatalogWriteCounts(inserted + other.inserted, updated + other.updated,
+                unchanged + other.unchanged);
+    }
+}
@@ -0,0 +1,334 @@
+package com.rowa.musicbridge.domain.repository;
+
+import com.rowa.musicbridge.domain.exception.SyncLeaseLostException;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Checkpoints and cluster coordination of sync runs in sync_runs, sync_run_artists and sync_run_shards (PostgreSQL only).
+ * <p>
+ * A run stores the artists found by its search, split into shards. Instances claim shards with
+ * {@code FOR UPDATE SKIP LOCKED}, so every shard is worked on by one instance at a time, and mark the artists
+ * of every committed chunk as DONE (or FAILED if their album fetch failed) in the same transaction as the chunk.
+ * </p>
+ * <p>
+ * Runs and claimed shards hold a lease that the working instances {@link #renewRunLease renew} while they live and
+ * every checkpoint extends. A RUNNING run whose lease expired was abandoned (the instance died), like an ABORTED
+ * run it can be resumed: the search is not repeated and only the artists not yet DONE are fetched again.
+ * An instance whose shard lease expired anyway has lost the shard: its checkpoints fail with
+ * {@link SyncLeaseLostException} and its release does nothing. All lease times are database time, not the clocks
+ * of the instances.
+ * </p>
+ */
+@Repository
+public class SyncCheckpointRepository {
+
+    // Erster Schlüssel der Advisory Locks, der zweite ist der Hash von Query und Track-Limit
+    private static final int RUN_LOCK_CLASS = 0x53594e43;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, ABORTED
+    }
+
+    /**
+     * STARTED: new run (or resumed run whose search never finished), the caller must search and
+     * {@link #publishArtists publish} the artists; RESUMED: abandoned or aborted run taken over;
+     * JOINED: run of another instance that is still alive, the caller helps with its shards
+     */
+    public enum Role {
+        STARTED, RESUMED, JOINED
+    }
+
+    /**
+     * @param artistsFound artists of the search, 0 until the search is published
+     * @param artistsDone  artists committed by the run so far, by all instances
+     * @param leaseExpired true if no instance extended the lease in time
+     */
+    public record SyncRun(UUID id, String query, int trackLimit, RunStatus status, String stage, int artistsFound,
+                          int artistsDone, LocalDateTime updatedAt, boolean leaseExpired) {
+    }
+
+    public record RunAssignment(SyncRun run, Role role) {
+    }
+
+    private static final RowMapper<SyncRun> SYNC_RUN = (resultSet, rowNum) -> new SyncRun(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getString("query"),
+            resultSet.getInt("track_limit"),
+            RunStatus.valueOf(resultSet.getString("status")),
+            resultSet.getString("stage"),
+            resultSet.getInt("artists_found"),
+            resultSet.getInt("artists_done"),
+            resultSet.getTimestamp("updated_at").toLocalDateTime(),
+            resultSet.getBoolean("lease_expired"));
+
+    private static final String SELECT_RUN_SQL = """
+            SELECT *, lease_until < CURRENT_TIMESTAMP AS lease_expired FROM sync_runs
+            """;
+
+    private static final String LEASE = "CURRENT_TIMESTAMP + ? * INTERVAL '1 second'";
+
+    private static final String INSERT_ARTISTS_SQL = """
+            INSERT INTO sync_run_artists (run_id, position, shard, tidal_id, name)
+            SELECT ?, t.position, (t.position - 1) / ?, t.tidal_id, t.name
+            FROM unnest(?::varchar[], ?::varchar[]) WITH ORDINALITY AS t(tidal_id, name, position)
+            """;
+
+    // Nicht gesperrte Shards, die frei sind oder deren Instanz ihren Lease verloren hat
+    private static final String CLAIM_SHARD_SQL = """
+            UPDATE sync_run_shards
+            SET state = 'CLAIMED', claimed_by = ?, lease_until = %s
+            WHERE (run_id, shard) = (
+                SELECT run_id, shard FROM sync_run_shards
+                WHERE run_id = ? AND (state = 'PENDING' OR (state = 'CLAIMED' AND lease_until < CURRENT_TIMESTAMP))
+                ORDER BY shard
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING shard
+            """.formatted(LEASE);
+
+    // artists_done wird hochgezählt statt neu gezählt, damit parallele Checkpoints anderer Instanzen nicht verloren gehen
+    private static final String CHECKPOINT_SQL = """
+            WITH marked AS (
+                UPDATE sync_run_artists
+                SET state = CASE WHEN tidal_id = ANY(?::varchar[]) THEN 'FAILED' ELSE 'DONE' END
+                WHERE run_id = ? AND tidal_id = ANY(?::varchar[]) AND state <> 'DONE'
+                RETURNING state
+            )
+            UPDATE sync_runs
+            SET stage = ?,
+                artists_done = artists_done + (SELECT count(*) FROM marked WHERE state = 'DONE'),
+                updated_at = CURRENT_TIMESTAMP,
+                lease_until = %s
+            WHERE id = ?
+            """.formatted(LEASE);
+
+    // Nur solange die Instanz den Shard noch hält, ein übernommener Shard gehört der neuen Instanz
+    private static final String EXTEND_SHARD_LEASE_SQL = """
+            UPDATE sync_run_shards SET lease_until = %s
+            WHERE run_id = ? AND shard = ? AND state = 'CLAIMED' AND claimed_by = ?
+            """.formatted(LEASE);
+
+    // Abgebrochen: offene Artists bleiben PENDING für andere Instanzen; sonst wurden sie zurückgerollt -> FAILED
+    private static final String RELEASE_SHARD_SQL = """
+            UPDATE sync_run_shards s
+            SET state = CASE
+                    WHEN ? AND EXISTS (SELECT 1 FROM sync_run_artists a
+                                       WHERE a.run_id = s.run_id AND a.shard = s.shard AND a.state = 'PENDING') THEN 'PENDING'
+                    WHEN EXISTS (SELECT 1 FROM sync_run_artists a
+                                 WHERE a.run_id = s.run_id AND a.shard = s.shard AND a.state <> 'DONE') THEN 'FAILED'
+                    ELSE 'DONE' END,
+                claimed_by = NULL,
+                lease_until = NULL
+            WHERE s.run_id = ? AND s.shard = ? AND s.claimed_by = ?
+            """;
+
+    // Nur die letzte Instanz beendet den Lauf: keine andere hält noch einen gültigen Shard-Lease
+    private static final String FINISH_SQL = """
+            UPDATE sync_runs r
+            SET status = CASE
+                    WHEN r.stage = 'search' OR EXISTS (SELECT 1 FROM sync_run_shards s
+                                                       WHERE s.run_id = r.id AND s.state IN ('PENDING', 'CLAIMED'))
+                    THEN 'ABORTED' ELSE 'COMPLETED' END,
+                stage = ?,
+                updated_at = CURRENT_TIMESTAMP,
+                finished_at = CURRENT_TIMESTAMP,
+                lease_until = NULL
+            WHERE r.id = ? AND r.status = 'RUNNING'
+              AND NOT EXISTS (SELECT 1 FROM sync_run_shards s
+                              WHERE s.run_id = r.id AND s.state = 'CLAIMED' AND s.lease_until >= CURRENT_TIMESTAMP)
+            RETURNING r.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Decides under a transactional advisory lock per query and track limit, so concurrent instances see each
+     * other's runs: joins the live RUNNING run, else resumes (if {@code resume}) the most recent abandoned or
+     * ABORTED run updated after {@code resumableSince}, else starts a new run in stage "search".
+     * Must run inside a transaction, the lock is held until commit.
+     */
+    public RunAssignment joinOrStart(String query, int trackLimit, boolean resume, LocalDateTime resumableSince,
+                                     int leaseSeconds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Joining a sync run requires an active transaction");
+        }
+        jdbcTemplate.queryForObject("SELECT true FROM pg_advisory_xact_lock(?, ?)", Boolean.class,
+                RUN_LOCK_CLASS, Objects.hash(query, trackLimit));
+
+        Optional<SyncRun> live = jdbcTemplate.query(SELECT_RUN_SQL + """
+                        WHERE query = ? AND track_limit = ? AND status = 'RUNNING' AND lease_until >= CURRENT_TIMESTAMP
+                        ORDER BY created_at DESC
+                        LIMIT 1""",
+                SYNC_RUN, query, trackLimit).stream().findFirst();
+        if (live.isPresent()) {
+            return new RunAssignment(live.get(), Role.JOINED);
+        }
+
+        if (resume) {
+            // RUNNING heißt hier: Lease abgelaufen, die Instanz ist weg
+            Optional<UUID> resumable = jdbcTemplate.queryForList("""
+                            SELECT id FROM sync_runs
+                            WHERE query = ? AND track_limit = ? AND status IN ('RUNNING', 'ABORTED') AND updated_at >= ?
+                            ORDER BY updated_at DESC
+                            LIMIT 1""",
+                    UUID.class, query, trackLimit, Timestamp.valueOf(resumableSince)).stream().findFirst();
+            if (resumable.isPresent()) {
+                UUID runId = resumable.get();
+                jdbcTemplate.update("UPDATE sync_runs SET status = 'RUNNING', updated_at = CURRENT_TIMESTAMP, "
+                        + "finished_at = NULL, lease_until = " + LEASE + " WHERE id = ?", leaseSeconds, runId);
+                // Fehlgeschlagene Artists erneut versuchen, Claims der alten Instanzen sind verwaist
+                jdbcTemplate.update("UPDATE sync_run_shards SET state = 'PENDING', claimed_by = NULL, lease_until = NULL "
+                        + "WHERE run_id = ? AND state IN ('FAILED', 'CLAIMED')", runId);
+                SyncRun run = findRun(runId).orElseThrow();
+                return new RunAssignment(run, "search".equals(run.stage()) ? Role.STARTED : Role.RESUMED);
+            }
+        }
+
+        UUID runId = jdbcTemplate.queryForObject("""
+                        INSERT INTO sync_runs (query, track_limit, status, stage, lease_until)
+                        VALUES (?, ?, 'RUNNING', 'search', %s)
+                        RETURNING id""".formatted(LEASE),
+                UUID.class, query, trackLimit, leaseSeconds);
+        return new RunAssignment(findRun(runId).orElseThrow(), Role.STARTED);
+    }
+
+    public Optional<SyncRun> findRun(UUID runId) {
+        return jdbcTemplate.query(SELECT_RUN_SQL + " WHERE id = ?", SYNC_RUN, runId).stream().findFirst();
+    }
+
+    /**
+     * Stores the artists of the search, all PENDING and in search order, in shards of {@code shardSize} artists,
+     * and moves the run to stage "album-fetch" so other instances start claiming shards
+     */
+    public SyncRun publishArtists(UUID runId, List<ArtistRow> artists, int shardSize, int leaseSeconds) {
+        String[] tidalIds = artists.stream().map(ArtistRow::tidalId).toArray(String[]::new);
+        String[] names = artists.stream().map(ArtistRow::name).toArray(String[]::new);
+        jdbcTemplate.update("DELETE FROM sync_run_shards WHERE run_id = ?", runId);
+        jdbcTemplate.update("DELETE FROM sync_run_artists WHERE run_id = ?", runId);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ARTISTS_SQL);
+            statement.setObject(1, runId);
+            statement.setInt(2, Math.max(1, shardSize));
+            statement.setArray(3, connection.createArrayOf("varchar", tidalIds));
+            statement.setArray(4, connection.createArrayOf("varchar", names));
+            return statement;
+        });
+        jdbcTemplate.update("""
+                INSERT INTO sync_run_shards (run_id, shard)
+                SELECT DISTINCT run_id, shard FROM sync_run_artists WHERE run_id = ?""", runId);
+        jdbcTemplate.update("UPDATE sync_runs SET stage = 'album-fetch', artists_found = ?, artists_done = 0, "
+                + "updated_at = CURRENT_TIMESTAMP, lease_until = " + LEASE + " WHERE id = ?",
+                artists.size(), leaseSeconds, runId);
+        return findRun(runId).orElseThrow();
+    }
+
+    /**
+     * Claims the next shard that is PENDING or whose claim expired, skipping shards other instances are claiming
+     * right now. A single statement, so it needs no surrounding transaction.
+     * @return the claimed shard, empty if there is nothing left to claim
+     */
+    public Optional<Integer> claimShard(UUID runId, String instanceId, int leaseSeconds) {
+        return jdbcTemplate.queryForList(CLAIM_SHARD_SQL, Integer.class, instanceId, leaseSeconds, runId)
+                .stream().findFirst();
+    }
+
+    /**
+     * Artists of the shard that are not DONE yet (PENDING or FAILED), in search order
+     */
+    public List<ArtistRow> pendingArtists(UUID runId, int shard) {
+        return jdbcTemplate.query("""
+                        SELECT tidal_id, name FROM sync_run_artists
+                        WHERE run_id = ? AND shard = ? AND state <> 'DONE'
+                        ORDER BY position""",
+                (resultSet, rowNum) -> new ArtistRow(resultSet.getString("tidal_id"), resultSet.getString("name")),
+                runId, shard);
+    }
+
+    /**
+     * Extends the lease of a RUNNING run, so that it is neither resumed nor given up by joining instances while
+     * this instance searches or works on its shards
+     * @return false if the run is no longer RUNNING
+     */
+    public boolean renewRunLease(UUID runId, int leaseSeconds) {
+        return jdbcTemplate.update("UPDATE sync_runs SET lease_until = " + LEASE
+                + " WHERE id = ? AND status = 'RUNNING'", leaseSeconds, runId) > 0;
+    }
+
+    /**
+     * Extends the lease of a shard claimed by {@code instanceId}
+     * @return false if the instance lost the shard: its lease expired and another instance claimed it, or the
+     *         run was resumed and its claims reset
+     */
+    public boolean renewShardLease(UUID runId, int shard, String instanceId, int leaseSeconds) {
+        return jdbcTemplate.update(EXTEND_SHARD_LEASE_SQL, leaseSeconds, runId, shard, instanceId) > 0;
+    }
+
+    /**
+     * Marks the artists of a committed chunk and extends the leases of run and shard;
+     * call in the chunk's transaction so checkpoint and data commit together
+     * @param artistIds       tidal ids of all artists of the chunk
+     * @param failedArtistIds those of them whose album fetch failed, they are fetched again on resume
+     * @throws SyncLeaseLostException if {@code instanceId} no longer holds the shard; nothing is marked and the
+     *                                chunk's transaction must be rolled back
+     */
+    public void checkpoint(UUID runId, int shard, String instanceId, String stage, Collection<String> artistIds,
+                           Collection<String> failedArtistIds, int leaseSeconds) {
+        if (!renewShardLease(runId, shard, instanceId, leaseSeconds)) {
+            throw new SyncLeaseLostException("Shard " + shard + " of sync run " + runId
+                    + " is no longer claimed by " + instanceId);
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CHECKPOINT_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", failedArtistIds.toArray()));
+            statement.setObject(2, runId);
+            statement.setArray(3, connection.createArrayOf("varchar", artistIds.toArray()));
+            statement.setString(4, stage);
+            statement.setInt(5, leaseSeconds);
+            statement.setObject(6, runId);
+            return statement;
+        });
+    }
+
+    /**
+     * Gives a claimed shard back: DONE if all its artists are done, FAILED if some failed (retried on resume),
+     * PENDING if {@code aborted} left artists unprocessed, so another instance can take over
+     * @return false if {@code instanceId} had already lost the shard to another instance, nothing was released
+     */
+    public boolean releaseShard(UUID runId, int shard, String instanceId, boolean aborted) {
+        return jdbcTemplate.update(RELEASE_SHARD_SQL, aborted, runId, shard, instanceId) > 0;
+    }
+
+    /**
+     * Ends the run unless another instance still holds a live shard claim (that one finishes it later):
+     * COMPLETED if all shards are done or failed, ABORTED if work is left for a resume.
+     * A COMPLETED run has nothing left to resume, so its artists and shards are deleted.
+     * @return the final status, empty if the run is not finished by this call
+     */
+    public Optional<RunStatus> finish(UUID runId, String stage) {
+        Optional<RunStatus> status = jdbcTemplate.queryForList(FINISH_SQL, String.class, stage, runId).stream()
+                .findFirst()
+                .map(RunStatus::valueOf);
+        if (status.isPresent() && status.get() == RunStatus.COMPLETED) {
+            jdbcTemplate.update("DELETE FROM sync_run_artists WHERE run_id = ?", runId);
+            jdbcTemplate.update("DELETE FROM sync_run_shards WHERE run_id = ?", runId);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,42 @@
+package com.rowa.musicbridge.domain.repository;
+
+import com.rowa.musicbridge.domain.entity.SyncJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncJobRepository extends JpaRepository<SyncJobEntity, UUID> {
+
+    List<SyncJobEntity> findTop20ByOrderByCreatedAtDesc();
+
+    /**
+     * Extends the lease of the unfinished jobs of an instance, in database time
+     * @return number of jobs renewed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE sync_jobs SET lease_until = CURRENT_TIMESTAMP + :leaseSeconds * INTERVAL '1 second'
+            WHERE owner = :owner AND status IN ('QUEUED', 'RUNNING')""",
+            nativeQuery = true)
+    int renewLeases(@Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * Unfinished jobs that will never finish: jobs of an instance whose lease expired, jobs created before jobs
+     * had owners and, after a restart, the jobs the previous process of this instance left behind
+     * @param restartedOwner id of this instance at startup; null to only find expired leases
+     */
+    @Query(value = """
+            SELECT * FROM sync_jobs
+            WHERE status IN ('QUEUED', 'RUNNING')
+              AND (owner IS NULL OR owner = :restartedOwner OR lease_until < CURRENT_TIMESTAMP)""",
+            nativeQuery = true)
+    List<SyncJobEntity> findAbandoned(@Param("restartedOwner") String restartedOwner);
+}
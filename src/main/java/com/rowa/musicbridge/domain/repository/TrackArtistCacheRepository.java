@@ -0,0 +1,17 @@
+package com.rowa.musicbridge.domain.repository;
+
+import com.rowa.musicbridge.domain.entity.TrackArtistCacheEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+
+@Repository
+public interface TrackArtistCacheRepository extends JpaRepository<TrackArtistCacheEntity, String> {
+
+    List<TrackArtistCacheEntity> findByTidalTrackIdInAndCachedAtAfter(Collection<String> tidalTrackIds,
+                                                                      LocalDateTime cachedAfter);
+}
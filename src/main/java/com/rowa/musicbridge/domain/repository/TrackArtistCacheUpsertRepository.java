@@ -0,0 +1,91 @@
+package com.rowa.musicbridge.domain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes of the track_artist_cache table via JDBC (PostgreSQL only).
+ * <p>
+ * Resolved tracks are upserted as arrays in one statement per batch instead of a merge (SELECT + INSERT/UPDATE)
+ * per entity, and expired rows are deleted with a single statement.
+ * </p>
+ */
+@Repository
+public class TrackArtistCacheUpsertRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Ältere Einträge überschreiben nie einen neueren
+    static final String UPSERT_SQL = """
+            INSERT INTO track_artist_cache (tidal_track_id, artists, cached_at)
+            SELECT * FROM unnest(?::varchar[], ?::text[], ?::timestamp[])
+            ON CONFLICT (tidal_track_id) DO UPDATE
+                SET artists = EXCLUDED.artists,
+                    cached_at = EXCLUDED.cached_at
+                WHERE track_artist_cache.cached_at <= EXCLUDED.cached_at
+            """;
+
+    static final String DELETE_EXPIRED_SQL = "DELETE FROM track_artist_cache WHERE cached_at < ?";
+
+    /**
+     * Resolved track with its artists as JSON array
+     */
+    public record TrackArtistRow(String tidalTrackId, String artists, LocalDateTime cachedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrackArtistCacheUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts new tracks and replaces the artists of known ones
+     * @return rows written
+     */
+    public int upsert(Collection<TrackArtistRow> rows) {
+        // ON CONFLICT DO UPDATE schlägt fehl, wenn ein Statement dieselbe Zeile zweimal trifft
+        Map<String, TrackArtistRow> unique = new LinkedHashMap<>();
+        for (TrackArtistRow row : rows) {
+            unique.put(row.tidalTrackId(), row);
+        }
+
+        List<TrackArtistRow> distinct = new ArrayList<>(unique.values());
+        int written = 0;
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<TrackArtistRow> batch = distinct.subList(from, Math.min(distinct.size(), from + BATCH_SIZE));
+            String[] trackIds = new String[batch.size()];
+            String[] artists = new String[batch.size()];
+            Timestamp[] cachedAt = new Timestamp[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                trackIds[i] = batch.get(i).tidalTrackId();
+                artists[i] = batch.get(i).artists();
+                cachedAt[i] = Timestamp.valueOf(batch.get(i).cachedAt());
+            }
+            written += jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", trackIds));
+                statement.setArray(2, connection.createArrayOf("text", artists));
+                statement.setArray(3, connection.createArrayOf("timestamp", cachedAt));
+                return statement;
+            });
+        }
+        return written;
+    }
+
+    /**
+     * @return number of deleted rows cached before {@code cachedBefore}
+     */
+    public int deleteCachedBefore(LocalDateTime cachedBefore) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(cachedBefore));
+    }
+}
@@ -0,0 +1,288 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.apis.dto.SyncJobResponse;
+import com.rowa.musicbridge.domain.entity.SyncJobEntity;
+import com.rowa.musicbridge.domain.entity.SyncJobStatus;
+import com.rowa.musicbridge.domain.exception.ResourceNotFoundException;
+import com.rowa.musicbridge.domain.repository.SyncJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs TIDAL syncs as background jobs.
+ * <p>
+ * {@link #submit} stores the job and returns immediately; the sync runs on a bounded executor with
+ * tidal.sync.jobs.max-concurrent threads and room for tidal.sync.jobs.queue-capacity waiting jobs,
+ * further jobs are rejected. Every job is kept in sync_jobs (history); while it runs, its live
+ * {@link SyncProgress} provides stage, counts, throughput and ETA.
+ * </p>
+ * <p>
+ * Several instances share sync_jobs. Each job is owned by the instance that accepted it and holds a lease of
+ * tidal.sync.cluster.lease-seconds that the instance renews while it lives; a job is only failed as interrupted
+ * if its owner is this instance restarting or its lease expired, never while another instance still runs it.
+ * </p>
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobService.class);
+
+    private final TidalSyncService tidalSyncService;
+    private final SyncJobRepository syncJobRepository;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService leaseRenewal;
+    private final String instanceId;
+    private final int leaseSeconds;
+
+    // Fortschritt der wartenden und laufenden Jobs
+    private final Map<UUID, SyncProgress> activeJobs = new ConcurrentHashMap<>();
+
+    public SyncJobService(TidalSyncService tidalSyncService,
+                          SyncJobRepository syncJobRepository,
+                          @Value("${tidal.sync.jobs.max-concurrent:1}") int maxConcurrent,
+                          @Value("${tidal.sync.jobs.queue-capacity:10}") int queueCapacity,
+                          @Value("${tidal.sync.cluster.instance-id:${random.uuid}}") String instanceId,
+                          @Value("${tidal.sync.cluster.lease-seconds:300}") int leaseSeconds) {
+        this.tidalSyncService = tidalSyncService;
+        this.syncJobRepository = syncJobRepository;
+        this.instanceId = instanceId;
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, maxConcurrent), Math.max(1, maxConcurrent),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tidal-sync-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.leaseRenewal = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tidal-sync-job-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fails the jobs the previous process of this instance left behind and starts renewing the leases of this
+     * instance's jobs, three times per lease so a single missed renewal does not lose them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLeaseRenewal() {
+        failInterruptedJobs(instanceId);
+        long periodSeconds = Math.max(1, leaseSeconds / 3);
+        leaseRenewal.scheduleAtFixedRate(this::renewLeases, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Jobs that were queued or running when their instance stopped will never finish
+     *
+     * @param restartedOwner id of this instance at startup, null to only fail jobs whose lease expired
+     */
+    void failInterruptedJobs(String restartedOwner) {
+        List<SyncJobEntity> interrupted = syncJobRepository.findAbandoned(restartedOwner);
+        for (SyncJobEntity job : interrupted) {
+            finish(job, SyncJobStatus.FAILED, job.getOwner() == null || instanceId.equals(job.getOwner())
+                    ? "interrupted by application restart"
+                    : "interrupted: instance " + job.getOwner() + " stopped renewing its lease");
+        }
+        if (!interrupted.isEmpty()) {
+            log.warn("Marked {} interrupted sync jobs as failed", interrupted.size());
+        }
+    }
+
+    /**
+     * Extends the leases of this instance's jobs and fails the jobs of instances that stopped renewing theirs
+     */
+    void renewLeases() {
+        try {
+            syncJobRepository.renewLeases(instanceId, leaseSeconds);
+            failInterruptedJobs(null);
+        } catch (Exception e) {
+            // Nächster Versuch beim nächsten Intervall, der Lease reicht für zwei verpasste Erneuerungen
+            log.warn("Could not renew sync job leases: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewal.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a sync job
+     *
+     * @param query      search query, null for tidal.sync.default-search-query
+     * @param trackLimit track limit, null for tidal.sync.default-track-limit
+     * @return the queued job
+     * @throws RejectedExecutionException if tidal.sync.jobs.queue-capacity jobs are already waiting
+     */
+    public SyncJobResponse submit(String query, Integer trackLimit) {
+        SyncJobEntity job = syncJobRepository.save(SyncJobEntity.builder()
+                .query(query)
+                .trackLimit(trackLimit)
+                .status(SyncJobStatus.QUEUED)
+                .stage(SyncProgress.STAGE_QUEUED)
+                .owner(instanceId)
+                .build());
+        // Lease sofort setzen, nicht erst mit der nächsten Erneuerung
+        syncJobRepository.renewLeases(instanceId, leaseSeconds);
+
+        SyncProgress progress = new SyncProgress();
+        SyncJobResponse queued = toResponse(job, progress);
+        activeJobs.put(job.getId(), progress);
+        try {
+            executor.execute(() -> run(job.getId(), query, trackLimit, progress));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            finish(job, SyncJobStatus.FAILED, "rejected: too many sync jobs queued");
+            throw e;
+        }
+
+        log.info("Queued sync job {} with query='{}', trackLimit={}", job.getId(), query, trackLimit);
+        return queued;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no job with this id
+     */
+    public SyncJobResponse getJob(UUID id) {
+        SyncJobEntity job = syncJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Sync job not found with id: " + id));
+        return toResponse(job, activeJobs.get(id));
+    }
+
+    /**
+     * The 20 most recent jobs, newest first
+     */
+    public List<SyncJobResponse> getRecentJobs() {
+        return syncJobRepository.findTop20ByOrderByCreatedAtDesc().stream()
+                .map(job -> toResponse(job, activeJobs.get(job.getId())))
+                .toList();
+    }
+
+    private void run(UUID id, String query, Integer trackLimit, SyncProgress progress) {
+        SyncJobEntity job = syncJobRepository.findById(id).orElseThrow();
+        job.setStatus(SyncJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = syncJobRepository.save(job);
+        log.info("Sync job {} started", id);
+
+        try {
+            SyncResult result = tidalSyncService.syncArtistsAndAlbums(query, trackLimit, progress);
+
+            job.setQuery(result.query());
+            job.setTrackLimit(result.trackLimit());
+            job.setArtistsFound(result.artistsFound());
+            job.setArtistsResumed(result.artistsResumed());
+            job.setArtistsProcessed(result.artistsProcessed());
+            job.setArtistsFailed(result.artistsFailed());
+            job.setArtistsSkipped(result.artistsSkipped());
+            job.setAlbumsProcessed(result.albumsProcessed());
+            job.setArtistsInserted(result.artistWrites().inserted());
+            job.setArtistsUpdated(result.artistWrites().updated());
+            job.setArtistsUnchanged(result.artistWrites().unchanged());
+            job.setAlbumsInserted(result.albumWrites().inserted());
+            job.setAlbumsUpdated(result.albumWrites().updated());
+            job.setAlbumsUnchanged(result.albumWrites().unchanged());
+            finish(job, result.aborted() ? SyncJobStatus.ABORTED : SyncJobStatus.COMPLETED, result.abortReason());
+            log.info("Sync job {} finished: {}", id, job.getStatus());
+
+        } catch (Exception e) {
+            log.error("Sync job {} failed: {}", id, e.getMessage(), e);
+            finish(job, SyncJobStatus.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            activeJobs.remove(id);
+        }
+    }
+
+    private void finish(SyncJobEntity job, SyncJobStatus status, String error) {
+        job.setStatus(status);
+        job.setStage(SyncProgress.STAGE_DONE);
+        job.setError(error);
+        job.setFinishedAt(LocalDateTime.now());
+        syncJobRepository.save(job);
+    }
+
+    /**
+     * Stored job, overlaid with the live progress while the job is active
+     */
+    private SyncJobResponse toResponse(SyncJobEntity job, SyncProgress progress) {
+        SyncJobResponse.SyncJobResponseBuilder response = SyncJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .stage(job.getStage())
+                .query(job.getQuery())
+                .trackLimit(job.getTrackLimit())
+                .artistsFound(job.getArtistsFound())
+                .artistsResumed(job.getArtistsResumed())
+                .artistsFetched(job.getArtistsProcessed() + job.getArtistsFailed())
+                .artistsProcessed(job.getArtistsProcessed())
+                .artistsFailed(job.getArtistsFailed())
+                .artistsSkipped(job.getArtistsSkipped())
+                .albumsProcessed(job.getAlbumsProcessed())
+                .artistsInserted(job.getArtistsInserted())
+                .artistsUpdated(job.getArtistsUpdated())
+                .artistsUnchanged(job.getArtistsUnchanged())
+                .albumsInserted(job.getAlbumsInserted())
+                .albumsUpdated(job.getAlbumsUpdated())
+                .albumsUnchanged(job.getAlbumsUnchanged())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt());
+
+        int artistsDone = job.getArtistsProcessed() + job.getArtistsFailed();
+        if (progress != null && !job.getStatus().isFinished()) {
+            artistsDone = progress.getArtistsProcessed() + progress.getArtistsFailed();
+            response.stage(progress.getStage())
+                    .artistsFound(progress.getArtistsFound())
+                    .artistsResumed(progress.getArtistsResumed())
+                    .artistsFetched(progress.getArtistsFetched())
+                    .artistsProcessed(progress.getArtistsProcessed())
+                    .artistsFailed(progress.getArtistsFailed())
+                    .albumsProcessed(progress.getAlbumsProcessed())
+                    .artistsInserted(progress.getArtistWrites().inserted())
+                    .artistsUpdated(progress.getArtistWrites().updated())
+                    .artistsUnchanged(progress.getArtistWrites().unchanged())
+                    .albumsInserted(progress.getAlbumWrites().inserted())
+                    .albumsUpdated(progress.getAlbumWrites().updated())
+                    .albumsUnchanged(progress.getAlbumWrites().unchanged());
+        }
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double seconds = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis()) / 1000.0;
+            double artistsPerSecond = artistsDone / seconds;
+            response.artistsPerSecond(Math.round(artistsPerSecond * 10) / 10.0);
+
+            int artistsFound = progress != null ? progress.getArtistsFound() : job.getArtistsFound();
+            int artistsResumed = progress != null ? progress.getArtistsResumed() : job.getArtistsResumed();
+            if (!job.getStatus().isFinished() && artistsPerSecond > 0 && artistsFound > 0) {
+                response.etaSeconds(Math.round(
+                        Math.max(0, artistsFound - artistsResumed - artistsDone) / artistsPerSecond));
+            }
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.rowa.musicbridge.sync;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one pipeline stage during a sync run, shared by the workers of the stage.
+ * Also feeds tidal.sync.pipeline.items and tidal.sync.pipeline.busy (tag stage).
+ */
+final class SyncPipelineStage {
+
+    private final int workers;
+    private final AtomicInteger items = new AtomicInteger();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final Counter itemsCounter;
+    private final Timer busyTimer;
+
+    SyncPipelineStage(String name, int workers, MeterRegistry meterRegistry) {
+        this.workers = workers;
+        this.itemsCounter = Counter.builder("tidal.sync.pipeline.items")
+                .description("Artists completed per sync pipeline stage")
+                .tag("stage", name)
+                .register(meterRegistry);
+        this.busyTimer = Timer.builder("tidal.sync.pipeline.busy")
+                .description("Processing time per batch of a sync pipeline stage")
+                .tag("stage", name)
+                .register(meterRegistry);
+    }
+
+    void completed(int count, long nanos) {
+        items.addAndGet(count);
+        busyNanos.addAndGet(nanos);
+        itemsCounter.increment(count);
+        busyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Current number of artists waiting in front of the stage
+     */
+    void queueDepth(int depth) {
+        queueDepth.set(depth);
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    int getItems() {
+        return items.get();
+    }
+
+    SyncStageStats stats(long elapsedNanos) {
+        double seconds = Math.max(1, elapsedNanos) / 1e9;
+        return new SyncStageStats(workers, items.get(), TimeUnit.NANOSECONDS.toMillis(busyNanos.get()),
+                Math.round(items.get() / seconds * 10) / 10.0, maxQueueDepth.get());
+    }
+}
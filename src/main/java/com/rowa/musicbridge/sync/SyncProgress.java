@@ -0,0 +1,107 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live counters of a running sync, updated by the pipeline workers and readable from any thread
+ * (e.g. to report the progress of a sync job while it runs)
+ */
+public final class SyncProgress {
+
+    public static final String STAGE_QUEUED = "queued";
+    public static final String STAGE_DONE = "done";
+
+    private volatile String stage = STAGE_QUEUED;
+    private final AtomicInteger artistsFound = new AtomicInteger();
+    private final AtomicInteger artistsResumed = new AtomicInteger();
+    private final AtomicInteger artistsFetched = new AtomicInteger();
+    private final AtomicInteger artistsProcessed = new AtomicInteger();
+    private final AtomicInteger artistsFailed = new AtomicInteger();
+    private final AtomicInteger albumsProcessed = new AtomicInteger();
+    private final AtomicReference<CatalogWriteCounts> artistWrites = new AtomicReference<>(CatalogWriteCounts.NONE);
+    private final AtomicReference<CatalogWriteCounts> albumWrites = new AtomicReference<>(CatalogWriteCounts.NONE);
+
+    /**
+     * queued, search, album-fetch, persist (fetching finished, last chunks are written) or done
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public int getArtistsFound() {
+        return artistsFound.get();
+    }
+
+    void setArtistsFound(int artists) {
+        artistsFound.set(artists);
+    }
+
+    /**
+     * Artists already done by the interrupted run this sync resumed, they are not fetched again
+     */
+    public int getArtistsResumed() {
+        return artistsResumed.get();
+    }
+
+    void setArtistsResumed(int artists) {
+        artistsResumed.set(artists);
+    }
+
+    public int getArtistsFetched() {
+        return artistsFetched.get();
+    }
+
+    void artistFetched() {
+        artistsFetched.incrementAndGet();
+    }
+
+    public int getArtistsProcessed() {
+        return artistsProcessed.get();
+    }
+
+    void addArtistsProcessed(int artists) {
+        artistsProcessed.addAndGet(artists);
+    }
+
+    public int getArtistsFailed() {
+        return artistsFailed.get();
+    }
+
+    void addArtistsFailed(int artists) {
+        artistsFailed.addAndGet(artists);
+    }
+
+    public int getAlbumsProcessed() {
+        return albumsProcessed.get();
+    }
+
+    void addAlbumsProcessed(int albums) {
+        albumsProcessed.addAndGet(albums);
+    }
+
+    /**
+     * Inserted, updated and unchanged artists so far
+     */
+    public CatalogWriteCounts getArtistWrites() {
+        return artistWrites.get();
+    }
+
+    /**
+     * Inserted, updated and unchanged albums so far
+     */
+    public CatalogWriteCounts getAlbumWrites() {
+        return albumWrites.get();
+    }
+
+    void addWrites(CatalogWriteCounts artists, CatalogWriteCounts albums) {
+        artistWrites.accumulateAndGet(artists, CatalogWriteCounts::plus);
+        albumWrites.accumulateAndGet(albums, CatalogWriteCounts::plus);
+    }
+}
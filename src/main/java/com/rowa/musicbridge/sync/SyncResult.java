@@ -0,0 +1,39 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+
+import java.util.Map;
+
+/**
+ * Outcome of one TIDAL sync run
+ *
+ * @param artistsFound     unique artists extracted from the search
+ * @param artistsResumed   artists already done by the interrupted run this sync resumed (not fetched again)
+ * @param artistsProcessed artists saved including their albums
+ * @param artistsFailed    artists whose album fetch failed
+ * @param artistsSkipped   artists not attempted because the sync was aborted, left for a resume
+ * @param albumsProcessed  albums saved
+ * @param artistWrites     artists inserted, updated, or left unchanged (same content hash or manually modified)
+ * @param albumWrites      albums inserted, updated, or left unchanged
+ * @param aborted          true if the sync stopped early (e.g. a TIDAL circuit breaker opened)
+ * @param abortReason      why the sync stopped early, null otherwise
+ * @param circuitBreakers  state of the TIDAL circuit breakers after the run, per endpoint
+ * @param stages           throughput and queue depth per pipeline stage (search, album-fetch, persist)
+ */
+public record SyncResult(
+        String query,
+        int trackLimit,
+        int artistsFound,
+        int artistsResumed,
+        int artistsProcessed,
+        int artistsFailed,
+        int artistsSkipped,
+        int albumsProcessed,
+        CatalogWriteCounts artistWrites,
+        CatalogWriteCounts albumWrites,
+        boolean aborted,
+        String abortReason,
+        Map<String, String> circuitBreakers,
+        Map<String, SyncStageStats> stages
+) {
+}
@@ -0,0 +1,29 @@
+package com.rowa.musicbridge.sync;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler of the {@link TidalSyncService}.
+ * <p>
+ * Not bound to a profile: the sync service exists in every profile (prod, dev, replay),
+ * so its scheduler has to as well.
+ * </p>
+ */
+@Configuration
+public class SyncSchedulingConfig {
+
+    /**
+     * Configures a TaskScheduler bean for scheduling tasks, such as the initial sync on startup.
+     *
+     * @return A ThreadPoolTaskScheduler instance for scheduling tasks.
+     */
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("sync-scheduler-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,19 @@
+package com.rowa.musicbridge.sync;
+
+/**
+ * Throughput and backlog of one stage of the sync pipeline in one run
+ *
+ * @param workers        worker threads of the stage
+ * @param items          artists the stage completed
+ * @param busyMillis     processing time summed over all workers
+ * @param itemsPerSecond completed artists per second of the run's wall-clock time
+ * @param maxQueueDepth  most artists waiting in front of the stage at any time
+ */
+public record SyncStageStats(
+        int workers,
+        int items,
+        long busyMillis,
+        double itemsPerSecond,
+        int maxQueueDepth
+) {
+}
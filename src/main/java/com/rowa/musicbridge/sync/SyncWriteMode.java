@@ -0,0 +1,23 @@
+package com.rowa.musicbridge.sync;
+
+/**
+ * How the sync writes artists and albums (tidal.sync.write-mode)
+ */
+public enum SyncWriteMode {
+
+    /**
+     * One JPA save per new or changed entity
+     */
+    JPA,
+
+    /**
+     * Set-based INSERT ... ON CONFLICT via {@link com.rowa.musicbridge.domain.repository.CatalogUpsertRepository}
+     */
+    UPSERT,
+
+    /**
+     * COPY into staging tables and one merge per table via {@link com.rowa.musicbridge.domain.repository.CatalogCopyRepository},
+     * for full catalog refreshes with large chunks
+     */
+    COPY
+}
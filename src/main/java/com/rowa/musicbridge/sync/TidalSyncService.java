@@ -2,12 +2,33 @@ package com.rowa.musicbridge.sync;
 
 import com.rowa.musicbridge.domain.entity.AlbumEntity;
 import com.rowa.musicbridge.domain.entity.ArtistEntity;
+import com.rowa.musicbridge.domain.exception.ExternalApiException;
+import com.rowa.musicbridge.domain.exception.ExternalRateLimitException;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.domain.exception.SyncLeaseLostException;
 import com.rowa.musicbridge.domain.repository.AlbumRepository;
 import com.rowa.musicbridge.domain.repository.ArtistRepository;
+import com.rowa.musicbridge.domain.repository.CatalogContentHash;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository.MergeResult;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.Role;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunAssignment;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunStatus;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.SyncRun;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitOpenException;
 import com.rowa.musicbridge.tidalIntegration.TidalClient;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,22 +36,70 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Service
 public class TidalSyncService {
 
     private static final Logger log = LoggerFactory.getLogger(TidalSyncService.class);
 
+    // Obergrenze der tidal_ids pro IN (...) Query
+    private static final int PREFETCH_BATCH_SIZE = 1000;
+
+    static final String STAGE_SEARCH = "search";
+    static final String STAGE_ALBUM_FETCH = "album-fetch";
+    static final String STAGE_PERSIST = "persist";
+
     private final TidalClient tidalClient;
     private final ArtistRepository artistRepository;
     private final AlbumRepository albumRepository;
+    private final CatalogUpsertRepository catalogUpsertRepository;
+    private final CatalogCopyRepository catalogCopyRepository;
+    private final SyncCheckpointRepository syncCheckpointRepository;
+    private final TidalCircuitBreaker circuitBreaker;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Erneuert die Leases der Läufe und Shards, an denen diese Instanz arbeitet
+    private final ScheduledExecutorService leaseRenewal =
+            Executors.newSingleThreadScheduledExecutor(threadFactory("tidal-sync-lease-"));
+
+    // Stages des laufenden (bzw. letzten) Syncs, für die Queue-Gauges
+    private volatile Map<String, SyncPipelineStage> currentStages = Map.of();
 
     @Value("${tidal.sync.default-search-query:best rock songs}")
     private String defaultSearchQuery;
@@ -44,17 +113,112 @@ public class TidalSyncService {
     @Value("${tidal.sync.scheduled.enabled:false}")
     private boolean scheduledSyncEnabled;
 
+    @Value("${tidal.sync.chunk-size:25}")
+    private int chunkSize;
+
+    @Value("${tidal.sync.chunk-max-albums:1000}")
+    private int chunkMaxAlbums = 1000;
+
+    @Value("${tidal.sync.write-mode:upsert}")
+    private SyncWriteMode writeMode = SyncWriteMode.UPSERT;
+
+    @Value("${tidal.sync.pipeline.album-fetch-workers:4}")
+    private int albumFetchWorkers = 4;
+
+    @Value("${tidal.sync.pipeline.persist-workers:1}")
+    private int persistWorkers = 1;
+
+    @Value("${tidal.sync.pipeline.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    @Value("${tidal.sync.resume.enabled:true}")
+    private boolean resumeEnabled = true;
+
+    @Value("${tidal.sync.resume.max-age-hours:24}")
+    private int resumeMaxAgeHours = 24;
+
+    // Kennung dieser Instanz in den Shard-Claims
+    @Value("${tidal.sync.cluster.instance-id:${random.uuid}}")
+    private String instanceId = UUID.randomUUID().toString();
+
+    @Value("${tidal.sync.cluster.shard-size:50}")
+    private int shardSize = 50;
+
+    @Value("${tidal.sync.cluster.lease-seconds:300}")
+    private int leaseSeconds = 300;
+
+    @Value("${tidal.sync.cluster.poll-interval-ms:1000}")
+    private long pollIntervalMillis = 1000;
+
     @Autowired
     private TaskScheduler taskScheduler;
 
     public TidalSyncService(TidalClient tidalClient,
                             ArtistRepository artistRepository,
-                            AlbumRepository albumRepository) {
+                            AlbumRepository albumRepository,
+                            CatalogUpsertRepository catalogUpsertRepository,
+                            CatalogCopyRepository catalogCopyRepository,
+                            SyncCheckpointRepository syncCheckpointRepository,
+                            TidalCircuitBreaker circuitBreaker,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
         this.tidalClient = tidalClient;
         this.artistRepository = artistRepository;
         this.albumRepository = albumRepository;
+        this.catalogUpsertRepository = catalogUpsertRepository;
+        this.catalogCopyRepository = catalogCopyRepository;
+        this.syncCheckpointRepository = syncCheckpointRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        for (String stage : List.of(STAGE_ALBUM_FETCH, STAGE_PERSIST)) {
+            Gauge.builder("tidal.sync.pipeline.queue.depth", this, service -> service.queueDepth(stage))
+                    .description("Artists waiting in front of a sync pipeline stage")
+                    .tag("stage", stage)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Album page of an artist fetched from TIDAL, waiting to be persisted with its chunk. The pages of an artist are
+     * followed by an item without albums that completes the artist; in a chunk the items of an artist are merged.
+     *
+     * @param complete true once all album pages of the artist were handed over, only then is the artist checkpointed
+     * @param failed   true if the album fetch failed; the artist and the albums fetched so far are still saved
+     */
+    private record FetchedArtist(TidalArtistDto artist, List<TidalAlbumDto> albums, boolean complete, boolean failed) {
     }
 
+    /**
+     * Artists and albums of a chunk as rows for the set-based write modes
+     */
+    private record ChunkRows(List<ArtistRow> artists, List<AlbumRow> albums) {
+    }
+
+    /**
+     * What writing one chunk did
+     *
+     * @param albums number of albums in the chunk
+     */
+    private record ChunkWrites(int albums, CatalogWriteCounts artistWrites, CatalogWriteCounts albumWrites) {
+    }
+
+    /**
+     * Shard of a sync run claimed by this instance
+     *
+     * @param lost set once the lease of the shard was lost to another instance; the shard is abandoned then
+     */
+    private record ShardClaim(UUID runId, int shard, AtomicBoolean lost) {
+
+        ShardClaim(UUID runId, int shard) {
+            this(runId, shard, new AtomicBoolean());
+        }
+    }
+
+    // Endmarker in der Queue zwischen Album-Fetch und Persistenz
+    private static final FetchedArtist END_OF_ARTISTS = new FetchedArtist(null, List.of(), true, false);
+
     /**
      * Initial Sync on Startup: Optionaler Trigger direkt nach App-Start
      */
@@ -74,13 +238,18 @@ public class TidalSyncService {
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewal.shutdownNow();
+    }
+
     /**
      * Scheduled Sync: Optional trigger based on cron expression (default: every day at 2 AM)
      * - Cron expression can be configured via tidal.sync.scheduled.cron
      - Example: "0 0 2 * * *" (every day at 2 AM)
+     * Fires on every instance; the instances join the same run and split its shards (see syncArtistsAndAlbums)
      */
     @Scheduled(cron = "${tidal.sync.scheduled.cron:0 0 2 * * *}")
-    @Transactional
     public void scheduledSync() {
         if (!scheduledSyncEnabled) {
             log.debug("Scheduled sync is disabled - skipping");
@@ -91,14 +260,55 @@ public class TidalSyncService {
 
     /**
      * Synchronizes Artists & Albums from TIDAL with configurable Search Query and Track Limit
-     * Search for Tracks → Extract Artists → Fetch Albums
+     * Search for Tracks → Extract Artists → Fetch Albums → Persist
+     * Stops early when the TIDAL circuit breaker for albums is open instead of failing artist by artist.
+     * <p>
+     * The stages run as a pipeline so TIDAL and the database are busy at the same time:
+     * tidal.sync.pipeline.album-fetch-workers threads fetch the albums of the found artists and hand them page by
+     * page over queues of tidal.sync.pipeline.queue-capacity pages in total to tidal.sync.pipeline.persist-workers
+     * threads; all pages of an artist go to the same persist worker, in order. A full queue blocks the fetch
+     * workers (backpressure), so a slow database cannot pile up fetched albums, and a big discography is never
+     * held in memory as a whole.
+     * Search and track resolution stay one stage, the client resolves the tracks of a search concurrently itself.
+     * </p>
+     * <p>
+     * TIDAL is called outside of any transaction. The fetched artists are persisted in chunks of
+     * tidal.sync.chunk-size artists, one transaction (and one persistence context) per chunk, so neither
+     * a DB connection nor row locks on artists/albums are held while waiting for TIDAL. A chunk is written early
+     * once it holds tidal.sync.chunk-max-albums albums, so the albums of an artist may span several chunks; the
+     * artist is checkpointed as done with the chunk holding its last page.
+     * A chunk that fails to commit is rolled back and its artists are counted as failed.
+     * </p>
+     * <p>
+     * Every run is checkpointed in sync_runs: the artists found by the search, and with each committed chunk
+     * which of them are done. If the last run with the same query and track limit stopped early or died with
+     * the process less than tidal.sync.resume.max-age-hours ago, it is resumed instead: no new search, and only
+     * the artists it had not committed yet (or whose album fetch failed) are fetched and persisted.
+     * Disabled with tidal.sync.resume.enabled=false.
+     * </p>
+     * <p>
+     * Several instances share a run instead of repeating it: if another instance is already running a sync with
+     * the same query and track limit, this one joins it, waits for its search and then helps with the album fetch.
+     * The artists are split into shards of tidal.sync.cluster.shard-size artists that the instances claim one at a
+     * time. A claim is a lease of tidal.sync.cluster.lease-seconds that the instance renews three times per lease
+     * while it holds the claim (and with every committed chunk), as it does for the run; shards of an instance that
+     * dies are taken over by the others once the lease expires. An instance that could not renew in time and lost
+     * its shard stops working on it: its uncommitted chunks are dropped, the new owner syncs those artists.
+     * </p>
      *
      * @param searchQuery The search query for TIDAL (e.g. "best rock songs", "top hits germany")
      *                    If null, defaultSearchQuery is used
      * @param trackLimit  Maximum number of tracks (if null, defaultTrackLimit is used)
+     * @return counts of the run, per-stage throughput and the circuit breaker states afterwards
      */
-    @Transactional
-    public void syncArtistsAndAlbums(String searchQuery, Integer trackLimit) {
+    public SyncResult syncArtistsAndAlbums(String searchQuery, Integer trackLimit) {
+        return syncArtistsAndAlbums(searchQuery, trackLimit, new SyncProgress());
+    }
+
+    /**
+     * Like {@link #syncArtistsAndAlbums(String, Integer)}, reporting stage and counts to {@code progress} while running
+     */
+    public SyncResult syncArtistsAndAlbums(String searchQuery, Integer trackLimit, SyncProgress progress) {
         String effectiveQuery = (searchQuery != null && !searchQuery.isBlank()) 
                 ? searchQuery 
                 : defaultSearchQuery;
@@ -106,82 +316,650 @@ public class TidalSyncService {
         int effectiveLimit = (trackLimit != null && trackLimit > 0) 
                 ? trackLimit 
                 : defaultTrackLimit;
-        
+
         log.info("Starting TIDAL sync task with query '{}' and track limit {}...", effectiveQuery, effectiveLimit);
 
+        long start = System.nanoTime();
+        SyncPipelineStage searchStage = new SyncPipelineStage(STAGE_SEARCH, 1, meterRegistry);
+        SyncPipelineStage fetchStage = new SyncPipelineStage(STAGE_ALBUM_FETCH, Math.max(1, albumFetchWorkers),
+                meterRegistry);
+        SyncPipelineStage persistStage = new SyncPipelineStage(STAGE_PERSIST, Math.max(1, persistWorkers),
+                meterRegistry);
+        currentStages = Map.of(STAGE_ALBUM_FETCH, fetchStage, STAGE_PERSIST, persistStage);
+
+        int artistsFound = 0;
+        UUID runId = null;
+        AtomicReference<String> abortReason = new AtomicReference<>();
+        ScheduledFuture<?> runLease = null;
+
         try {
-            // 1. Search for tracks and extract artists
-            List<TidalArtistDto> artists = tidalClient.searchTracksAndExtractArtists(effectiveQuery, effectiveLimit);
-            log.info("Extracted {} unique artists from search query '{}'", artists.size(), effectiveQuery);
+            progress.setStage(STAGE_SEARCH);
+            LocalDateTime resumableSince = LocalDateTime.now().minusHours(Math.max(0, resumeMaxAgeHours));
+            RunAssignment assignment = transactionTemplate.execute(status -> syncCheckpointRepository.joinOrStart(
+                    effectiveQuery, effectiveLimit, resumeEnabled, resumableSince, leaseSeconds));
+            runId = assignment.run().id();
+            // Beim Beitritt erst nach der Suche: stirbt die suchende Instanz, soll ihr Lease ablaufen
+            if (assignment.role() != Role.JOINED) {
+                runLease = scheduleRunLeaseRenewal(runId);
+            }
 
-            if (artists.isEmpty()) {
-                log.warn("No artists found from TIDAL search, skipping sync");
-                return;
+            SyncRun run = switch (assignment.role()) {
+                // 1. Search for tracks and extract artists
+                case STARTED -> search(runId, effectiveQuery, effectiveLimit, searchStage, start);
+                case RESUMED -> {
+                    log.info("Resuming sync run {}: {} of {} artists done",
+                            runId, assignment.run().artistsDone(), assignment.run().artistsFound());
+                    yield assignment.run();
+                }
+                case JOINED -> {
+                    log.info("Joining sync run {} of another instance", runId);
+                    yield awaitSearch(runId);
+                }
+            };
+
+            if (STAGE_SEARCH.equals(run.stage())) {
+                abortReason.set("search of sync run " + runId + " did not finish");
+                log.warn("Not syncing: the search of sync run {} did not finish", runId);
+            } else {
+                artistsFound = run.artistsFound();
+                progress.setArtistsFound(artistsFound);
+                progress.setArtistsResumed(run.artistsDone());
+                if (runLease == null) {
+                    runLease = scheduleRunLeaseRenewal(runId);
+                }
+                // 2. + 3. Albums pro Artist holen (ohne Transaktion) und parallel dazu chunkweise speichern/updaten
+                processShards(runId, fetchStage, persistStage, progress, abortReason);
             }
 
-            // 2. Für jeden Artist: Speichern/Updaten + Albums holen
-            int artistsProcessed = 0;
-            int albumsProcessed = 0;
+            log.info("TIDAL sync completed: {} artists, {} albums processed",
+                    progress.getArtistsProcessed(), progress.getAlbumsProcessed());
 
-            for (TidalArtistDto tidalArtist : artists) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortReason.compareAndSet(null, "sync interrupted");
+            log.warn("TIDAL sync interrupted");
+        } catch (Exception e) {
+            abortReason.compareAndSet(null, e.getMessage());
+            log.error("Error during TIDAL sync task: {}", e.getMessage(), e);
+        }
+
+        if (runLease != null) {
+            runLease.cancel(false);
+        }
+        if (runId != null) {
+            finishRun(runId, progress);
+        }
+        progress.setStage(SyncProgress.STAGE_DONE);
+        long elapsedNanos = System.nanoTime() - start;
+        Map<String, SyncStageStats> stages = new LinkedHashMap<>();
+        stages.put(STAGE_SEARCH, searchStage.stats(elapsedNanos));
+        stages.put(STAGE_ALBUM_FETCH, fetchStage.stats(elapsedNanos));
+        stages.put(STAGE_PERSIST, persistStage.stats(elapsedNanos));
+        log.info("TIDAL sync pipeline stages: {}", stages);
+
+        int artistsProcessed = progress.getArtistsProcessed();
+        int artistsFailed = progress.getArtistsFailed();
+        // Mit mehreren Instanzen zählen die Artists der anderen als resumed
+        int artistsSkipped = Math.max(0, artistsFound - progress.getArtistsResumed() - artistsProcessed - artistsFailed);
+        return new SyncResult(effectiveQuery, effectiveLimit, artistsFound, progress.getArtistsResumed(), artistsProcessed,
+                artistsFailed, artistsSkipped, progress.getAlbumsProcessed(), progress.getArtistWrites(),
+                progress.getAlbumWrites(), abortReason.get() != null, abortReason.get(), circuitBreaker.getStates(), stages);
+    }
+
+    /**
+     * Searches TIDAL (outside of any transaction) and publishes the found artists to the run, split into shards
+     * @return the run in stage album-fetch
+     */
+    private SyncRun search(UUID runId, String query, int trackLimit, SyncPipelineStage searchStage, long start) {
+        List<TidalArtistDto> artists = tidalClient.searchTracksAndExtractArtists(query, trackLimit);
+        searchStage.completed(artists.size(), System.nanoTime() - start);
+        log.info("Extracted {} unique artists from search query '{}'", artists.size(), query);
+
+        List<ArtistRow> rows = artists.stream()
+                .map(artist -> new ArtistRow(artist.getId(), artist.getName()))
+                .toList();
+        return transactionTemplate.execute(status ->
+                syncCheckpointRepository.publishArtists(runId, rows, shardSize, leaseSeconds));
+    }
+
+    /**
+     * Waits until the instance that started the run has published its search
+     * @return the run; still in stage search if that instance gave up or died
+     */
+    private SyncRun awaitSearch(UUID runId) throws InterruptedException {
+        while (true) {
+            SyncRun run = syncCheckpointRepository.findRun(runId).orElseThrow();
+            if (!STAGE_SEARCH.equals(run.stage()) || run.status() != RunStatus.RUNNING || run.leaseExpired()) {
+                return run;
+            }
+            Thread.sleep(pollIntervalMillis);
+        }
+    }
+
+    /**
+     * Claims shards of the run until none is left, running the fetch/persist pipeline for each.
+     * After an abort the unprocessed artists of the current shard are released for other instances.
+     * The worker threads are created once per run and shared by the pipelines of its shards.
+     */
+    private void processShards(UUID runId, SyncPipelineStage fetchStage, SyncPipelineStage persistStage,
+                               SyncProgress progress, AtomicReference<String> abortReason)
+            throws InterruptedException, ExecutionException {
+        ExecutorService fetchExecutor = Executors.newFixedThreadPool(Math.max(1, albumFetchWorkers),
+                threadFactory("tidal-sync-fetch-"));
+        ExecutorService persistExecutor = Executors.newFixedThreadPool(Math.max(1, persistWorkers),
+                threadFactory("tidal-sync-persist-"));
+        try {
+            Optional<Integer> claimed;
+            while (abortReason.get() == null
+                    && (claimed = syncCheckpointRepository.claimShard(runId, instanceId, leaseSeconds)).isPresent()) {
+                ShardClaim claim = new ShardClaim(runId, claimed.get());
+                List<TidalArtistDto> artists = syncCheckpointRepository.pendingArtists(runId, claim.shard()).stream()
+                        .map(row -> TidalArtistDto.builder().id(row.tidalId()).name(row.name()).build())
+                        .toList();
+                log.debug("Claimed shard {} of sync run {} with {} artists", claim.shard(), runId, artists.size());
+                ScheduledFuture<?> shardLease = scheduleLeaseRenewal(() -> renewShardLease(claim));
                 try {
-                    // Artist speichern/updaten
-                    ArtistEntity artist = syncArtist(tidalArtist);
-                    artistsProcessed++;
-
-                    // Albums für diesen Artist holen
-                    List<TidalAlbumDto> tidalAlbums = tidalClient.fetchAlbumsForArtist(tidalArtist.getId());
-                    log.info("Fetched {} albums for artist '{}'", tidalAlbums.size(), artist.getName());
-
-                    // Albums speichern/updaten
-                    for (TidalAlbumDto tidalAlbum : tidalAlbums) {
-                        syncAlbum(tidalAlbum, artist);
-                        albumsProcessed++;
+                    if (!artists.isEmpty()) {
+                        runPipeline(claim, artists, fetchExecutor, persistExecutor, fetchStage, persistStage,
+                                progress, abortReason);
                     }
+                } finally {
+                    shardLease.cancel(false);
+                    releaseShard(claim, abortReason.get() != null);
+                }
+            }
+        } finally {
+            fetchExecutor.shutdownNow();
+            persistExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Renews the lease of the run every third of tidal.sync.cluster.lease-seconds until the returned future is cancelled
+     */
+    private ScheduledFuture<?> scheduleRunLeaseRenewal(UUID runId) {
+        return scheduleLeaseRenewal(() -> {
+            if (!syncCheckpointRepository.renewRunLease(runId, leaseSeconds)) {
+                log.debug("Sync run {} is no longer running, its lease was not renewed", runId);
+            }
+        });
+    }
+
+    private ScheduledFuture<?> scheduleLeaseRenewal(Runnable renewal) {
+        long periodMillis = Math.max(1000L, leaseSeconds * 1000L / 3);
+        return leaseRenewal.scheduleAtFixedRate(() -> {
+            try {
+                renewal.run();
+            } catch (Exception e) {
+                // Nächster Versuch im nächsten Intervall, der Lease reicht für zwei verpasste Erneuerungen
+                log.warn("Could not renew a sync lease: {}", e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
 
-                } catch (Exception e) {
-                    log.error("Error syncing artist {}: {}", tidalArtist.getName(), e.getMessage(), e);
+    private void renewShardLease(ShardClaim claim) {
+        if (!claim.lost().get()
+                && !syncCheckpointRepository.renewShardLease(claim.runId(), claim.shard(), instanceId, leaseSeconds)) {
+            shardLost(claim);
+        }
+    }
+
+    /**
+     * Another instance took the shard over after its lease expired; stop fetching and drop the uncommitted chunks
+     */
+    private void shardLost(ShardClaim claim) {
+        if (claim.lost().compareAndSet(false, true)) {
+            log.warn("Lost the lease of shard {} of sync run {}, abandoning the shard", claim.shard(), claim.runId());
+        }
+    }
+
+    /**
+     * A shard that cannot be released stays claimed until its lease expires, then another instance takes it over.
+     * A lost shard belongs to another instance and is not released.
+     */
+    private void releaseShard(ShardClaim claim, boolean aborted) {
+        if (claim.lost().get()) {
+            return;
+        }
+        try {
+            if (!syncCheckpointRepository.releaseShard(claim.runId(), claim.shard(), instanceId, aborted)) {
+                shardLost(claim);
+            }
+        } catch (Exception e) {
+            log.error("Could not release shard {} of sync run {}: {}", claim.shard(), claim.runId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finishes the run if this is the last instance working on it and reports the artists done by other
+     * instances or an earlier run. A run that cannot be finished is resumed once its lease expired.
+     */
+    private void finishRun(UUID runId, SyncProgress progress) {
+        try {
+            Optional<RunStatus> status = transactionTemplate.execute(transaction ->
+                    syncCheckpointRepository.finish(runId, SyncProgress.STAGE_DONE));
+            if (status != null && status.isPresent()) {
+                log.info("Sync run {} finished: {}", runId, status.get());
+            } else {
+                log.info("Sync run {} is still being worked on by other instances", runId);
+            }
+            syncCheckpointRepository.findRun(runId).ifPresent(run ->
+                    progress.setArtistsResumed(Math.max(0, run.artistsDone() - progress.getArtistsProcessed())));
+        } catch (Exception e) {
+            log.error("Could not finish sync run {}: {}", runId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Album fetch workers take artists from the found list and put their album pages into bounded queues, one per
+     * persist worker, which drain them chunk by chunk. Returns once every fetched page is persisted.
+     * An open circuit breaker or a failing fetch worker stops the fetch workers; the pages fetched until then are
+     * still persisted before the failure is rethrown.
+     */
+    private void runPipeline(ShardClaim claim, List<TidalArtistDto> artists, ExecutorService fetchExecutor,
+                             ExecutorService persistExecutor, SyncPipelineStage fetchStage,
+                             SyncPipelineStage persistStage, SyncProgress progress,
+                             AtomicReference<String> abortReason) throws InterruptedException, ExecutionException {
+        int fetchWorkers = Math.max(1, albumFetchWorkers);
+        int persistWorkerCount = Math.max(1, persistWorkers);
+        int effectiveChunkSize = Math.max(1, chunkSize);
+
+        Queue<TidalArtistDto> pending = new ConcurrentLinkedQueue<>(artists);
+        List<BlockingQueue<FetchedArtist>> persistQueues = new ArrayList<>(persistWorkerCount);
+        for (int i = 0; i < persistWorkerCount; i++) {
+            persistQueues.add(new ArrayBlockingQueue<>(Math.max(1, queueCapacity / persistWorkerCount)));
+        }
+        fetchStage.queueDepth(pending.size());
+
+        List<Future<?>> persisting = new ArrayList<>();
+        List<Future<?>> fetching = new ArrayList<>();
+        try {
+            for (BlockingQueue<FetchedArtist> fetched : persistQueues) {
+                persisting.add(persistExecutor.submit(() -> {
+                    persistWorker(claim, fetched, persistQueues, effectiveChunkSize, persistStage, progress);
+                    return null;
+                }));
+            }
+
+            progress.setStage(STAGE_ALBUM_FETCH);
+            for (int i = 0; i < fetchWorkers; i++) {
+                fetching.add(fetchExecutor.submit(() -> {
+                    fetchWorker(claim, pending, persistQueues, artists.size(), fetchStage, persistStage, progress,
+                            abortReason);
+                    return null;
+                }));
+            }
+            ExecutionException fetchFailure = null;
+            for (Future<?> future : fetching) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Übrige Fetcher anhalten, das bisher Geholte wird trotzdem gespeichert
+                    abortReason.compareAndSet(null, "album fetch failed: " + e.getCause());
+                    if (fetchFailure == null) {
+                        fetchFailure = e;
+                    }
                 }
             }
+            progress.setStage(STAGE_PERSIST);
+
+            // Ein Endmarker pro Persist-Worker, damit jeder seinen letzten Chunk schreibt
+            for (int i = 0; i < persistQueues.size(); i++) {
+                endOfArtists(persistQueues.get(i), persisting.get(i));
+            }
+            for (Future<?> future : persisting) {
+                future.get();
+            }
+            if (fetchFailure != null) {
+                throw fetchFailure;
+            }
+        } catch (InterruptedException e) {
+            // Sync abgebrochen: nur die Worker dieses Shards beenden, die Executors gehören dem Lauf
+            fetching.forEach(future -> future.cancel(true));
+            persisting.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the end marker for a persist worker; gives up once the worker has ended, nobody drains its queue then
+     */
+    private static void endOfArtists(BlockingQueue<FetchedArtist> fetched, Future<?> persistWorker)
+            throws InterruptedException {
+        while (!persistWorker.isDone() && !fetched.offer(END_OF_ARTISTS, 100, TimeUnit.MILLISECONDS)) {
+            // Queue voll: der Worker schreibt gerade einen Chunk
+        }
+    }
+
+    private void fetchWorker(ShardClaim claim, Queue<TidalArtistDto> pending,
+                             List<BlockingQueue<FetchedArtist>> persistQueues, int artistsFound,
+                             SyncPipelineStage fetchStage, SyncPipelineStage persistStage, SyncProgress progress,
+                             AtomicReference<String> abortReason) throws InterruptedException {
+        TidalArtistDto tidalArtist;
+        while (abortReason.get() == null && !claim.lost().get() && (tidalArtist = pending.poll()) != null) {
+            fetchStage.queueDepth(pending.size());
+            long start = System.nanoTime();
+            try {
+                fetchAlbums(tidalArtist, persistQueues, persistStage);
+            } catch (TidalCircuitOpenException e) {
+                // Weitere Artists würden ebenfalls sofort scheitern
+                if (abortReason.compareAndSet(null, e.getMessage())) {
+                    log.warn("Aborting TIDAL sync after {} of {} artists: {}",
+                            fetchStage.getItems(), artistsFound, e.getMessage());
+                }
+                return;
+            }
+            fetchStage.completed(1, System.nanoTime() - start);
+            progress.artistFetched();
+        }
+    }
+
+    /**
+     * Chunks the pages of one queue. Chunks are cut after tidal.sync.chunk-size complete artists or
+     * tidal.sync.chunk-max-albums albums, whichever comes first.
+     */
+    private void persistWorker(ShardClaim claim, BlockingQueue<FetchedArtist> fetched,
+                               List<BlockingQueue<FetchedArtist>> persistQueues, int effectiveChunkSize,
+                               SyncPipelineStage persistStage, SyncProgress progress) throws InterruptedException {
+        int maxAlbums = Math.max(1, chunkMaxAlbums);
+        // Artists, von denen schon Seiten zurückgerollt wurden: sie sind unvollständig und gelten als fehlgeschlagen
+        Set<String> rolledBack = new HashSet<>();
+        List<FetchedArtist> chunk = new ArrayList<>();
+        int completeArtists = 0;
+        int albums = 0;
+        while (true) {
+            FetchedArtist next = fetched.take();
+            persistStage.queueDepth(queuedPages(persistQueues));
+            if (next == END_OF_ARTISTS) {
+                break;
+            }
+            chunk.add(next);
+            albums += next.albums().size();
+            if (next.complete()) {
+                completeArtists++;
+            }
+            if (completeArtists >= effectiveChunkSize || albums >= maxAlbums) {
+                persistChunk(claim, chunk, rolledBack, progress, persistStage);
+                chunk = new ArrayList<>();
+                completeArtists = 0;
+                albums = 0;
+            }
+        }
+        persistChunk(claim, chunk, rolledBack, progress, persistStage);
+    }
+
+    private static int queuedPages(List<BlockingQueue<FetchedArtist>> persistQueues) {
+        return persistQueues.stream().mapToInt(BlockingQueue::size).sum();
+    }
 
-            log.info("TIDAL sync completed: {} artists, {} albums processed", artistsProcessed, albumsProcessed);
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
+    private int queueDepth(String stage) {
+        SyncPipelineStage pipelineStage = currentStages.get(stage);
+        return pipelineStage != null ? pipelineStage.getQueueDepth() : 0;
+    }
+
+    /**
+     * Fetches the album pages of an artist and hands each page to the persist stage as it arrives, followed by the
+     * item that completes the artist. TIDAL errors complete the artist as failed, the pages handed over so far are
+     * still saved; an open circuit breaker is rethrown to abort the sync and leaves the artist unfinished.
+     */
+    private void fetchAlbums(TidalArtistDto tidalArtist, List<BlockingQueue<FetchedArtist>> persistQueues,
+                             SyncPipelineStage persistStage) throws InterruptedException {
+        int albums = 0;
+        boolean failed = false;
+        try {
+            Iterator<List<TidalAlbumDto>> albumPages = tidalClient.fetchAlbumPagesForArtist(tidalArtist.getId());
+            while (albumPages.hasNext()) {
+                List<TidalAlbumDto> page = albumPages.next();
+                albums += page.size();
+                handOver(new FetchedArtist(tidalArtist, page, false, false), persistQueues, persistStage);
+            }
+            log.info("Fetched {} albums for artist '{}'", albums, tidalArtist.getName());
+
+        } catch (TidalCircuitOpenException | InterruptedException e) {
+            throw e;
+        } catch (ExternalApiException | ExternalRateLimitException | ExternalServiceUnavailableException e) {
+            log.warn("Error syncing artist {}: {}", tidalArtist.getName(), e.getMessage());
+            failed = true;
         } catch (Exception e) {
-            log.error("Error during TIDAL sync task: {}", e.getMessage(), e);
+            log.error("Error syncing artist {}: {}", tidalArtist.getName(), e.getMessage(), e);
+            failed = true;
+        }
+        handOver(new FetchedArtist(tidalArtist, List.of(), true, failed), persistQueues, persistStage);
+    }
+
+    /**
+     * Queues a page for the persist worker of its artist, so the pages of an artist are persisted in order.
+     * Blocks while persistence lags behind.
+     */
+    private static void handOver(FetchedArtist page, List<BlockingQueue<FetchedArtist>> persistQueues,
+                                 SyncPipelineStage persistStage) throws InterruptedException {
+        persistQueues.get(Math.floorMod(page.artist().getId().hashCode(), persistQueues.size())).put(page);
+        persistStage.queueDepth(queuedPages(persistQueues));
+    }
+
+    /**
+     * Merges the pages of the same artist in a chunk, in order of their first page
+     */
+    private static List<FetchedArtist> mergePages(List<FetchedArtist> pages) {
+        Map<String, FetchedArtist> merged = new LinkedHashMap<>();
+        for (FetchedArtist page : pages) {
+            merged.merge(page.artist().getId(), page, (previous, next) -> {
+                List<TidalAlbumDto> albums = new ArrayList<>(previous.albums().size() + next.albums().size());
+                albums.addAll(previous.albums());
+                albums.addAll(next.albums());
+                return new FetchedArtist(previous.artist(), albums, next.complete(), next.failed());
+            });
         }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Persists the artists of one chunk and their albums in a single transaction together with the checkpoint of
+     * the run, see {@link #writeChunkWithUpserts}, {@link #writeChunkWithCopy} and {@link #writeChunkWithJpa}.
+     * Only the artists completed in this chunk are checkpointed; those with pages in an earlier chunk that was
+     * rolled back ({@code rolledBack}) are checkpointed as failed, so a resume fetches them again.
+     */
+    private void persistChunk(ShardClaim claim, List<FetchedArtist> pages, Set<String> rolledBack,
+                              SyncProgress progress, SyncPipelineStage persistStage) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        if (claim.lost().get()) {
+            log.debug("Dropping chunk of {} album pages of lost shard {}", pages.size(), claim.shard());
+            return;
+        }
+
+        List<FetchedArtist> chunk = mergePages(pages);
+        List<String> completed = chunk.stream()
+                .filter(FetchedArtist::complete)
+                .map(fetched -> fetched.artist().getId())
+                .toList();
+        List<String> failed = chunk.stream()
+                .filter(fetched -> fetched.complete()
+                        && (fetched.failed() || rolledBack.contains(fetched.artist().getId())))
+                .map(fetched -> fetched.artist().getId())
+                .toList();
+
+        long start = System.nanoTime();
+        try {
+            ChunkWrites writes = transactionTemplate.execute(status -> {
+                ChunkWrites chunkWrites = switch (writeMode) {
+                    case JPA -> writeChunkWithJpa(chunk);
+                    case COPY -> writeChunkWithCopy(chunk);
+                    case UPSERT -> writeChunkWithUpserts(chunk);
+                };
+                // Rollback des Chunks nimmt auch den Checkpoint zurück, die Artists bleiben offen
+                syncCheckpointRepository.checkpoint(claim.runId(), claim.shard(), instanceId, progress.getStage(),
+                        completed, failed, leaseSeconds);
+                return chunkWrites;
+            });
+
+            if (writes != null) {
+                progress.addAlbumsProcessed(writes.albums());
+                progress.addWrites(writes.artistWrites(), writes.albumWrites());
+            }
+            progress.addArtistsFailed(failed.size());
+            progress.addArtistsProcessed(completed.size() - failed.size());
+            log.debug("Committed chunk of {} artists", chunk.size());
+
+        } catch (SyncLeaseLostException e) {
+            // Rollback: die Artists schreibt die Instanz, die den Shard übernommen hat
+            shardLost(claim);
+        } catch (Exception e) {
+            // Rollback: kein Artist dieses Chunks wurde gespeichert, unvollständige scheitern mit ihrer letzten Seite
+            progress.addArtistsFailed(completed.size());
+            chunk.stream()
+                    .filter(fetched -> !fetched.complete())
+                    .forEach(fetched -> rolledBack.add(fetched.artist().getId()));
+            log.error("Error persisting chunk of {} artists: {}", chunk.size(), e.getMessage(), e);
+        }
+        completed.forEach(rolledBack::remove);
+        persistStage.completed(completed.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Two set-based statements per chunk: artists first, then the albums joined to their artists by tidal_id
+     */
+    private ChunkWrites writeChunkWithUpserts(List<FetchedArtist> chunk) {
+        ChunkRows rows = toRows(chunk);
+        CatalogWriteCounts artistWrites = catalogUpsertRepository.upsertArtists(rows.artists());
+        CatalogWriteCounts albumWrites = catalogUpsertRepository.upsertAlbums(rows.albums());
+        log.debug("Upserted artists {} and albums {}", artistWrites, albumWrites);
+        return new ChunkWrites(rows.albums().size(), artistWrites, albumWrites);
+    }
+
+    /**
+     * COPY of the whole chunk into staging tables, then one merge statement per table
+     */
+    private ChunkWrites writeChunkWithCopy(List<FetchedArtist> chunk) {
+        ChunkRows rows = toRows(chunk);
+        MergeResult result = catalogCopyRepository.importCatalog(rows.artists(), rows.albums());
+        log.debug("Merged artists {} and albums {} from staging", result.artists(), result.albums());
+        return new ChunkWrites(rows.albums().size(), result.artists(), result.albums());
+    }
+
+    private ChunkRows toRows(List<FetchedArtist> chunk) {
+        List<ArtistRow> artists = new ArrayList<>(chunk.size());
+        List<AlbumRow> albums = new ArrayList<>();
+        for (FetchedArtist fetched : chunk) {
+            artists.add(new ArtistRow(fetched.artist().getId(), fetched.artist().getName()));
+            for (TidalAlbumDto tidalAlbum : fetched.albums()) {
+                albums.add(new AlbumRow(tidalAlbum.getId(), tidalAlbum.getTitle(),
+                        parseReleaseDate(tidalAlbum.getReleaseDate()), fetched.artist().getId()));
+            }
+        }
+        return new ChunkRows(artists, albums);
+    }
+
+    /**
+     * Entity by entity via JPA. Existing artists and albums are loaded up front with one query per
+     * entity type (see {@link #prefetch}) instead of one SELECT per artist and album.
+     */
+    private ChunkWrites writeChunkWithJpa(List<FetchedArtist> chunk) {
+        Map<String, ArtistEntity> existingArtists = prefetch(
+                chunk.stream().map(fetched -> fetched.artist().getId()).toList(),
+                artistRepository::findByTidalIdIn, ArtistEntity::getTidalId);
+        Map<String, AlbumEntity> existingAlbums = prefetch(
+                chunk.stream().flatMap(fetched -> fetched.albums().stream()).map(TidalAlbumDto::getId).toList(),
+                albumRepository::findByTidalIdIn, AlbumEntity::getTidalId);
+
+        int albums = 0;
+        WriteCounter artistWrites = new WriteCounter();
+        WriteCounter albumWrites = new WriteCounter();
+        for (FetchedArtist fetched : chunk) {
+            ArtistEntity artist = syncArtist(fetched.artist(), existingArtists, artistWrites);
+            for (TidalAlbumDto tidalAlbum : fetched.albums()) {
+                syncAlbum(tidalAlbum, artist, existingAlbums, albumWrites);
+                albums++;
+            }
+        }
+        return new ChunkWrites(albums, artistWrites.counts(), albumWrites.counts());
+    }
+
+    /**
+     * Inserted/updated/unchanged counter of the JPA write path
+     */
+    static final class WriteCounter {
+        private int inserted;
+        private int updated;
+        private int unchanged;
+
+        CatalogWriteCounts counts() {
+            return new CatalogWriteCounts(inserted, updated, unchanged);
+        }
+    }
+
+    /**
+     * Loads the entities with the given tidal ids, in batches of PREFETCH_BATCH_SIZE ids per query
+     * @return tidal id -> entity, for the ids that already exist
+     */
+    private static <E> Map<String, E> prefetch(Collection<String> tidalIds,
+                                               Function<Collection<String>, List<E>> finder,
+                                               Function<E, String> tidalId) {
+        List<String> distinctIds = tidalIds.stream().distinct().toList();
+        Map<String, E> entities = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += PREFETCH_BATCH_SIZE) {
+            List<String> batch = distinctIds.subList(from, Math.min(distinctIds.size(), from + PREFETCH_BATCH_SIZE));
+            for (E entity : finder.apply(batch)) {
+                entities.put(tidalId.apply(entity), entity);
+            }
+        }
+        return entities;
     }
 
     /**
      * Synchronizes a single artist
      * - Creates a new artist if not present
-     * - Updates existing artist only if manuallyModified=false
-     * - Returns the persisted ArtistEntity (new or updated)
-     * @param tidalArtist The artist data from TIDAL
+     * - Updates existing artist only if manuallyModified=false and its content hash changed
+     * - Returns the persisted ArtistEntity (new, updated or unchanged)
+     * @param tidalArtist     The artist data from TIDAL
+     * @param existingArtists Prefetched artists of the chunk by tidal id; new artists are added
+     * @param writes          Counts the artist as inserted, updated or unchanged
      */
-    private ArtistEntity syncArtist(TidalArtistDto tidalArtist) {
-        Optional<ArtistEntity> existingOpt = artistRepository.findByTidalId(tidalArtist.getId());
+    private ArtistEntity syncArtist(TidalArtistDto tidalArtist, Map<String, ArtistEntity> existingArtists,
+                                    WriteCounter writes) {
+        ArtistEntity existing = existingArtists.get(tidalArtist.getId());
+        long contentHash = CatalogContentHash.artist(tidalArtist.getName());
 
-        if (existingOpt.isPresent()) {
-            ArtistEntity existing = existingOpt.get();
+        if (existing != null) {
 
             // Nur updaten wenn NICHT manuell modifiziert
-            if (!existing.getManuallyModified()) {
+            if (existing.getManuallyModified()) {
+                log.debug("Skipping update for manually modified artist '{}'", existing.getName());
+                writes.unchanged++;
+                return existing;
+            } else if (Long.valueOf(contentHash).equals(existing.getContentHash())) {
+                log.debug("Artist '{}' unchanged since the last sync", existing.getName());
+                writes.unchanged++;
+                return existing;
+            } else {
                 log.debug("Updating artist '{}' from TIDAL", existing.getName());
                 existing.setName(tidalArtist.getName());
+                existing.setContentHash(contentHash);
+                writes.updated++;
                 return artistRepository.save(existing);
-            } else {
-                log.debug("Skipping update for manually modified artist '{}'", existing.getName());
-                return existing;
             }
         } else {
             // Neuen Artist erstellen
             ArtistEntity newArtist = ArtistEntity.builder()
                     .tidalId(tidalArtist.getId())
                     .name(tidalArtist.getName())
+                    .contentHash(contentHash)
                     .manuallyModified(false)
                     .build();
 
             newArtist = artistRepository.save(newArtist);
+            existingArtists.put(newArtist.getTidalId(), newArtist);
+            writes.inserted++;
             log.info("Created new artist '{}' from TIDAL", newArtist.getName());
             return newArtist;
         }
@@ -190,39 +968,56 @@ public class TidalSyncService {
     /**
      * Synchronizes a single album
      * - Creates a new album if not present
-     * - Updates existing album only if manuallyModified=false
-     * @param tidalAlbum The album data from TIDAL
-     * @param artist     The associated ArtistEntity (must be persisted)
+     * - Updates existing album only if manuallyModified=false and its content hash or artist changed
+     * @param tidalAlbum     The album data from TIDAL
+     * @param artist         The associated ArtistEntity (must be persisted)
+     * @param existingAlbums Prefetched albums of the chunk by tidal id; new albums are added
+     * @param writes         Counts the album as inserted, updated or unchanged
      */
-    private void syncAlbum(TidalAlbumDto tidalAlbum, ArtistEntity artist) {
-        Optional<AlbumEntity> existingOpt = albumRepository.findByTidalId(tidalAlbum.getId());
+    private void syncAlbum(TidalAlbumDto tidalAlbum, ArtistEntity artist, Map<String, AlbumEntity> existingAlbums,
+                           WriteCounter writes) {
+        AlbumEntity existing = existingAlbums.get(tidalAlbum.getId());
+        LocalDate releaseDate = parseReleaseDate(tidalAlbum.getReleaseDate());
+        long contentHash = CatalogContentHash.album(tidalAlbum.getTitle(), releaseDate);
 
-        if (existingOpt.isPresent()) {
-            AlbumEntity existing = existingOpt.get();
+        if (existing != null) {
 
             // Nur updaten wenn Not manuell modifiziert
-            if (!existing.getManuallyModified()) {
+            if (existing.getManuallyModified()) {
+                log.debug("Skipping update for manually modified album '{}'", existing.getTitle());
+                writes.unchanged++;
+            } else if (Long.valueOf(contentHash).equals(existing.getContentHash())
+                    && Objects.equals(existing.getArtist().getId(), artist.getId())
+                    && Objects.equals(existing.getArtistName(), artist.getName())) {
+                // Artist und Artist-Name stehen nicht im Hash, sie werden direkt verglichen
+                log.debug("Album '{}' unchanged since the last sync", existing.getTitle());
+                writes.unchanged++;
+            } else {
                 log.debug("Updating album '{}' from TIDAL", existing.getTitle());
                 existing.setTitle(tidalAlbum.getTitle());
-                existing.setReleaseDate(parseReleaseDate(tidalAlbum.getReleaseDate()));
+                existing.setReleaseDate(releaseDate);
+                existing.setContentHash(contentHash);
                 existing.setArtist(artist);
                 existing.setArtistName(artist.getName());
                 albumRepository.save(existing);
-            } else {
-                log.debug("Skipping update for manually modified album '{}'", existing.getTitle());
+                writes.updated++;
             }
         } else {
             // Add Neues Album
             AlbumEntity newAlbum = AlbumEntity.builder()
                     .tidalId(tidalAlbum.getId())
                     .title(tidalAlbum.getTitle())
-                    .releaseDate(parseReleaseDate(tidalAlbum.getReleaseDate()))
+                    .releaseDate(releaseDate)
+                    .contentHash(contentHash)
                     .artist(artist)
                     .artistName(artist.getName())
                     .manuallyModified(false)
                     .build();
 
             albumRepository.save(newAlbum);
+            writes.inserted++;
+            // Dasselbe Album kann bei mehreren Artists des Chunks auftauchen
+            existingAlbums.put(newAlbum.getTidalId(), newAlbum);
             log.debug("Created new album '{}' for artist '{}'", newAlbum.getTitle(), artist.getName());
         }
     }
@@ -0,0 +1,52 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Registry of TIDAL lookups currently in flight, keyed by what they fetch.
+ * <p>
+ * A caller asking for a key that is already being fetched subscribes to the running call instead
+ * of starting a second one; all callers receive the same result (or error). The entry is removed
+ * as soon as the call terminates, so results are never cached beyond the request itself.
+ * The network call is cancelled only when every caller has cancelled.
+ * </p>
+ */
+class InFlightRequests {
+
+    private static final Logger log = LoggerFactory.getLogger(InFlightRequests.class);
+
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param key  identifies the request, identical keys must produce identical results
+     * @param call starts the request; only invoked if no request with this key is in flight
+     */
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> coalesce(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> shared = Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(shared);
+
+            Mono<T> running = (Mono<T>) inFlight.putIfAbsent(key, shared);
+            if (running != null) {
+                log.debug("Joining in-flight TIDAL request {}", key);
+                return running;
+            }
+            return shared;
+        });
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,132 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.domain.entity.TrackArtistCacheEntity;
+import com.rowa.musicbridge.domain.repository.TrackArtistCacheRepository;
+import com.rowa.musicbridge.domain.repository.TrackArtistCacheUpsertRepository;
+import com.rowa.musicbridge.domain.repository.TrackArtistCacheUpsertRepository.TrackArtistRow;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores resolved tracks in the track_artist_cache table.
+ * Only active with tidal.client.track-cache.persistent=true.
+ * <p>
+ * Writes are batched upserts; rows older than tidal.client.track-cache.ttl are never read again
+ * and are deleted at startup and then hourly.
+ * </p>
+ */
+@Component
+@Profile("prod")
+@ConditionalOnProperty(prefix = "tidal.client.track-cache", name = "persistent", havingValue = "true")
+public class JpaTrackArtistStore implements TrackArtistStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaTrackArtistStore.class);
+    private static final TypeReference<List<TidalArtistDto>> ARTIST_LIST = new TypeReference<>() {
+    };
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final TrackArtistCacheRepository repository;
+    private final TrackArtistCacheUpsertRepository upsertRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final ScheduledExecutorService purge;
+
+    public JpaTrackArtistStore(TrackArtistCacheRepository repository,
+                               TrackArtistCacheUpsertRepository upsertRepository,
+                               ObjectMapper objectMapper,
+                               TidalClientProperties clientProperties) {
+        this.repository = repository;
+        this.upsertRepository = upsertRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = clientProperties.getTrackCache().getTtl();
+        this.purge = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tidal-track-cache-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurge() {
+        purge.scheduleAtFixedRate(this::purgeExpired, 0, PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purge.shutdownNow();
+    }
+
+    /**
+     * Deletes entries older than the TTL, findAll would skip them anyway
+     */
+    void purgeExpired() {
+        try {
+            int deleted = upsertRepository.deleteCachedBefore(LocalDateTime.now(ZoneOffset.UTC).minus(ttl));
+            if (deleted > 0) {
+                log.info("Deleted {} expired entries from track_artist_cache", deleted);
+            }
+        } catch (RuntimeException e) {
+            // Nächster Versuch beim nächsten Intervall
+            log.warn("Could not delete expired entries from track_artist_cache: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, TrackArtistCache.Entry> findAll(Collection<String> trackIds, Duration ttl) {
+        LocalDateTime cachedAfter = LocalDateTime.now(ZoneOffset.UTC).minus(ttl);
+        Map<String, TrackArtistCache.Entry> entries = new HashMap<>();
+        for (TrackArtistCacheEntity entity : repository.findByTidalTrackIdInAndCachedAtAfter(trackIds, cachedAfter)) {
+            try {
+                List<TidalArtistDto> artists = objectMapper.readValue(entity.getArtists(), ARTIST_LIST);
+                entries.put(entity.getTidalTrackId(),
+                        new TrackArtistCache.Entry(artists, entity.getCachedAt().toInstant(ZoneOffset.UTC)));
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable cached artists of track {}: {}", entity.getTidalTrackId(), e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void saveAll(Map<String, TrackArtistCache.Entry> entries) {
+        List<TrackArtistRow> rows = entries.entrySet().stream()
+                .map(entry -> new TrackArtistRow(
+                        entry.getKey(),
+                        toJson(entry.getValue().artists()),
+                        LocalDateTime.ofInstant(entry.getValue().cachedAt(), ZoneOffset.UTC)))
+                .toList();
+        upsertRepository.upsert(rows);
+        log.debug("Persisted artists of {} tracks", rows.size());
+    }
+
+    private String toJson(List<TidalArtistDto> artists) {
+        try {
+            return objectMapper.writeValueAsString(artists);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize track artists", e);
+        }
+    }
+}
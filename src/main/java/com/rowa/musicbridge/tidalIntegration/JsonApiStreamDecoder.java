@@ -0,0 +1,238 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalLinksDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalResourceDto;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a TIDAL JSON:API document incrementally from the raw response buffers.
+ * <p>
+ * The bytes are fed into Jackson's non-blocking parser as they arrive. Every resource of the
+ * top-level {@code data} and {@code included} members and the top-level {@code links} object are
+ * emitted as soon as their closing brace was parsed; all other members are skipped. Only the tokens
+ * of the resource currently being parsed are held in memory, so peak heap per request is bounded by
+ * the largest single resource (guarded by {@code maxResourceBytes}) instead of the whole payload.
+ * </p>
+ */
+public class JsonApiStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader resourceReader;
+    private final ObjectReader linksReader;
+    private final int maxResourceBytes;
+
+    public JsonApiStreamDecoder(ObjectMapper objectMapper, int maxResourceBytes) {
+        this.objectMapper = objectMapper;
+        this.resourceReader = objectMapper.readerFor(TidalResourceDto.class);
+        this.linksReader = objectMapper.readerFor(TidalLinksDto.class);
+        this.maxResourceBytes = maxResourceBytes;
+    }
+
+    /**
+     * Top-level members of a JSON:API document the decoder emits
+     */
+    public enum Member {
+        DATA, INCLUDED, LINKS
+    }
+
+    /**
+     * One decoded part of the document: a resource of data/included, or the links object
+     */
+    public record Element(Member member, TidalResourceDto resource, TidalLinksDto links) {
+
+        public boolean isIncluded(String type) {
+            return member == Member.INCLUDED && type.equals(resource.getType());
+        }
+    }
+
+    /**
+     * The buffers are released after they were fed to the parser.
+     * Cancelling the returned Flux (e.g. with take) stops reading the response.
+     */
+    public Flux<Element> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            DocumentParser parser = new DocumentParser();
+            return body
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return parser.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(parser.endOfInput())))
+                    .doFinally(signal -> parser.close());
+        });
+    }
+
+    /**
+     * Zustand des Parsers für ein Dokument (nicht thread-safe, ein Dokument wird sequentiell gefüttert)
+     */
+    private class DocumentParser {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        // Anzahl offener Objekte/Arrays
+        private int depth;
+        private String topLevelField;
+        // data oder included, solange wir im Top-Level Array sind
+        private Member arrayMember;
+
+        // Aktuell gelesene Resource (null = keine)
+        private TokenBuffer capture;
+        private Member captureMember;
+        private int captureDepth;
+        private long captureStartOffset;
+
+        DocumentParser() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create non-blocking JSON parser", e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Element> feed(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                return parseAvailable();
+            } catch (IOException e) {
+                throw new DecodingException("Could not parse TIDAL JSON:API response: " + e.getMessage(), e);
+            }
+        }
+
+        List<Element> endOfInput() {
+            feeder.endOfInput();
+            try {
+                List<Element> elements = parseAvailable();
+                if (depth != 0) {
+                    throw new DecodingException("Incomplete TIDAL JSON:API response");
+                }
+                return elements;
+            } catch (IOException e) {
+                throw new DecodingException("Could not parse TIDAL JSON:API response: " + e.getMessage(), e);
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nichts mehr zu tun
+            }
+        }
+
+        private List<Element> parseAvailable() throws IOException {
+            List<Element> elements = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                Element element = handle(token);
+                if (element != null) {
+                    elements.add(element);
+                }
+            }
+            return elements;
+        }
+
+        private Element handle(JsonToken token) throws IOException {
+            if (capture != null) {
+                return continueCapture(token);
+            }
+
+            switch (token) {
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        topLevelField = parser.currentName();
+                    }
+                }
+                case START_OBJECT -> {
+                    if (depth == 1 && "data".equals(topLevelField)) {
+                        // Einzelne Resource, z.B. /v2/tracks/{id}
+                        startCapture(Member.DATA);
+                    } else if (depth == 1 && "links".equals(topLevelField)) {
+                        startCapture(Member.LINKS);
+                    } else if (depth == 2 && arrayMember != null) {
+                        startCapture(arrayMember);
+                    }
+                    depth++;
+                }
+                case START_ARRAY -> {
+                    if (depth == 1 && "data".equals(topLevelField)) {
+                        arrayMember = Member.DATA;
+                    } else if (depth == 1 && "included".equals(topLevelField)) {
+                        arrayMember = Member.INCLUDED;
+                    }
+                    depth++;
+                }
+                case END_OBJECT -> depth--;
+                case END_ARRAY -> {
+                    depth--;
+                    if (depth == 1) {
+                        arrayMember = null;
+                    }
+                }
+                default -> {
+                    // Skalare außerhalb von Resources werden ignoriert
+                }
+            }
+            return null;
+        }
+
+        private void startCapture(Member member) throws IOException {
+            capture = new TokenBuffer(parser, null);
+            captureMember = member;
+            captureDepth = depth;
+            captureStartOffset = parser.currentLocation().getByteOffset();
+            capture.copyCurrentEvent(parser);
+        }
+
+        private Element continueCapture(JsonToken token) throws IOException {
+            if (parser.currentLocation().getByteOffset() - captureStartOffset > maxResourceBytes) {
+                throw new DataBufferLimitException(
+                        "Single TIDAL JSON:API resource exceeds " + maxResourceBytes + " bytes");
+            }
+
+            capture.copyCurrentEvent(parser);
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                depth++;
+                return null;
+            }
+            if (token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY) {
+                return null;
+            }
+
+            depth--;
+            if (depth != captureDepth) {
+                return null;
+            }
+
+            // Resource vollständig gelesen
+            TokenBuffer completed = capture;
+            capture = null;
+            try (JsonParser resourceParser = completed.asParser(objectMapper)) {
+                if (captureMember == Member.LINKS) {
+                    return new Element(Member.LINKS, null, linksReader.readValue(resourceParser));
+                }
+                return new Element(captureMember, resourceReader.readValue(resourceParser), null);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link TidalClient}.
+ * Results are emitted as they arrive, so search, track resolution and album fetches
+ * can be composed without holding a thread per outstanding request.
+ */
+public interface ReactiveTidalClient {
+
+    /**
+     * Fetch all albums of an artist (all pages, in page order)
+     */
+    Flux<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId);
+
+    /**
+     * Fetch the albums of an artist page by page.
+     * The next page is only requested when downstream demands it.
+     */
+    Flux<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId);
+
+    /**
+     * Search for tracks by query and emit the unique artists in track order
+     */
+    Flux<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit);
+}
@@ -0,0 +1,39 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Dummy Implementation für Development
+ * Liefert die Test-Daten von {@link TidalClientDummyImpl} als Flux
+ */
+@Component
+@Profile("dev")
+public class ReactiveTidalClientDummyImpl implements ReactiveTidalClient {
+
+    private final TidalClientDummyImpl dummyClient;
+
+    public ReactiveTidalClientDummyImpl(TidalClientDummyImpl dummyClient) {
+        this.dummyClient = dummyClient;
+    }
+
+    @Override
+    public Flux<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+        return Flux.defer(() -> Flux.fromIterable(dummyClient.fetchAlbumsForArtist(tidalArtistId)));
+    }
+
+    @Override
+    public Flux<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+        return Flux.defer(() -> Flux.fromIterable(() -> dummyClient.fetchAlbumPagesForArtist(tidalArtistId)));
+    }
+
+    @Override
+    public Flux<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+        return Flux.defer(() -> Flux.fromIterable(dummyClient.searchTracksAndExtractArtists(searchQuery, trackLimit)));
+    }
+}
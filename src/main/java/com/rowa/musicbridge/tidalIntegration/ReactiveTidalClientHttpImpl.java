@@ -0,0 +1,478 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.domain.exception.ExternalApiException;
+import com.rowa.musicbridge.domain.exception.ExternalRateLimitException;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking TIDAL API client on top of the shared tidalWebClient.
+ * {@link TidalClientHttpImpl} adapts it for blocking callers.
+ * Rate limiting and 429 retries (honoring Retry-After) are done by {@link TidalRateLimiter}
+ * for every request of the WebClient.
+ * Identical album page, track and search lookups that run at the same time are merged into
+ * one request ({@link InFlightRequests}).
+ */
+@Component
+@Profile("prod")
+public class ReactiveTidalClientHttpImpl implements ReactiveTidalClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTidalClientHttpImpl.class);
+    private static final String GERMANY_COUNTRY_CODE = "DE";
+
+    private final WebClient webClient;
+    private final TidalTokenService tokenService;
+    private final TidalClientProperties clientProperties;
+    private final TrackArtistCache trackArtistCache;
+    private final JsonApiStreamDecoder streamDecoder;
+    // Gleiche gleichzeitige Lookups (z.B. überlappende Syncs) teilen sich einen Request
+    private final InFlightRequests inFlightRequests = new InFlightRequests();
+
+    public ReactiveTidalClientHttpImpl(WebClient tidalWebClient,
+                                       TidalTokenService tokenService,
+                                       TidalClientProperties clientProperties,
+                                       TrackArtistCache trackArtistCache,
+                                       JsonApiStreamDecoder streamDecoder) {
+        this.webClient = tidalWebClient;
+        this.tokenService = tokenService;
+        this.clientProperties = clientProperties;
+        this.trackArtistCache = trackArtistCache;
+        this.streamDecoder = streamDecoder;
+    }
+
+    /**
+     * Sends the request and decodes the JSON:API response incrementally (see {@link JsonApiStreamDecoder}).
+     * Error status codes surface as {@link WebClientResponseException}.
+     */
+    private Flux<JsonApiStreamDecoder.Element> streamDocument(WebClient.RequestHeadersSpec<?> request) {
+        return streamDecoder.decode(request
+                .header("Accept", "application/vnd.api+json")
+                .retrieve()
+                .bodyToFlux(DataBuffer.class));
+    }
+
+    @Override
+    public Flux<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+        return fetchAlbumPagesForArtist(tidalArtistId).flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Fetches the albums of an artist page by page via the relationships endpoint (include=albums).
+     * Follows the JSON:API links.next cursor until the last page or tidal.client.album-max-pages is reached.
+     * Error responses are mapped to the domain exceptions via {@link #handleWebClientException}.
+     */
+    @Override
+    public Flux<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+        int maxPages = Math.max(1, clientProperties.getAlbumMaxPages());
+
+        return tokenService.getAccessTokenMono()
+                .doOnSubscribe(subscription -> log.info("Fetching albums for TIDAL artist {}", tidalArtistId))
+                .flatMapMany(token -> fetchAlbumPage(token, tidalArtistId, null, 1)
+                        .expand(page -> {
+                            String cursor = page.nextCursor();
+                            if (cursor == null) {
+                                return Mono.empty();
+                            }
+                            if (page.number() >= maxPages) {
+                                log.warn("Reached max pages ({}) for artist {}, remaining albums are skipped",
+                                        maxPages, tidalArtistId);
+                                return Mono.empty();
+                            }
+                            return fetchAlbumPage(token, tidalArtistId, cursor, page.number() + 1);
+                        }))
+                .map(page -> extractAlbums(page, tidalArtistId))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> handleWebClientException(e, "fetching albums for artist " + tidalArtistId));
+    }
+
+    private Mono<AlbumPage> fetchAlbumPage(String token, String tidalArtistId, String cursor, int pageNumber) {
+        String requestKey = "albums:" + tidalArtistId + ":" + cursor;
+        return inFlightRequests.coalesce(requestKey, () -> streamDocument(webClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path("/v2/artists/{artistId}/relationships/albums")
+                            .queryParam("countryCode", GERMANY_COUNTRY_CODE)
+                            .queryParam("limit", clientProperties.getAlbumPageSize())
+                            .queryParam("include", "albums");
+                    if (cursor != null) {
+                        // Cursor als URI-Variable, damit Sonderzeichen vollständig encodiert werden
+                        uriBuilder.queryParam("page[cursor]", "{cursor}");
+                    }
+                    return uriBuilder.build(Map.of(
+                            "artistId", tidalArtistId,
+                            "cursor", cursor != null ? cursor : ""));
+                })
+                .header("Authorization", "Bearer " + token))
+                .filter(element -> element.member() == JsonApiStreamDecoder.Member.LINKS
+                        || element.isIncluded("albums"))
+                .collectList()
+                .map(elements -> {
+                    // Extract albums from included array
+                    List<TidalAlbumDto> albums = new ArrayList<>();
+                    String nextCursor = null;
+                    for (JsonApiStreamDecoder.Element element : elements) {
+                        if (element.member() == JsonApiStreamDecoder.Member.LINKS) {
+                            nextCursor = nextCursor(element.links());
+                            continue;
+                        }
+                        TidalAlbumDto album = TidalAlbumDto.fromResource(element.resource());
+                        if (album != null && album.getTitle() != null) {
+                            albums.add(album);
+                        }
+                    }
+                    return new AlbumPage(pageNumber, albums, nextCursor);
+                }));
+    }
+
+    private List<TidalAlbumDto> extractAlbums(AlbumPage page, String tidalArtistId) {
+        if (page.albums().isEmpty() && page.number() == 1) {
+            log.warn("No albums found for artist {}", tidalArtistId);
+        }
+
+        log.debug("Fetched album page {} with {} albums for artist {}",
+                page.number(), page.albums().size(), tidalArtistId);
+        return page.albums();
+    }
+
+    /**
+     * Liest den page[cursor] Parameter aus links.next (TIDAL liefert einen relativen Link)
+     * @return cursor of the next page, or null on the last page
+     */
+    private static String nextCursor(TidalLinksDto links) {
+        if (links == null || links.getNext() == null) {
+            return null;
+        }
+
+        MultiValueMap<String, String> queryParams = UriComponentsBuilder
+                .fromUriString(links.getNext())
+                .build()
+                .getQueryParams();
+        for (Map.Entry<String, List<String>> param : queryParams.entrySet()) {
+            if ("page[cursor]".equals(UriUtils.decode(param.getKey(), StandardCharsets.UTF_8))
+                    && !param.getValue().isEmpty()) {
+                return UriUtils.decode(param.getValue().get(0), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private record AlbumPage(int number, List<TidalAlbumDto> albums, String nextCursor) {
+    }
+
+    /**
+     * Maps a TIDAL error response to the matching domain exception
+     * @return the exception to throw (401 additionally invalidates the cached token)
+     */
+    private RuntimeException handleWebClientException(WebClientResponseException e, String operation) {
+        HttpStatus status = (HttpStatus) e.getStatusCode();
+        String responseBody = e.getResponseBodyAsString();
+
+        log.error("TIDAL API error while {}: Status={}, Body={}", operation, status, responseBody);
+
+        if (status == HttpStatus.UNAUTHORIZED) {
+            // Token ist ungültig, invalidiere Cache
+            tokenService.invalidateToken();
+            return new ExternalApiException("Authentication failed with TIDAL API");
+        } else if (status == HttpStatus.TOO_MANY_REQUESTS) {
+            return new ExternalRateLimitException("Rate limit exceeded for TIDAL API");
+        } else if (status.is5xxServerError()) {
+            return new ExternalServiceUnavailableException("TIDAL API is temporarily unavailable");
+        } else {
+            return new ExternalApiException("TIDAL API error: " + status + " - " + responseBody);
+        }
+    }
+
+    /**
+     * Helper method to fetch track details
+     * @param token Access token
+     * @param trackId TIDAL track ID
+     * @return Mono with the included artists of the track, empty if the lookup failed
+     */
+    private Mono<ResolvedTrack> fetchTrack(String token, String trackId) {
+        String requestKey = "track:" + trackId;
+        return inFlightRequests.coalesce(requestKey, () -> streamDocument(webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v2/tracks/{id}")
+                        .queryParam("countryCode", GERMANY_COUNTRY_CODE)
+                        .queryParam("include", "artists")
+                        .build(trackId))
+                .header("Authorization", "Bearer " + token))
+                .filter(element -> element.isIncluded("artists"))
+                .map(JsonApiStreamDecoder.Element::resource)
+                .collectList()
+                .map(artists -> new ResolvedTrack(trackId, toArtists(artists)))
+                .onErrorResume(e -> {
+                    if (e instanceof WebClientResponseException wcre) {
+                        log.warn("Error fetching artists for track {}: {}", trackId, wcre.getStatusCode());
+                    } else {
+                        log.warn("Error fetching artists for track {}: {}", trackId, e.getMessage());
+                    }
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Fetches a batch of tracks with include=artists via the JSON:API collection endpoint.
+     * Errors are propagated to the caller.
+     * @param token Access token
+     * @param trackIds TIDAL track IDs of this batch
+     * @return Mono with the found tracks and their included artists
+     */
+    private Mono<TidalTracksResponse> fetchTrackBatch(String token, List<String> trackIds) {
+        String requestKey = "tracks:" + String.join(",", trackIds);
+        return inFlightRequests.coalesce(requestKey, () -> streamDocument(webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v2/tracks")
+                        .queryParam("countryCode", GERMANY_COUNTRY_CODE)
+                        .queryParam("include", "artists")
+                        .queryParam("filter[id]", trackIds.toArray())
+                        .build())
+                .header("Authorization", "Bearer " + token))
+                .filter(element -> element.member() == JsonApiStreamDecoder.Member.DATA
+                        || element.isIncluded("artists"))
+                .collectList()
+                .map(elements -> {
+                    List<TidalResourceDto> tracks = new ArrayList<>();
+                    List<TidalResourceDto> artists = new ArrayList<>();
+                    for (JsonApiStreamDecoder.Element element : elements) {
+                        (element.member() == JsonApiStreamDecoder.Member.DATA ? tracks : artists)
+                                .add(element.resource());
+                    }
+                    return new TidalTracksResponse(tracks, artists, null);
+                }));
+    }
+
+    /**
+     * Resolves the artists of a batch of tracks.
+     * Track ids missing from the batch response (or the whole batch, if the request fails)
+     * are looked up again with single /v2/tracks/{id} calls.
+     * @return artists per resolved track (trackId null for artists that could not be attributed to a track)
+     */
+    private Flux<ResolvedTrack> resolveTrackBatch(String token, List<String> trackIds) {
+        if (trackIds.size() == 1) {
+            return resolveSingleTracks(token, trackIds);
+        }
+
+        return fetchTrackBatch(token, trackIds)
+                .flatMapMany(batchResp -> {
+                    List<TidalResourceDto> tracks = batchResp.getData() != null
+                            ? batchResp.getData()
+                            : Collections.emptyList();
+                    Set<String> resolvedIds = tracks.stream()
+                            .map(TidalResourceDto::getId)
+                            .collect(Collectors.toSet());
+                    List<String> failedIds = trackIds.stream()
+                            .filter(trackId -> !resolvedIds.contains(trackId))
+                            .collect(Collectors.toList());
+                    if (!failedIds.isEmpty()) {
+                        log.debug("{} of {} tracks missing from batch response, falling back to single lookups",
+                                failedIds.size(), trackIds.size());
+                    }
+
+                    return Flux.fromIterable(attributeArtists(tracks, batchResp.getIncluded()))
+                            .concatWith(resolveSingleTracks(token, failedIds));
+                })
+                .onErrorResume(e -> {
+                    if (e instanceof TidalCircuitOpenException || e instanceof TidalBulkheadFullException) {
+                        // Einzel-Lookups würden am selben Breaker bzw. Bulkhead scheitern
+                        log.warn("Skipping {} tracks: {}", trackIds.size(), e.getMessage());
+                        return Flux.empty();
+                    }
+                    log.warn("Batch lookup for {} tracks failed ({}), falling back to single lookups",
+                            trackIds.size(), e.getMessage());
+                    return resolveSingleTracks(token, trackIds);
+                });
+    }
+
+    /**
+     * Ordnet die included Artists über relationships.artists ihren Tracks zu.
+     * Fehlen die Relationships, werden die Artists ohne Track (nicht cachebar) zurückgegeben.
+     */
+    private static List<ResolvedTrack> attributeArtists(List<TidalResourceDto> tracks, List<TidalResourceDto> included) {
+        List<TidalArtistDto> artists = toArtists(included);
+        Map<String, TidalArtistDto> artistsById = artists.stream()
+                .collect(Collectors.toMap(TidalArtistDto::getId, Function.identity(), (first, second) -> first));
+
+        List<ResolvedTrack> resolved = new ArrayList<>();
+        for (TidalResourceDto track : tracks) {
+            List<String> artistIds = track.relationshipIds("artists");
+            if (artistIds == null) {
+                return List.of(new ResolvedTrack(null, artists));
+            }
+            resolved.add(new ResolvedTrack(track.getId(), artistIds.stream()
+                    .map(artistsById::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+        return resolved;
+    }
+
+    private Flux<ResolvedTrack> resolveSingleTracks(String token, List<String> trackIds) {
+        return Flux.fromIterable(trackIds)
+                .concatMap(trackId -> fetchTrack(token, trackId));
+    }
+
+    private static List<TidalArtistDto> toArtists(List<TidalResourceDto> included) {
+        if (included == null) {
+            return Collections.emptyList();
+        }
+        return included.stream()
+                .filter(resource -> "artists".equals(resource.getType()))
+                .map(TidalArtistDto::fromResource)
+                .filter(artist -> artist != null && artist.getName() != null)
+                .toList();
+    }
+
+    /**
+     * Resolves the artists of a batch of tracks, consulting the {@link TrackArtistCache} first.
+     * Only cache misses go to TIDAL; their results are added to the cache.
+     * @return artists in track order of the batch
+     */
+    private Flux<TidalArtistDto> resolveTrackArtists(String token, List<String> trackIds) {
+        return trackArtistCache.getAll(trackIds)
+                .flatMap(cached -> {
+                    List<String> missing = trackIds.stream()
+                            .filter(trackId -> !cached.containsKey(trackId))
+                            .toList();
+                    if (missing.isEmpty()) {
+                        return Mono.just(new ResolvedBatch(cached, List.of()));
+                    }
+                    return resolveTrackBatch(token, missing)
+                            .collectList()
+                            .map(resolved -> {
+                                Map<String, List<TidalArtistDto>> fetched = new HashMap<>();
+                                List<TidalArtistDto> unattributed = new ArrayList<>();
+                                for (ResolvedTrack track : resolved) {
+                                    if (track.trackId() == null) {
+                                        unattributed.addAll(track.artists());
+                                    } else {
+                                        fetched.put(track.trackId(), track.artists());
+                                    }
+                                }
+                                trackArtistCache.putAll(fetched);
+
+                                Map<String, List<TidalArtistDto>> all = new HashMap<>(cached);
+                                all.putAll(fetched);
+                                return new ResolvedBatch(all, unattributed);
+                            });
+                })
+                .flatMapIterable(batch -> {
+                    List<TidalArtistDto> artists = new ArrayList<>();
+                    for (String trackId : trackIds) {
+                        artists.addAll(batch.artistsByTrack().getOrDefault(trackId, List.of()));
+                    }
+                    artists.addAll(batch.unattributed());
+                    return artists;
+                });
+    }
+
+    private record ResolvedTrack(String trackId, List<TidalArtistDto> artists) {
+    }
+
+    private record ResolvedBatch(Map<String, List<TidalArtistDto>> artistsByTrack, List<TidalArtistDto> unattributed) {
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            batches.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Search for tracks and extract artists
+     * 1. Search with query → get track IDs
+     * 2. Fetch the tracks in batches via /v2/tracks?filter[id]=...&include=artists → get artist IDs
+     *    (tracks found in the {@link TrackArtistCache} are skipped,
+     *    up to tidal.client.track-resolution-concurrency lookups in flight, results merged in track order,
+     *    tracks missing from a batch response are retried with single /v2/tracks/{id} calls)
+     * 3. Emit unique artists
+     * Errors end the stream without signalling them downstream (logged instead).
+     */
+    @Override
+    public Flux<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+        return tokenService.getAccessTokenMono()
+                .doOnSubscribe(subscription ->
+                        log.info("Searching '{}' and extracting artists (limit: {})", searchQuery, trackLimit))
+                .flatMapMany(token -> searchTrackIds(token, searchQuery, trackLimit)
+                        .flatMapMany(trackIds -> resolveUniqueArtists(token, trackIds)))
+                .onErrorResume(e -> {
+                    if (e instanceof WebClientResponseException wcre) {
+                        log.error("Error searching tracks for '{}': Status={}, Body={}",
+                                searchQuery, wcre.getStatusCode(), wcre.getResponseBodyAsString());
+                    } else if (e instanceof TidalCircuitOpenException || e instanceof TidalBulkheadFullException) {
+                        log.warn("Search for '{}' skipped: {}", searchQuery, e.getMessage());
+                    } else {
+                        log.error("Unexpected error searching tracks for '{}': {}", searchQuery, e.getMessage(), e);
+                    }
+                    return Flux.empty();
+                });
+    }
+
+    // Step 1: Search for tracks (stops reading the response once trackLimit tracks were parsed)
+    private Mono<List<String>> searchTrackIds(String token, String searchQuery, int trackLimit) {
+        String requestKey = "search:" + trackLimit + ":" + searchQuery;
+        return inFlightRequests.coalesce(requestKey, () -> streamDocument(webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v2/searchResults/{query}")
+                        .queryParam("explicitFilter", "INCLUDE")
+                        .queryParam("countryCode", GERMANY_COUNTRY_CODE)
+                        .queryParam("include", "tracks")
+                        .queryParam("limit", trackLimit)
+                        .build(searchQuery))
+                .header("Authorization", "Bearer " + token))
+                // Extract track IDs from included
+                .filter(element -> element.isIncluded("tracks"))
+                .map(element -> element.resource().getId())
+                .take(trackLimit)
+                .collectList()
+                .map(trackIds -> {
+                    if (trackIds.isEmpty()) {
+                        log.warn("No tracks found for search query '{}'", searchQuery);
+                    } else {
+                        log.info("Found {} tracks for query '{}'", trackIds.size(), searchQuery);
+                    }
+                    return trackIds;
+                }));
+    }
+
+    // Step 2 + 3: Resolve artists batch by batch and de-duplicate them by id
+    private Flux<TidalArtistDto> resolveUniqueArtists(String token, List<String> trackIds) {
+        int concurrency = Math.max(1, clientProperties.getTrackResolutionConcurrency());
+        int batchSize = Math.max(1, clientProperties.getTrackBatchSize());
+        AtomicInteger uniqueArtists = new AtomicInteger();
+
+        return Flux.fromIterable(partition(trackIds, batchSize))
+                .flatMapSequential(batch -> resolveTrackArtists(token, batch), concurrency)
+                .distinct(TidalArtistDto::getId)
+                .doOnNext(artist -> uniqueArtists.incrementAndGet())
+                .doOnComplete(() -> log.info("Extracted {} unique artists from {} tracks",
+                        uniqueArtists.get(), trackIds.size()));
+    }
+}
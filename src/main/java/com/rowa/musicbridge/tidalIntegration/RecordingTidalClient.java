@@ -0,0 +1,113 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.TidalRecordings.RecordedAlbums;
+import com.rowa.musicbridge.tidalIntegration.TidalRecordings.RecordedSearch;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decorator around {@link TidalClientHttpImpl} that records every result as a gzip file
+ * (see {@link TidalRecordings}) while passing it through unchanged.
+ * <p>
+ * Enabled with tidal.client.recording.enabled=true. The recordings are served by
+ * {@link TidalClientReplayImpl} in the "replay" profile, so production-sized syncs can be
+ * repeated offline. Album pages are written once the last page was consumed; a failed or
+ * abandoned paging leaves the previous recording untouched. Write errors are logged only.
+ * </p>
+ */
+@Component
+@Primary
+@Profile("prod")
+@ConditionalOnProperty(prefix = "tidal.client.recording", name = "enabled", havingValue = "true")
+public class RecordingTidalClient implements TidalClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingTidalClient.class);
+
+    private final TidalClientHttpImpl delegate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    public RecordingTidalClient(TidalClientHttpImpl delegate, TidalClientProperties clientProperties,
+                                ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(clientProperties.getRecording().getDirectory());
+        log.info("Recording TIDAL results to {}", directory);
+    }
+
+    @Override
+    public List<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+        List<TidalAlbumDto> albums = delegate.fetchAlbumsForArtist(tidalArtistId);
+        // Ohne Seiteninformation als eine Seite aufgezeichnet
+        write(TidalRecordings.albumsFileName(tidalArtistId), new RecordedAlbums(tidalArtistId, List.of(albums)));
+        return albums;
+    }
+
+    @Override
+    public Iterator<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+        Iterator<List<TidalAlbumDto>> pages = delegate.fetchAlbumPagesForArtist(tidalArtistId);
+        List<List<TidalAlbumDto>> recordedPages = new ArrayList<>();
+
+        return new Iterator<>() {
+            private boolean written;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = pages.hasNext();
+                if (!hasNext && !written) {
+                    written = true;
+                    write(TidalRecordings.albumsFileName(tidalArtistId), new RecordedAlbums(tidalArtistId, recordedPages));
+                }
+                return hasNext;
+            }
+
+            @Override
+            public List<TidalAlbumDto> next() {
+                List<TidalAlbumDto> page = pages.next();
+                recordedPages.add(page);
+                return page;
+            }
+        };
+    }
+
+    @Override
+    public List<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+        List<TidalArtistDto> artists = delegate.searchTracksAndExtractArtists(searchQuery, trackLimit);
+        write(TidalRecordings.searchFileName(searchQuery, trackLimit), new RecordedSearch(searchQuery, trackLimit, artists));
+        return artists;
+    }
+
+    private void write(String fileName, Object recording) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(fileName);
+            Path tmp = Files.createTempFile(directory, fileName, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                objectMapper.writeValue(out, recording);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Recorded TIDAL result to {}", target);
+        } catch (IOException e) {
+            log.warn("Could not record TIDAL result {}: {}", fileName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded, lazily computed TIDAL catalog for load tests and benchmarks.
+ * <p>
+ * Nothing is stored: every artist and album is derived from {@code (seed, index)} when it is requested,
+ * so a catalog of millions of artists costs no memory and the same seed always yields the same data.
+ * Searches favour popular artists (tidal.client.synthetic.popularity-skew) and albums per artist follow
+ * a Pareto distribution, i.e. most artists have a handful of albums and a few have hundreds.
+ * Names mix Latin, accented, Cyrillic, Greek and CJK syllables with lengths similar to real catalog data.
+ * </p>
+ */
+public final class SyntheticTidalCatalog {
+
+    static final String ARTIST_ID_PREFIX = "synthetic-artist-";
+    static final String ALBUM_ID_PREFIX = "synthetic-album-";
+
+    // Salts, damit Name, Albumanzahl und Alben eines Artists unabhängige Zufallsfolgen haben
+    private static final long ARTIST_SALT = 0x41;
+    private static final long ALBUM_COUNT_SALT = 0x43;
+    private static final long ALBUM_SALT = 0x61;
+    private static final long SEARCH_SALT = 0x73;
+
+    private static final String[] LATIN = {
+            "ka", "lo", "mi", "ra", "ven", "tor", "el", "sun", "mar", "dan", "li", "no", "bel", "ston", "ri",
+            "sa", "der", "an", "ko", "ta", "ber", "lin", "us", "vo", "ne", "ar", "is", "te", "ho", "zen"
+    };
+    private static final String[] ACCENTED = {"mä", "ré", "ñu", "sø", "çe", "ßa", "jö", "lé", "ão", "ří"};
+    private static final String[] CYRILLIC = {"ми", "ра", "ла", "ко", "ве", "ну", "жи", "да"};
+    private static final String[] GREEK = {"λα", "μι", "σο", "ρα", "νε"};
+    private static final String[] CJK = {"東京", "夜", "光", "音", "空", "さくら", "の", "星", "海"};
+    private static final String[] SUFFIXES = {
+            " (Deluxe Edition)", " (Remastered)", " – Live", " (Original Motion Picture Soundtrack)", " EP"
+    };
+
+    private final long seed;
+    private final long artistCount;
+    private final double popularitySkew;
+    private final double albumCountAlpha;
+    private final int maxAlbumsPerArtist;
+
+    public SyntheticTidalCatalog(TidalClientProperties.Synthetic config) {
+        if (config.getArtistCount() <= 0) {
+            throw new IllegalArgumentException("tidal.client.synthetic.artist-count must be positive");
+        }
+        this.seed = config.getSeed();
+        this.artistCount = config.getArtistCount();
+        this.popularitySkew = Math.max(1.0, config.getPopularitySkew());
+        this.albumCountAlpha = config.getAlbumCountAlpha();
+        this.maxAlbumsPerArtist = Math.max(1, config.getMaxAlbumsPerArtist());
+    }
+
+    public long getArtistCount() {
+        return artistCount;
+    }
+
+    public static String artistId(long artistIndex) {
+        return ARTIST_ID_PREFIX + artistIndex;
+    }
+
+    /**
+     * Index of a synthetic artist id; foreign ids are hashed, so they also get a stable discography
+     */
+    public long artistIndex(String artistId) {
+        if (artistId.startsWith(ARTIST_ID_PREFIX)) {
+            try {
+                return Long.parseLong(artistId.substring(ARTIST_ID_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+                // wie eine fremde ID behandeln
+            }
+        }
+        return Math.floorMod(mix(artistId.hashCode(), seed), artistCount);
+    }
+
+    public TidalArtistDto artist(long artistIndex) {
+        SplittableRandom random = random(ARTIST_SALT, artistIndex);
+        return TidalArtistDto.builder()
+                .id(artistId(artistIndex))
+                .name(artistName(random))
+                .build();
+    }
+
+    public int albumCount(long artistIndex) {
+        // Pareto: P(count >= k) = k^-alpha
+        double u = 1.0 - random(ALBUM_COUNT_SALT, artistIndex).nextDouble();
+        double count = Math.floor(Math.pow(u, -1.0 / albumCountAlpha));
+        return (int) Math.max(1, Math.min(maxAlbumsPerArtist, count));
+    }
+
+    public TidalAlbumDto album(long artistIndex, int albumIndex) {
+        SplittableRandom random = random(ALBUM_SALT, mix(artistIndex, albumIndex));
+        LocalDate releaseDate = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(365 * 65));
+        return TidalAlbumDto.builder()
+                .id(ALBUM_ID_PREFIX + artistIndex + "-" + albumIndex)
+                .title(albumTitle(random))
+                // TIDAL liefert nicht für jedes Album ein Datum
+                .releaseDate(random.nextInt(20) == 0 ? null : releaseDate.toString())
+                .build();
+    }
+
+    /**
+     * One page of the artist's albums, empty past the last page
+     */
+    public List<TidalAlbumDto> albumPage(long artistIndex, int page, int pageSize) {
+        int from = page * pageSize;
+        int to = Math.min(albumCount(artistIndex), from + pageSize);
+        List<TidalAlbumDto> albums = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            albums.add(album(artistIndex, i));
+        }
+        return albums;
+    }
+
+    /**
+     * Artists of {@code trackLimit} synthetic search hits, deduplicated in hit order like the real
+     * track resolution. Each query starts at its own offset, so different queries find different artists.
+     */
+    public List<TidalArtistDto> search(String query, int trackLimit) {
+        Set<Long> hits = new LinkedHashSet<>();
+        for (long artistIndex : searchHits(query, trackLimit)) {
+            hits.add(artistIndex);
+        }
+
+        List<TidalArtistDto> artists = new ArrayList<>(hits.size());
+        for (long artistIndex : hits) {
+            artists.add(artist(artistIndex));
+        }
+        return artists;
+    }
+
+    /**
+     * Artist index of every search hit (one per track, popular artists repeat)
+     */
+    public long[] searchHits(String query, int trackLimit) {
+        SplittableRandom random = random(SEARCH_SALT, query.hashCode());
+        long offset = Math.floorMod(random.nextLong(), artistCount);
+
+        long[] hits = new long[Math.max(0, trackLimit)];
+        for (int track = 0; track < hits.length; track++) {
+            long rank = (long) (artistCount * Math.pow(random.nextDouble(), popularitySkew));
+            hits[track] = (offset + rank) % artistCount;
+        }
+        return hits;
+    }
+
+    private SplittableRandom random(long salt, long index) {
+        return new SplittableRandom(mix(mix(seed, salt), index));
+    }
+
+    /**
+     * SplitMix64 Finalizer über beide Werte
+     */
+    private static long mix(long a, long b) {
+        long z = a * 0x9E3779B97F4A7C15L + b;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String artistName(SplittableRandom random) {
+        int words = 1 + weighted(random, 45, 40, 12, 3);
+        String name = words(random, words, 2, 3);
+        return random.nextInt(8) == 0 ? "The " + name : name;
+    }
+
+    private static String albumTitle(SplittableRandom random) {
+        int words = 1 + weighted(random, 30, 30, 20, 10, 6, 4);
+        String title = words(random, words, 1, 4);
+        return random.nextInt(10) == 0 ? title + SUFFIXES[random.nextInt(SUFFIXES.length)] : title;
+    }
+
+    private static String words(SplittableRandom random, int count, int minSyllables, int maxSyllables) {
+        String[] alphabet = alphabet(random);
+        StringBuilder text = new StringBuilder();
+        for (int word = 0; word < count; word++) {
+            if (word > 0) {
+                text.append(' ');
+            }
+            int syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+            int start = text.length();
+            for (int i = 0; i < syllables; i++) {
+                // Auch lateinische Namen enthalten gelegentlich Umlaute und Akzente
+                String[] source = alphabet == LATIN && random.nextInt(6) == 0 ? ACCENTED : alphabet;
+                text.append(source[random.nextInt(source.length)]);
+            }
+            text.setCharAt(start, Character.toUpperCase(text.charAt(start)));
+        }
+        return text.toString();
+    }
+
+    private static String[] alphabet(SplittableRandom random) {
+        return switch (weighted(random, 85, 6, 3, 6)) {
+            case 1 -> CYRILLIC;
+            case 2 -> GREEK;
+            case 3 -> CJK;
+            default -> LATIN;
+        };
+    }
+
+    /**
+     * Index i with probability weights[i] / sum(weights)
+     */
+    private static int weighted(SplittableRandom random, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int value = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+
+/**
+ * A TIDAL request was rejected without being sent because its endpoint already has the maximum number of calls in flight
+ */
+public class TidalBulkheadFullException extends ExternalServiceUnavailableException {
+
+    private final TidalCircuitBreaker.Endpoint endpoint;
+
+    public TidalBulkheadFullException(TidalCircuitBreaker.Endpoint endpoint, int activeCalls) {
+        super("TIDAL " + endpoint.tagValue() + " bulkhead is full (" + activeCalls + " calls in flight)");
+        this.endpoint = endpoint;
+    }
+
+    public TidalCircuitBreaker.Endpoint getEndpoint() {
+        return endpoint;
+    }
+}
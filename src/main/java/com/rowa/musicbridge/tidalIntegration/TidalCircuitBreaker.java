@@ -0,0 +1,375 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker and bulkhead for the TIDAL WebClient, kept separately per endpoint
+ * (search, tracks, albums) so a degraded endpoint does not take the others down.
+ * <p>
+ * Every endpoint records the outcome of its last tidal.client.circuit-breaker.sliding-window-size
+ * calls. 5xx and 429 responses (after the rate limiter gave up) and connection errors count as
+ * failures, everything else as success. Once the failure rate reaches the threshold the breaker opens
+ * and calls fail immediately with {@link TidalCircuitOpenException}. After the open duration a few
+ * probe calls are let through (half-open): if all succeed the breaker closes, one failure opens it again.
+ * </p>
+ * <p>
+ * The outcome of a call is recorded as soon as its status is known. The bulkhead ({@link #bulkhead()}) is a separate
+ * filter placed after the rate limiter, so only requests actually sent count against it, not those waiting for a
+ * rate limit permit. It caps the calls per endpoint in flight; further calls are rejected with
+ * {@link TidalBulkheadFullException}. A call is in flight until its response body was consumed (or released).
+ * Metrics: tidal.circuitbreaker.state (0 closed, 1 open, 2 half-open),
+ * tidal.circuitbreaker.calls (result=success|failure|rejected), tidal.bulkhead.active.
+ * Not bound to a profile because the sync reports the breaker states in every profile.
+ * </p>
+ */
+@Component
+public class TidalCircuitBreaker implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalCircuitBreaker.class);
+
+    public enum Endpoint {
+        SEARCH, TRACKS, ALBUMS;
+
+        public String tagValue() {
+            return name().toLowerCase();
+        }
+
+        /**
+         * @return endpoint of the request path, or null for requests that are not guarded (e.g. token)
+         */
+        static Endpoint of(String path) {
+            if (path.startsWith("/v2/searchResults")) {
+                return SEARCH;
+            }
+            if (path.startsWith("/v2/tracks")) {
+                return TRACKS;
+            }
+            if (path.startsWith("/v2/artists/")) {
+                return ALBUMS;
+            }
+            return null;
+        }
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final TidalClientProperties.CircuitBreaker config;
+    private final LongSupplier nanoClock;
+    private final Map<Endpoint, EndpointBreaker> breakers = new EnumMap<>(Endpoint.class);
+
+    @Autowired
+    public TidalCircuitBreaker(TidalClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this(clientProperties.getCircuitBreaker(), meterRegistry, System::nanoTime);
+    }
+
+    TidalCircuitBreaker(TidalClientProperties.CircuitBreaker config, MeterRegistry meterRegistry,
+                        LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        for (Endpoint endpoint : Endpoint.values()) {
+            breakers.put(endpoint, new EndpointBreaker(endpoint, meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Endpoint endpoint = Endpoint.of(request.url().getPath());
+        if (!config.isEnabled() || endpoint == null) {
+            return next.exchange(request);
+        }
+
+        EndpointBreaker breaker = breakers.get(endpoint);
+        return Mono.defer(() -> {
+            Call call = breaker.acquire();
+            return next.exchange(request)
+                    .doOnNext(response -> call.onResult(!isFailure(response.statusCode().value())))
+                    .doOnError(error -> {
+                        if (error instanceof TidalBulkheadFullException) {
+                            // Abgelehnt bevor TIDAL gefragt wurde: kein Fehler des Endpoints
+                            call.release();
+                        } else {
+                            call.onResult(false);
+                        }
+                    })
+                    .doOnCancel(call::release);
+        });
+    }
+
+    /**
+     * Bulkhead filter, to be registered after the {@link TidalRateLimiter} so that requests waiting for a
+     * rate limit permit (e.g. during a 429 pause) do not occupy bulkhead slots.
+     */
+    public ExchangeFilterFunction bulkhead() {
+        return (request, next) -> {
+            Endpoint endpoint = Endpoint.of(request.url().getPath());
+            if (!config.isEnabled() || endpoint == null) {
+                return next.exchange(request);
+            }
+
+            EndpointBreaker breaker = breakers.get(endpoint);
+            return Mono.defer(() -> {
+                breaker.enterBulkhead();
+                AtomicBoolean finished = new AtomicBoolean();
+                Runnable leave = () -> {
+                    if (finished.compareAndSet(false, true)) {
+                        breaker.leaveBulkhead();
+                    }
+                };
+                AtomicBoolean responded = new AtomicBoolean();
+                return next.exchange(request)
+                        .map(response -> {
+                            responded.set(true);
+                            // Belegt bis der Body gelesen oder freigegeben wurde
+                            return response.mutate()
+                                    .body(body -> body.doFinally(signal -> leave.run()))
+                                    .build();
+                        })
+                        .doOnError(error -> leave.run())
+                        .doOnCancel(() -> {
+                            if (!responded.get()) {
+                                leave.run();
+                            }
+                        });
+            });
+        };
+    }
+
+    private static boolean isFailure(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    public State getState(Endpoint endpoint) {
+        return breakers.get(endpoint).currentState();
+    }
+
+    /**
+     * @return state per endpoint, e.g. {search=CLOSED, tracks=CLOSED, albums=OPEN}
+     */
+    public Map<String, String> getStates() {
+        Map<String, String> states = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            states.put(endpoint.tagValue(), getState(endpoint).name());
+        }
+        return states;
+    }
+
+    /**
+     * Ein vom Breaker zugelassener Call, wird genau einmal abgeschlossen (Ergebnis oder Abbruch)
+     */
+    private static final class Call {
+
+        // Half-Open Phase, deren Probe-Permit der Call hält; NO_PROBE für normale Calls
+        static final long NO_PROBE = -1;
+
+        private final EndpointBreaker breaker;
+        private final long probeOf;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        Call(EndpointBreaker breaker, long probeOf) {
+            this.breaker = breaker;
+            this.probeOf = probeOf;
+        }
+
+        void onResult(boolean success) {
+            if (finished.compareAndSet(false, true)) {
+                breaker.onResult(this, success);
+            }
+        }
+
+        void release() {
+            if (finished.compareAndSet(false, true)) {
+                breaker.release(this);
+            }
+        }
+    }
+
+    /**
+     * Breaker und Bulkhead eines Endpoints, Zustand geschützt durch synchronized
+     */
+    private class EndpointBreaker {
+
+        private final Endpoint endpoint;
+        private final Counter successCounter;
+        private final Counter failureCounter;
+        private final Counter rejectedCounter;
+
+        // Ringpuffer der letzten Ergebnisse (true = Fehler)
+        private final boolean[] window;
+        private int windowPosition;
+        private int recordedCalls;
+        private int failedCalls;
+
+        private State state = State.CLOSED;
+        private long openedAtNanos;
+        private long halfOpenPhase;
+        private int halfOpenPermitsIssued;
+        private int halfOpenSuccesses;
+
+        private int activeCalls;
+
+        EndpointBreaker(Endpoint endpoint, MeterRegistry meterRegistry) {
+            this.endpoint = endpoint;
+            this.window = new boolean[Math.max(1, config.getSlidingWindowSize())];
+            this.successCounter = callCounter(meterRegistry, "success");
+            this.failureCounter = callCounter(meterRegistry, "failure");
+            this.rejectedCounter = callCounter(meterRegistry, "rejected");
+            Gauge.builder("tidal.circuitbreaker.state", this, breaker -> breaker.currentState().ordinal())
+                    .description("TIDAL circuit breaker state (0 closed, 1 open, 2 half-open)")
+                    .tag("endpoint", endpoint.tagValue())
+                    .register(meterRegistry);
+            Gauge.builder("tidal.bulkhead.active", this, EndpointBreaker::activeCalls)
+                    .description("TIDAL calls awaiting a response")
+                    .tag("endpoint", endpoint.tagValue())
+                    .register(meterRegistry);
+        }
+
+        private Counter callCounter(MeterRegistry meterRegistry, String result) {
+            return Counter.builder("tidal.circuitbreaker.calls")
+                    .description("TIDAL calls by circuit breaker outcome")
+                    .tag("endpoint", endpoint.tagValue())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Admits a call or throws if the breaker is open
+         */
+        synchronized Call acquire() {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= config.getWaitDurationInOpenState().toNanos()) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.OPEN
+                    || (state == State.HALF_OPEN && halfOpenPermitsIssued >= config.getPermittedCallsInHalfOpenState())) {
+                rejectedCounter.increment();
+                throw new TidalCircuitOpenException(endpoint);
+            }
+            if (state == State.HALF_OPEN) {
+                halfOpenPermitsIssued++;
+                return new Call(this, halfOpenPhase);
+            }
+            return new Call(this, Call.NO_PROBE);
+        }
+
+        /**
+         * Reserves a bulkhead slot or throws if all slots are taken
+         */
+        synchronized void enterBulkhead() {
+            if (activeCalls >= config.getMaxConcurrentCalls()) {
+                rejectedCounter.increment();
+                throw new TidalBulkheadFullException(endpoint, activeCalls);
+            }
+            activeCalls++;
+        }
+
+        synchronized void leaveBulkhead() {
+            activeCalls--;
+        }
+
+        /**
+         * Abgebrochener Call ohne Ergebnis (z.B. Cancel oder Bulkhead voll)
+         */
+        synchronized void release(Call call) {
+            if (holdsProbe(call)) {
+                // Probe-Permit wieder freigeben
+                halfOpenPermitsIssued--;
+            }
+        }
+
+        synchronized void onResult(Call call, boolean success) {
+            (success ? successCounter : failureCounter).increment();
+
+            if (state == State.HALF_OPEN) {
+                if (!holdsProbe(call)) {
+                    // Call wurde vor dieser Half-Open Phase gestartet
+                    return;
+                }
+                if (!success) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= config.getPermittedCallsInHalfOpenState()) {
+                    transitionTo(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                // Call wurde vor dem Öffnen gestartet
+                return;
+            }
+
+            record(!success);
+            if (recordedCalls >= config.getMinimumNumberOfCalls()
+                    && failedCalls * 100.0 / recordedCalls >= config.getFailureRateThreshold()) {
+                log.warn("Opening TIDAL circuit breaker for {}: {} of the last {} calls failed",
+                        endpoint.tagValue(), failedCalls, recordedCalls);
+                transitionTo(State.OPEN);
+            }
+        }
+
+        /**
+         * Nur Probes der aktuellen Half-Open Phase entscheiden über deren Ausgang
+         */
+        private boolean holdsProbe(Call call) {
+            return state == State.HALF_OPEN && call.probeOf == halfOpenPhase;
+        }
+
+        synchronized State currentState() {
+            return state;
+        }
+
+        synchronized int activeCalls() {
+            return activeCalls;
+        }
+
+        private void record(boolean failed) {
+            if (recordedCalls == window.length) {
+                if (window[windowPosition]) {
+                    failedCalls--;
+                }
+            } else {
+                recordedCalls++;
+            }
+            window[windowPosition] = failed;
+            if (failed) {
+                failedCalls++;
+            }
+            windowPosition = (windowPosition + 1) % window.length;
+        }
+
+        private void transitionTo(State newState) {
+            if (newState == State.OPEN) {
+                openedAtNanos = nanoClock.getAsLong();
+            } else if (newState == State.HALF_OPEN) {
+                halfOpenPhase++;
+            } else if (newState == State.CLOSED) {
+                recordedCalls = 0;
+                failedCalls = 0;
+                windowPosition = 0;
+            }
+            halfOpenPermitsIssued = 0;
+            halfOpenSuccesses = 0;
+            if (state != newState) {
+                log.info("TIDAL circuit breaker for {} changed from {} to {}", endpoint.tagValue(), state, newState);
+            }
+            state = newState;
+        }
+    }
+}
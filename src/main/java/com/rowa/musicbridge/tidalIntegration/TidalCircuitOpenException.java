@@ -0,0 +1,20 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+
+/**
+ * A TIDAL request was rejected without being sent because the circuit breaker of its endpoint is open
+ */
+public class TidalCircuitOpenException extends ExternalServiceUnavailableException {
+
+    private final TidalCircuitBreaker.Endpoint endpoint;
+
+    public TidalCircuitOpenException(TidalCircuitBreaker.Endpoint endpoint) {
+        super("TIDAL " + endpoint.tagValue() + " endpoint is unavailable (circuit breaker open)");
+        this.endpoint = endpoint;
+    }
+
+    public TidalCircuitBreaker.Endpoint getEndpoint() {
+        return endpoint;
+    }
+}
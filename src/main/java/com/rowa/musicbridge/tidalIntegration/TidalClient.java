@@ -3,12 +3,20 @@ package com.rowa.musicbridge.tidalIntegration;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface TidalClient {
 
     List<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId);
 
+    /**
+     * Fetch the albums of an artist page by page.
+     * Pages are requested lazily while the iterator is consumed, so callers can persist
+     * each page before the next one is loaded.
+     */
+    Iterator<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId);
+
     /**
      * Search for tracks by query and extract unique artists
      */
@@ -1,5 +1,8 @@
 package com.rowa.musicbridge.tidalIntegration;
 
+import com.rowa.musicbridge.domain.exception.ExternalRateLimitException;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
 import org.slf4j.Logger;
@@ -8,13 +11,20 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
  * Dummy Implementation für Development
  * Gibt Test-Daten zurück ohne echte TIDAL API Calls
+ * <p>
+ * With tidal.client.synthetic.enabled=true the data comes from a seeded {@link SyntheticTidalCatalog}
+ * instead, including simulated latency, 5xx and 429 failures per search and album page.
+ * </p>
  */
 @Component
 @Profile("dev")
@@ -22,6 +32,21 @@ public class TidalClientDummyImpl implements TidalClient {
 
     private static final Logger log = LoggerFactory.getLogger(TidalClientDummyImpl.class);
 
+    private final TidalClientProperties.Synthetic synthetic;
+    private final SyntheticTidalCatalog catalog;
+    private final int albumPageSize;
+
+    public TidalClientDummyImpl(TidalClientProperties clientProperties) {
+        this.synthetic = clientProperties.getSynthetic();
+        this.albumPageSize = Math.max(1, clientProperties.getAlbumPageSize());
+        if (synthetic.isEnabled()) {
+            this.catalog = new SyntheticTidalCatalog(synthetic);
+            log.info("DUMMY: Serving synthetic catalog with {} artists (seed {})", synthetic.getArtistCount(), synthetic.getSeed());
+        } else {
+            this.catalog = null;
+        }
+    }
+
     // Dummy Artists mit IDs
     private static final Map<String, String> DUMMY_ARTISTS = Map.of(
             "artist-1", "The Beatles",
@@ -85,6 +110,12 @@ public class TidalClientDummyImpl implements TidalClient {
 
     @Override
     public List<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+        if (catalog != null) {
+            List<TidalAlbumDto> albums = new ArrayList<>();
+            fetchAlbumPagesForArtist(tidalArtistId).forEachRemaining(albums::addAll);
+            return albums;
+        }
+
         log.info("DUMMY: Fetching albums for artist {}", tidalArtistId);
 
         List<AlbumData> albumDataList = DUMMY_ALBUMS.getOrDefault(tidalArtistId, List.of());
@@ -102,6 +133,15 @@ public class TidalClientDummyImpl implements TidalClient {
         return albums;
     }
 
+    @Override
+    public Iterator<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+        if (catalog != null) {
+            return syntheticAlbumPages(tidalArtistId);
+        }
+        // Dummy-Daten passen immer auf eine Seite
+        return List.of(fetchAlbumsForArtist(tidalArtistId)).iterator();
+    }
+
     // Helper class für Album Daten
     private static class AlbumData {
         String id;
@@ -132,6 +172,11 @@ public class TidalClientDummyImpl implements TidalClient {
 
     @Override
     public List<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+        if (catalog != null) {
+            simulateCall();
+            return catalog.search(searchQuery, trackLimit);
+        }
+
         log.info("DUMMY: Searching tracks for '{}' and extracting artists (limit: {})", searchQuery, trackLimit);
         
         // Extrahiere unique artists aus den Dummy Charts
@@ -153,4 +198,54 @@ public class TidalClientDummyImpl implements TidalClient {
         log.info("DUMMY: Extracted {} unique artists from search query '{}'", uniqueArtists.size(), searchQuery);
         return uniqueArtists;
     }
+
+    private Iterator<List<TidalAlbumDto>> syntheticAlbumPages(String tidalArtistId) {
+        long artistIndex = catalog.artistIndex(tidalArtistId);
+        int pageCount = (catalog.albumCount(artistIndex) + albumPageSize - 1) / albumPageSize;
+
+        return new Iterator<>() {
+            private int page;
+
+            @Override
+            public boolean hasNext() {
+                return page < pageCount;
+            }
+
+            @Override
+            public List<TidalAlbumDto> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // Wie beim echten Client: jede Seite ist ein eigener Request
+                simulateCall();
+                return catalog.albumPage(artistIndex, page++, albumPageSize);
+            }
+        };
+    }
+
+    /**
+     * Latenz und Fehler eines TIDAL Requests im synthetischen Modus
+     */
+    private void simulateCall() {
+        long millis = synthetic.getLatency().toMillis();
+        long jitterMillis = synthetic.getLatencyJitter().toMillis();
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < synthetic.getRateLimitRate()) {
+            throw new ExternalRateLimitException("Rate limit exceeded for TIDAL API");
+        }
+        if (roll < synthetic.getRateLimitRate() + synthetic.getErrorRate()) {
+            throw new ExternalServiceUnavailableException("TIDAL API is temporarily unavailable");
+        }
+    }
 }
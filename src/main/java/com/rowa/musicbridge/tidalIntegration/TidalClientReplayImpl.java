@@ -0,0 +1,185 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.TidalRecordings.RecordedAlbums;
+import com.rowa.musicbridge.tidalIntegration.TidalRecordings.RecordedSearch;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * TIDAL client for the "replay" profile: serves the results written by {@link RecordingTidalClient}
+ * without any network access.
+ * <p>
+ * All recordings are memory-mapped once at startup and decompressed on every call, so repeated syncs
+ * read from the page cache instead of the disk. tidal.client.replay.latency (plus random jitter)
+ * is slept before every search and every album page to approximate TIDAL response times.
+ * Calls without a recording return no results, like an empty TIDAL response.
+ * </p>
+ */
+@Component
+@Profile("replay")
+public class TidalClientReplayImpl implements TidalClient {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalClientReplayImpl.class);
+
+    private final ObjectMapper objectMapper;
+    private final TidalClientProperties.Replay config;
+    private final Map<String, MappedByteBuffer> recordings;
+
+    public TidalClientReplayImpl(TidalClientProperties clientProperties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.config = clientProperties.getReplay();
+        this.recordings = mapRecordings(Paths.get(config.getDirectory()));
+    }
+
+    private static Map<String, MappedByteBuffer> mapRecordings(Path directory) {
+        Map<String, MappedByteBuffer> mapped = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            log.warn("TIDAL replay directory {} does not exist, all calls return empty results", directory);
+            return mapped;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + TidalRecordings.FILE_SUFFIX)) {
+            for (Path file : files) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    // Mapping bleibt nach dem Schließen des Channels gültig
+                    mapped.put(file.getFileName().toString(), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map TIDAL recordings in " + directory, e);
+        }
+        log.info("Replaying {} TIDAL recordings from {}", mapped.size(), directory);
+        return mapped;
+    }
+
+    @Override
+    public List<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+        RecordedAlbums recording = read(TidalRecordings.albumsFileName(tidalArtistId), RecordedAlbums.class);
+        if (recording == null) {
+            simulateLatency();
+            return Collections.emptyList();
+        }
+        recording.pages().forEach(page -> simulateLatency());
+        return recording.pages().stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public Iterator<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+        RecordedAlbums recording = read(TidalRecordings.albumsFileName(tidalArtistId), RecordedAlbums.class);
+        if (recording == null) {
+            return Collections.emptyIterator();
+        }
+
+        Iterator<List<TidalAlbumDto>> pages = recording.pages().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pages.hasNext();
+            }
+
+            @Override
+            public List<TidalAlbumDto> next() {
+                // Wie beim echten Client: jede Seite ist ein eigener Request
+                simulateLatency();
+                return pages.next();
+            }
+        };
+    }
+
+    @Override
+    public List<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+        simulateLatency();
+        RecordedSearch recording = read(TidalRecordings.searchFileName(searchQuery, trackLimit), RecordedSearch.class);
+        if (recording == null) {
+            log.warn("No TIDAL recording for search '{}' with limit {}", searchQuery, trackLimit);
+            return Collections.emptyList();
+        }
+        return recording.artists();
+    }
+
+    private <T> T read(String fileName, Class<T> type) {
+        MappedByteBuffer mapped = recordings.get(fileName);
+        if (mapped == null) {
+            return null;
+        }
+        // duplicate(): eigene Position pro Aufruf, der Buffer wird von mehreren Threads gelesen
+        try (InputStream in = new GZIPInputStream(new ByteBufferInputStream(mapped.duplicate()))) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read TIDAL recording " + fileName, e);
+        }
+    }
+
+    private void simulateLatency() {
+        long millis = config.getLatency().toMillis();
+        long jitterMillis = config.getLatencyJitter().toMillis();
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * InputStream über einen (memory-mapped) ByteBuffer, ohne die Daten auf den Heap zu kopieren
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
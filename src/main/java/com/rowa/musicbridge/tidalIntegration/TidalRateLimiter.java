@@ -0,0 +1,245 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive token bucket shared by all requests of the TIDAL WebClient.
+ * <p>
+ * Every request waits for a permit before it is sent. The sustained rate starts at
+ * tidal.client.rate-limit.permits-per-second and adapts to the server:
+ * <ul>
+ *   <li>429 responses halve the rate and pause all requests for Retry-After
+ *       (or 500ms doubling per retry if the header is missing), then the request is repeated</li>
+ *   <li>X-RateLimit-Remaining / X-RateLimit-Replenish-Rate headers cap the local bucket
+ *       to the quota the server reports; without the replenish header the cap is lifted again</li>
+ *   <li>successful responses raise the rate step by step back to the configured value</li>
+ * </ul>
+ * Metrics: tidal.ratelimiter.wait (time spent waiting for a permit),
+ * tidal.ratelimiter.throttled (429 responses), tidal.ratelimiter.rate (current permits/sec).
+ */
+@Component
+@Profile("prod")
+public class TidalRateLimiter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalRateLimiter.class);
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+
+    // Backoff wenn der Server keinen Retry-After Header schickt, verdoppelt sich pro Retry
+    private static final long INITIAL_BACKOFF_MS = 500;
+    // Anteil der konfigurierten Rate, um den jede erfolgreiche Antwort die Rate wieder erhöht
+    private static final double RECOVERY_STEP_FRACTION = 0.05;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final TidalClientProperties.RateLimit config;
+    private final LongSupplier nanoClock;
+
+    private final Timer waitTimer;
+    private final Counter throttledCounter;
+
+    // Bucket-Zustand, geschützt durch synchronized.
+    // Während einer Pause liegt lastRefillNanos in der Zukunft: Permits laufen erst ab Pausenende wieder auf
+    private double availablePermits;
+    private double currentRate;
+    private double serverRateCap = Double.MAX_VALUE;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    @Autowired
+    public TidalRateLimiter(TidalClientProperties clientProperties, MeterRegistry meterRegistry) {
+        this(clientProperties.getRateLimit(), meterRegistry, System::nanoTime);
+    }
+
+    TidalRateLimiter(TidalClientProperties.RateLimit config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.currentRate = config.getPermitsPerSecond();
+        this.availablePermits = config.getBurst();
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.pausedUntilNanos = lastRefillNanos;
+
+        this.waitTimer = Timer.builder("tidal.ratelimiter.wait")
+                .description("Time requests waited for a TIDAL rate limit permit")
+                .register(meterRegistry);
+        this.throttledCounter = Counter.builder("tidal.ratelimiter.throttled")
+                .description("TIDAL responses with status 429")
+                .register(meterRegistry);
+        Gauge.builder("tidal.ratelimiter.rate", this, TidalRateLimiter::getCurrentRate)
+                .description("Current permitted TIDAL requests per second")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return exchange(request, next, 0);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, int attempt) {
+        return acquire()
+                .then(Mono.defer(() -> next.exchange(request)))
+                .flatMap(response -> {
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        onResponse(headers);
+                        return Mono.just(response);
+                    }
+
+                    Duration retryAfter = parseRetryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER));
+                    if (retryAfter == null) {
+                        retryAfter = Duration.ofMillis(INITIAL_BACKOFF_MS << attempt);
+                    }
+                    onThrottled(retryAfter);
+
+                    if (attempt >= config.getMaxRetries()) {
+                        log.warn("Rate limited for {} {}, giving up after {} retries",
+                                request.method(), request.url().getPath(), attempt);
+                        return Mono.just(response);
+                    }
+                    log.warn("Rate limited for {} {}. Retry {} of {} after {}ms",
+                            request.method(), request.url().getPath(), attempt + 1, config.getMaxRetries(),
+                            retryAfter.toMillis());
+                    return response.releaseBody().then(exchange(request, next, attempt + 1));
+                });
+    }
+
+    /**
+     * Waits (without blocking a thread) until a permit is available
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            if (waitNanos <= 0) {
+                return Mono.empty();
+            }
+            return Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    /**
+     * Reserves one permit and returns how long the caller has to wait for it.
+     * Permits may go negative: each waiting caller queues behind the previous reservations,
+     * counted from the end of a running pause.
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        availablePermits -= 1;
+
+        long queueNanos = availablePermits >= 0
+                ? 0
+                : (long) (-availablePermits / effectiveRate() * NANOS_PER_SECOND);
+        return Math.max(0, lastRefillNanos - now) + queueNanos;
+    }
+
+    /**
+     * 429: halve the rate, drop the accumulated burst and pause until Retry-After has passed
+     */
+    synchronized void onThrottled(Duration retryAfter) {
+        throttledCounter.increment();
+        long now = nanoClock.getAsLong();
+        refill(now);
+        currentRate = Math.max(config.getMinPermitsPerSecond(), currentRate / 2);
+        availablePermits = Math.min(availablePermits, 0);
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+        // Kein Nachfüllen während der Pause, sonst starten alle Wartenden am Pausenende gleichzeitig
+        lastRefillNanos = Math.max(lastRefillNanos, pausedUntilNanos);
+        log.info("TIDAL rate limit hit, reducing to {} requests/s and pausing {}ms",
+                String.format("%.2f", currentRate), retryAfter.toMillis());
+    }
+
+    /**
+     * Successful response: align with the quota headers and recover the rate step by step
+     */
+    synchronized void onResponse(HttpHeaders headers) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        // Die Grenze gilt nur solange der Server sie meldet, auch wenn sie wieder steigt
+        Double replenishRate = parseDouble(headers.getFirst(REPLENISH_RATE_HEADER));
+        serverRateCap = replenishRate != null && replenishRate > 0 ? replenishRate : Double.MAX_VALUE;
+
+        Double remaining = parseDouble(headers.getFirst(REMAINING_HEADER));
+        if (remaining != null) {
+            // Nie mehr Burst erlauben als der Server noch übrig hat; bei 0 wartet der nächste
+            // Aufrufer damit mindestens ein Permit-Intervall
+            availablePermits = Math.min(availablePermits, remaining);
+        }
+
+        currentRate = Math.min(config.getPermitsPerSecond(),
+                currentRate + config.getPermitsPerSecond() * RECOVERY_STEP_FRACTION);
+    }
+
+    public synchronized double getCurrentRate() {
+        return effectiveRate();
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            availablePermits = Math.min(config.getBurst(),
+                    availablePermits + effectiveRate() * elapsed / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+
+    private double effectiveRate() {
+        return Math.max(config.getMinPermitsPerSecond(), Math.min(currentRate, serverRateCap));
+    }
+
+    /**
+     * Retry-After ist entweder eine Anzahl Sekunden oder ein HTTP-Datum
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ex) {
+                log.warn("Could not parse Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * File format shared by {@link RecordingTidalClient} and {@link TidalClientReplayImpl}.
+ * <p>
+ * Every recorded call is one gzip compressed JSON file named
+ * {@code <kind>-<sha256 of the call arguments>.json.gz}, so a replay finds the recording
+ * of a call from its arguments alone.
+ * </p>
+ */
+final class TidalRecordings {
+
+    static final String FILE_SUFFIX = ".json.gz";
+
+    private TidalRecordings() {
+    }
+
+    /**
+     * Result of searchTracksAndExtractArtists
+     */
+    record RecordedSearch(String query, int trackLimit, List<TidalArtistDto> artists) {
+    }
+
+    /**
+     * Album pages of one artist, in page order
+     */
+    record RecordedAlbums(String artistId, List<List<TidalAlbumDto>> pages) {
+    }
+
+    static String searchFileName(String query, int trackLimit) {
+        return "search-" + hash(query + "\n" + trackLimit) + FILE_SUFFIX;
+    }
+
+    static String albumsFileName(String artistId) {
+        return "albums-" + hash(artistId) + FILE_SUFFIX;
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
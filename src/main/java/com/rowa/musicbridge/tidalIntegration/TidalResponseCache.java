@@ -0,0 +1,449 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Persistent HTTP cache for TIDAL album and track lookups.
+ * <p>
+ * Successful GET responses carrying an ETag are written to disk (one body and one meta file per URL).
+ * The next request for the same URL is sent with If-None-Match; a 304 is answered from the stored body,
+ * so unchanged catalog data costs neither transfer nor a new download. Entries that were not
+ * revalidated within the TTL are dropped, and the least recently used entries are evicted once the
+ * cache grows beyond its maximum size.
+ * </p>
+ * <p>
+ * Bodies are streamed: a response is written buffer by buffer to a temp file, moved into the cache and handed
+ * on read back from disk, and cached bodies are served the same way, so the {@link JsonApiStreamDecoder}
+ * downstream still never sees more than one buffer at a time. A revalidation only refreshes the TTL in memory;
+ * the meta files are rewritten in batches and on shutdown.
+ * </p>
+ * Metrics: tidal.response.cache with result=revalidated (304 served from cache), miss, stored.
+ */
+@Component
+@Profile("prod")
+public class TidalResponseCache implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalResponseCache.class);
+
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    // Revalidierte Einträge, deren Meta-Datei erst gesammelt neu geschrieben wird
+    private static final int UNSAVED_TOUCHES_FLUSH_THRESHOLD = 100;
+
+    // Nur Katalog-Lookups werden gecached, Suche und Token nicht
+    private static final List<String> CACHEABLE_PATH_PREFIXES = List.of("/v2/tracks", "/v2/artists/");
+
+    private final TidalClientProperties.ResponseCache config;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier clock;
+    private final Path directory;
+
+    private final Counter revalidatedCounter;
+    private final Counter missCounter;
+    private final Counter storedCounter;
+
+    // LRU-Index (access order) über alle Einträge auf Disk, geschützt durch synchronized
+    private final LinkedHashMap<String, CacheMeta> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final Set<String> unsavedTouches = new LinkedHashSet<>();
+
+    @Autowired
+    public TidalResponseCache(TidalClientProperties clientProperties, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this(clientProperties.getResponseCache(), objectMapper, meterRegistry, System::currentTimeMillis);
+    }
+
+    TidalResponseCache(TidalClientProperties.ResponseCache config, ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry, LongSupplier clock) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.directory = Paths.get(config.getDirectory());
+
+        this.revalidatedCounter = counter(meterRegistry, "revalidated");
+        this.missCounter = counter(meterRegistry, "miss");
+        this.storedCounter = counter(meterRegistry, "stored");
+
+        if (config.isEnabled()) {
+            loadIndex();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tidal.response.cache")
+                .description("TIDAL response cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!config.isEnabled() || !isCacheable(request)) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            String url = request.url().toString();
+            CacheMeta cached = lookup(url);
+            if (cached == null) {
+                missCounter.increment();
+                return next.exchange(request).flatMap(response -> storeIfCacheable(url, response));
+            }
+
+            ClientRequest conditionalRequest = ClientRequest.from(request)
+                    .header(HttpHeaders.IF_NONE_MATCH, cached.etag())
+                    .build();
+            return next.exchange(conditionalRequest).flatMap(response -> {
+                if (response.statusCode().value() != HttpStatus.NOT_MODIFIED.value()) {
+                    missCounter.increment();
+                    return storeIfCacheable(url, response);
+                }
+                return serveFromCache(url, cached, response)
+                        .onErrorResume(e -> {
+                            // Body auf Disk fehlt oder ist kaputt: Eintrag verwerfen und ohne ETag neu laden
+                            log.warn("Cached TIDAL response for {} unreadable, fetching again: {}", url, e.getMessage());
+                            remove(url);
+                            return response.releaseBody()
+                                    .then(next.exchange(request))
+                                    .flatMap(fresh -> storeIfCacheable(url, fresh));
+                        });
+            });
+        });
+    }
+
+    private boolean isCacheable(ClientRequest request) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return false;
+        }
+        String path = request.url().getPath();
+        return CACHEABLE_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    /**
+     * 304: antwortet mit dem gespeicherten Body, als wäre es ein 200 gewesen
+     */
+    private Mono<ClientResponse> serveFromCache(String url, CacheMeta cached, ClientResponse notModified) {
+        return Mono.fromCallable(() -> {
+                    // Jetzt öffnen: eine Verdrängung löscht nur den Namen, gelesen wird trotzdem zu Ende
+                    FileChannel body = FileChannel.open(bodyFile(url), StandardOpenOption.READ);
+                    touch(url, cached);
+                    return body;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(body -> notModified.releaseBody().thenReturn(notModified.mutate()
+                        .statusCode(HttpStatus.OK)
+                        .headers(headers -> {
+                            headers.remove(HttpHeaders.CONTENT_LENGTH);
+                            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+                        })
+                        .body(read(body))
+                        .build()))
+                .doOnNext(response -> {
+                    revalidatedCounter.increment();
+                    log.debug("TIDAL response for {} not modified, served from cache", url);
+                });
+    }
+
+    /**
+     * Streams the body into a temp file, moves it into the cache and answers with the body read back from it.
+     * If the entry cannot be stored the response is still answered from the temp file.
+     */
+    private Mono<ClientResponse> storeIfCacheable(String url, ClientResponse response) {
+        String etag = response.headers().asHttpHeaders().getETag();
+        if (!response.statusCode().is2xxSuccessful() || etag == null) {
+            return Mono.just(response);
+        }
+        String contentType = response.headers().contentType()
+                .orElse(MediaType.APPLICATION_JSON)
+                .toString();
+
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(directory);
+                    return Files.createTempFile(directory, fileKey(url), TEMP_SUFFIX);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(tmp -> DataBufferUtils.write(response.bodyToFlux(DataBuffer.class), tmp)
+                        .then(Mono.fromCallable(() -> {
+                            // Vor dem Verschieben öffnen: der neue Eintrag kann sofort wieder verdrängt werden
+                            FileChannel body = FileChannel.open(tmp, StandardOpenOption.READ);
+                            try {
+                                store(url, etag, contentType, tmp);
+                            } catch (IOException | RuntimeException e) {
+                                log.warn("Could not cache TIDAL response for {}: {}", url, e.getMessage());
+                                Files.deleteIfExists(tmp);
+                            }
+                            return response.mutate().body(read(body)).build();
+                        }).subscribeOn(Schedulers.boundedElastic()))
+                        .doOnError(e -> deleteQuietly(tmp)));
+    }
+
+    /**
+     * Body aus einer geöffneten Datei, Puffer für Puffer; der Kanal wird mit dem Ende (oder Abbruch) des Lesens geschlossen
+     */
+    private static Flux<DataBuffer> read(FileChannel body) {
+        return DataBufferUtils.readByteChannel(() -> body, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Gibt den Eintrag zurück oder null; abgelaufene Einträge werden dabei gelöscht
+     */
+    CacheMeta lookup(String url) {
+        CacheMeta meta;
+        synchronized (this) {
+            meta = index.get(url);
+            if (meta == null || !isExpired(meta)) {
+                return meta;
+            }
+            removeFromIndex(url);
+        }
+        deleteFiles(url);
+        return null;
+    }
+
+    /**
+     * Moves a completely written body into the cache and registers it
+     */
+    private void store(String url, String etag, String contentType, Path body) throws IOException {
+        CacheMeta meta = new CacheMeta(url, etag, contentType, clock.getAsLong(), Files.size(body));
+        Files.move(body, bodyFile(url), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeAtomically(metaFile(url), objectMapper.writeValueAsBytes(meta));
+
+        List<String> evicted;
+        synchronized (this) {
+            removeFromIndex(url);
+            index.put(url, meta);
+            totalBytes += meta.size();
+            evicted = evictOverflow();
+        }
+        evicted.forEach(this::deleteFiles);
+        storedCounter.increment();
+    }
+
+    /**
+     * Erfolgreich revalidiert: TTL beginnt von vorn. Nur im Index; die Meta-Dateien werden gesammelt geschrieben,
+     * geht das verloren, läuft der Eintrag nur früher ab.
+     */
+    private void touch(String url, CacheMeta cached) {
+        CacheMeta refreshed = new CacheMeta(cached.url(), cached.etag(), cached.contentType(),
+                clock.getAsLong(), cached.size());
+        boolean flush;
+        synchronized (this) {
+            if (!index.containsKey(url)) {
+                return;
+            }
+            index.put(url, refreshed);
+            unsavedTouches.add(url);
+            flush = unsavedTouches.size() >= UNSAVED_TOUCHES_FLUSH_THRESHOLD;
+        }
+        if (flush) {
+            flushTouches();
+        }
+    }
+
+    /**
+     * Writes the refreshed TTLs of revalidated entries back to their meta files
+     */
+    @PreDestroy
+    public void flushTouches() {
+        List<CacheMeta> refreshed = new ArrayList<>();
+        synchronized (this) {
+            for (String url : unsavedTouches) {
+                CacheMeta meta = index.get(url);
+                if (meta != null) {
+                    refreshed.add(meta);
+                }
+            }
+            unsavedTouches.clear();
+        }
+        for (CacheMeta meta : refreshed) {
+            try {
+                writeAtomically(metaFile(meta.url()), objectMapper.writeValueAsBytes(meta));
+            } catch (IOException e) {
+                log.warn("Could not update cached TIDAL response for {}: {}", meta.url(), e.getMessage());
+            }
+        }
+    }
+
+    private void remove(String url) {
+        synchronized (this) {
+            removeFromIndex(url);
+        }
+        deleteFiles(url);
+    }
+
+    private void removeFromIndex(String url) {
+        unsavedTouches.remove(url);
+        CacheMeta removed = index.remove(url);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    /**
+     * Entfernt die am längsten nicht benutzten Einträge, bis die Maximalgröße eingehalten ist
+     */
+    private List<String> evictOverflow() {
+        List<String> evicted = new ArrayList<>();
+        long maxBytes = config.getMaxSize().toBytes();
+        Iterator<Map.Entry<String, CacheMeta>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CacheMeta> eldest = iterator.next();
+            totalBytes -= eldest.getValue().size();
+            evicted.add(eldest.getKey());
+            iterator.remove();
+        }
+        if (!evicted.isEmpty()) {
+            log.debug("Evicted {} TIDAL responses from cache", evicted.size());
+        }
+        return evicted;
+    }
+
+    private boolean isExpired(CacheMeta meta) {
+        return clock.getAsLong() - meta.storedAtMillis() > config.getTtl().toMillis();
+    }
+
+    /**
+     * Liest die Meta-Dateien eines vorherigen Laufs ein (älteste zuerst, damit sie zuerst verdrängt werden)
+     */
+    private void loadIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<CacheMeta> entries = new ArrayList<>();
+        try (DirectoryStream<Path> metaFiles = Files.newDirectoryStream(directory, "*" + META_SUFFIX)) {
+            for (Path metaFile : metaFiles) {
+                try {
+                    entries.add(objectMapper.readValue(metaFile.toFile(), CacheMeta.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable cache entry {}: {}", metaFile.getFileName(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read TIDAL response cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        // Reste von Bodies, die beim Beenden noch geschrieben wurden
+        try (DirectoryStream<Path> tempFiles = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            tempFiles.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean up TIDAL response cache directory {}: {}", directory, e.getMessage());
+        }
+
+        entries.sort(Comparator.comparingLong(CacheMeta::storedAtMillis));
+        List<String> obsolete = new ArrayList<>();
+        synchronized (this) {
+            for (CacheMeta meta : entries) {
+                if (isExpired(meta) || !Files.exists(bodyFile(meta.url()))) {
+                    obsolete.add(meta.url());
+                    continue;
+                }
+                index.put(meta.url(), meta);
+                totalBytes += meta.size();
+            }
+            obsolete.addAll(evictOverflow());
+        }
+        obsolete.forEach(this::deleteFiles);
+        log.info("Loaded {} cached TIDAL responses ({} bytes) from {}", index.size(), totalBytes, directory);
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    private void deleteFiles(String url) {
+        try {
+            Files.deleteIfExists(bodyFile(url));
+            Files.deleteIfExists(metaFile(url));
+        } catch (IOException e) {
+            log.warn("Could not delete cached TIDAL response for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path bodyFile(String url) {
+        return directory.resolve(fileKey(url) + BODY_SUFFIX);
+    }
+
+    private Path metaFile(String url) {
+        return directory.resolve(fileKey(url) + META_SUFFIX);
+    }
+
+    private static String fileKey(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Inhalt der .meta Datei neben jedem gecachten Body
+     */
+    record CacheMeta(String url, String etag, String contentType, long storedAtMillis, long size) {
+    }
+}
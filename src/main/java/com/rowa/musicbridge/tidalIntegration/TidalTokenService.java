@@ -3,102 +3,186 @@ package com.rowa.musicbridge.tidalIntegration;
 import com.rowa.musicbridge.domain.exception.ExternalApiException;
 import com.rowa.musicbridge.tidalIntegration.config.TidalConfig;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalTokenResponse;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 
+/**
+ * Holt und cached den OAuth2 Access Token für die TIDAL API.
+ * <p>
+ * Refreshes are single-flight: while a token request is running, every other caller
+ * waits for the same result instead of starting its own request. Before the token
+ * reaches its 5-minute validity margin it is renewed in the background, so request
+ * threads normally never pay the token latency.
+ * </p>
+ */
 @Service
 public class TidalTokenService {
 
     private static final Logger log = LoggerFactory.getLogger(TidalTokenService.class);
 
+    // Token gilt als abgelaufen, wenn weniger als 5 Minuten Restlaufzeit übrig sind
+    private static final long EXPIRY_MARGIN_SECONDS = 300;
+    // Proaktive Erneuerung 1 Minute bevor die 5-Minuten-Grenze erreicht ist
+    private static final long RENEWAL_LEAD_SECONDS = 60;
+
     private final TidalConfig tidalConfig;
     private final WebClient webClient;
 
-    private volatile String cachedAccessToken;
-    private volatile Instant tokenExpiryTime;
+    // Token und Ablaufzeit werden immer zusammen gelesen und ersetzt
+    private volatile CachedToken cachedToken;
+
+    // Laufender Token Request (null wenn keiner läuft), geschützt durch synchronized
+    private Mono<String> inFlightRefresh;
+    private volatile Disposable scheduledRenewal;
 
-    public TidalTokenService(TidalConfig tidalConfig) {
+    /**
+     * @param tidalClientConnector pooled connector shared with the TIDAL API WebClient
+     */
+    public TidalTokenService(TidalConfig tidalConfig, ClientHttpConnector tidalClientConnector) {
         this.tidalConfig = tidalConfig;
         this.webClient = WebClient.builder()
                 .baseUrl(tidalConfig.getAuthBaseUrl())
+                .clientConnector(tidalClientConnector)
                 .build();
     }
 
     /**
      * Gibt einen gültigen Access Token zurück.
      * Cached den Token und erneuert ihn automatisch wenn abgelaufen.
+     * Blockiert nur, wenn ein neuer Token geholt werden muss.
      */
     public String getAccessToken() {
-        // Prüfe ob cached token noch gültig ist
-        if (isTokenValid()) {
-            log.debug("Using cached access token");
-            return cachedAccessToken;
-        }
+        return getAccessTokenMono().block();
+    }
 
-        // Hole neuen Token
-        log.info("Fetching new access token from TIDAL");
-        return fetchNewToken();
+    /**
+     * Non-blocking Variante von {@link #getAccessToken()} für den reaktiven Client.
+     */
+    public Mono<String> getAccessTokenMono() {
+        return Mono.defer(() -> {
+            // Prüfe ob cached token noch gültig ist
+            CachedToken token = cachedToken;
+            if (isTokenValid(token)) {
+                log.debug("Using cached access token");
+                return Mono.just(token.value());
+            }
+            return refreshToken(false);
+        });
     }
 
     /*
     Überprüft ob der cached Access Token noch gültig ist (mindestens 5 Minuten Restlaufzeit)
     */
-    private boolean isTokenValid() {
-        if (cachedAccessToken == null || tokenExpiryTime == null) {
+    private boolean isTokenValid(CachedToken token) {
+        if (token == null) {
             return false;
         }
         // Token ist gültig wenn noch mindestens 5 Minuten übrig sind
-        return Instant.now().plusSeconds(300).isBefore(tokenExpiryTime);
+        return Instant.now().plusSeconds(EXPIRY_MARGIN_SECONDS).isBefore(token.expiresAt());
     }
 
     /**
-     * Führt den OAuth2 Client Credentials Flow durch, um einen neuen Access Token zu erhalten.
-     * Cacht den Token und dessen Ablaufzeit.
+     * Startet einen Token Request oder schließt sich dem laufenden an (single-flight).
+     * @param force true for the proactive renewal, which must refresh even though the token is still valid
      */
-    private String fetchNewToken() {
-        try {
-            // OAuth2 Client Credentials Flow
-            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-            formData.add("grant_type", "client_credentials");
-
-            // Basic Auth Header: Base64(client_id:client_secret)
-            String credentials = tidalConfig.getClientId() + ":" + tidalConfig.getClientSecret();
-            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-
-            TidalTokenResponse response = webClient.post()
-                    .uri(tidalConfig.getTokenEndpoint())
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .header("Authorization", "Basic " + encodedCredentials)
-                    .body(BodyInserters.fromFormData(formData))
-                    .retrieve()
-                    .bodyToMono(TidalTokenResponse.class)
-                    .block();
-
-            if (response == null || response.getAccessToken() == null) {
-                throw new ExternalApiException("Failed to obtain access token from TIDAL");
-            }
+    private synchronized Mono<String> refreshToken(boolean force) {
+        // Ein anderer Thread hat den Token eventuell gerade erneuert
+        CachedToken token = cachedToken;
+        if (!force && isTokenValid(token)) {
+            return Mono.just(token.value());
+        }
+
+        if (inFlightRefresh == null) {
+            log.info("Fetching new access token from TIDAL");
+            inFlightRefresh = fetchNewToken().cache();
+        }
+        return inFlightRefresh;
+    }
 
-            // Token cachen mit Expiry Time
-            cachedAccessToken = response.getAccessToken();
-            long expiresIn = response.getExpiresIn() != null ? response.getExpiresIn() : 86400; // Default 24h
-            tokenExpiryTime = Instant.now().plusSeconds(expiresIn);
+    private synchronized void clearInFlightRefresh() {
+        inFlightRefresh = null;
+    }
 
-            log.info("Successfully obtained new access token, expires at {}", tokenExpiryTime);
-            return cachedAccessToken;
+    /**
+     * Führt den OAuth2 Client Credentials Flow durch, um einen neuen Access Token zu erhalten.
+     * Cacht den Token und dessen Ablaufzeit und plant die proaktive Erneuerung.
+     * Der laufende Request wird freigegeben, bevor das Ergebnis ausgeliefert wird: wer den Token direkt
+     * danach invalidiert, startet einen neuen Request statt sich dem abgeschlossenen anzuschließen.
+     */
+    private Mono<String> fetchNewToken() {
+        // OAuth2 Client Credentials Flow
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "client_credentials");
+
+        // Basic Auth Header: Base64(client_id:client_secret)
+        String credentials = tidalConfig.getClientId() + ":" + tidalConfig.getClientSecret();
+        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
+
+        return webClient.post()
+                .uri(tidalConfig.getTokenEndpoint())
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .header("Authorization", "Basic " + encodedCredentials)
+                .body(BodyInserters.fromFormData(formData))
+                .retrieve()
+                .bodyToMono(TidalTokenResponse.class)
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Failed to obtain access token from TIDAL")))
+                .map(response -> {
+                    if (response.getAccessToken() == null) {
+                        throw new ExternalApiException("Failed to obtain access token from TIDAL");
+                    }
+
+                    // Token cachen mit Expiry Time
+                    long expiresIn = response.getExpiresIn() != null ? response.getExpiresIn() : 86400; // Default 24h
+                    CachedToken token = new CachedToken(response.getAccessToken(), Instant.now().plusSeconds(expiresIn));
+                    // Erst den laufenden Request freigeben, dann den Token setzen: ein invalidateToken()
+                    // danach löst damit garantiert einen neuen Request aus
+                    clearInFlightRefresh();
+                    cachedToken = token;
+                    scheduleRenewal(token, expiresIn);
+
+                    log.info("Successfully obtained new access token, expires at {}", token.expiresAt());
+                    return token.value();
+                })
+                .onErrorMap(e -> {
+                    clearInFlightRefresh();
+                    log.error("Error fetching access token from TIDAL: {}", e.getMessage(), e);
+                    return new ExternalApiException("Failed to authenticate with TIDAL API: " + e.getMessage(), e);
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("Error fetching access token from TIDAL: {}", e.getMessage(), e);
-            throw new ExternalApiException("Failed to authenticate with TIDAL API: " + e.getMessage(), e);
+    /**
+     * Plant die Erneuerung kurz bevor der Token die 5-Minuten-Grenze erreicht.
+     * Bei sehr kurzer Laufzeit wird nach der halben Laufzeit erneuert.
+     * Wurde der Token inzwischen anderweitig ersetzt, entfällt die Erneuerung.
+     */
+    private void scheduleRenewal(CachedToken token, long expiresInSeconds) {
+        long delaySeconds = expiresInSeconds - EXPIRY_MARGIN_SECONDS - RENEWAL_LEAD_SECONDS;
+        if (delaySeconds <= 0) {
+            delaySeconds = Math.max(1, expiresInSeconds / 2);
         }
+
+        scheduledRenewal = Mono.delay(Duration.ofSeconds(delaySeconds))
+                .filter(tick -> cachedToken == token)
+                .flatMap(tick -> refreshToken(true))
+                .subscribe(
+                        renewed -> log.debug("Access token renewed proactively"),
+                        error -> log.warn("Proactive token renewal failed, next request will retry: {}",
+                                error.getMessage()));
+        log.debug("Scheduled proactive token renewal in {}s", delaySeconds);
     }
 
     /**
@@ -106,7 +190,17 @@ public class TidalTokenService {
      */
     public void invalidateToken() {
         log.info("Invalidating cached access token");
-        cachedAccessToken = null;
-        tokenExpiryTime = null;
+        cachedToken = null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable renewal = scheduledRenewal;
+        if (renewal != null) {
+            renewal.dispose();
+        }
+    }
+
+    private record CachedToken(String value, Instant expiresAt) {
     }
 }
@@ -0,0 +1,182 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded track id -> artists cache consulted before tracks are resolved against TIDAL.
+ * <p>
+ * Entries live in an in-memory LRU map (tidal.client.track-cache.max-entries) and expire after
+ * tidal.client.track-cache.ttl. With tidal.client.track-cache.persistent=true a {@link TrackArtistStore}
+ * backs the map, so tracks resolved in earlier runs are found after a restart as well.
+ * </p>
+ * Metrics: tidal.track.cache with result=hit/miss, tidal.track.cache.size.
+ */
+@Component
+@Profile("prod")
+public class TrackArtistCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackArtistCache.class);
+
+    private final TidalClientProperties.TrackCache config;
+    private final TrackArtistStore store;
+    private final LongSupplier clock;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    // LRU (access order), geschützt durch synchronized
+    private final LinkedHashMap<String, Entry> entries;
+
+    @Autowired
+    public TrackArtistCache(TidalClientProperties clientProperties, MeterRegistry meterRegistry,
+                            Optional<TrackArtistStore> store) {
+        this(clientProperties.getTrackCache(), meterRegistry, store.orElse(null), System::currentTimeMillis);
+    }
+
+    TrackArtistCache(TidalClientProperties.TrackCache config, MeterRegistry meterRegistry,
+                     TrackArtistStore store, LongSupplier clock) {
+        this.config = config;
+        this.store = store;
+        this.clock = clock;
+
+        int maxEntries = Math.max(0, config.getMaxEntries());
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hitCounter = Counter.builder("tidal.track.cache")
+                .description("Track artist lookups answered from the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("tidal.track.cache")
+                .description("Track artist lookups that had to go to TIDAL")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("tidal.track.cache.size", this, TrackArtistCache::size)
+                .description("Tracks held in the in-memory track artist cache")
+                .register(meterRegistry);
+
+        if (store != null) {
+            log.info("Track artist cache is backed by {}", store.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Looks up the artists of the given tracks (memory first, then the store).
+     * @return artists per cached track id; tracks that are not cached are absent
+     */
+    public Mono<Map<String, List<TidalArtistDto>>> getAll(List<String> trackIds) {
+        if (!config.isEnabled() || trackIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return Mono.defer(() -> {
+            Map<String, List<TidalArtistDto>> found = new HashMap<>();
+            List<String> missing = new ArrayList<>();
+            synchronized (this) {
+                for (String trackId : trackIds) {
+                    Entry entry = entries.get(trackId);
+                    if (entry != null && isExpired(entry)) {
+                        entries.remove(trackId);
+                        entry = null;
+                    }
+                    if (entry != null) {
+                        found.put(trackId, entry.artists());
+                    } else {
+                        missing.add(trackId);
+                    }
+                }
+            }
+
+            if (missing.isEmpty() || store == null) {
+                return Mono.just(record(found, trackIds.size()));
+            }
+
+            // Store ist blocking (JDBC), daher auf boundedElastic
+            return Mono.fromCallable(() -> store.findAll(missing, config.getTtl()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .onErrorResume(e -> {
+                        log.warn("Could not read track artist store: {}", e.getMessage());
+                        return Mono.just(Map.of());
+                    })
+                    .map(stored -> {
+                        synchronized (this) {
+                            stored.forEach((trackId, entry) -> {
+                                if (!isExpired(entry)) {
+                                    entries.put(trackId, entry);
+                                    found.put(trackId, entry.artists());
+                                }
+                            });
+                        }
+                        return record(found, trackIds.size());
+                    });
+        });
+    }
+
+    /**
+     * Caches freshly resolved tracks (and writes them to the store in the background).
+     * Called once per resolved track batch, so a search may issue several store writes.
+     */
+    public void putAll(Map<String, List<TidalArtistDto>> resolved) {
+        if (!config.isEnabled() || resolved.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.ofEpochMilli(clock.getAsLong());
+        Map<String, Entry> newEntries = new HashMap<>();
+        resolved.forEach((trackId, artists) -> newEntries.put(trackId, new Entry(List.copyOf(artists), now)));
+        synchronized (this) {
+            entries.putAll(newEntries);
+        }
+
+        if (store != null) {
+            Mono.fromRunnable(() -> store.saveAll(newEntries))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe(null, e -> log.warn("Could not persist artists of {} tracks: {}",
+                            newEntries.size(), e.getMessage()));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Map<String, List<TidalArtistDto>> record(Map<String, List<TidalArtistDto>> found, int requested) {
+        hitCounter.increment(found.size());
+        missCounter.increment(requested - found.size());
+        return found;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return clock.getAsLong() - entry.cachedAt().toEpochMilli() > config.getTtl().toMillis();
+    }
+
+    /**
+     * Artists of one track and when they were resolved
+     */
+    public record Entry(List<TidalArtistDto> artists, Instant cachedAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Persistent second level behind the in-memory {@link TrackArtistCache}
+ */
+public interface TrackArtistStore {
+
+    /**
+     * @return stored entries for the given track ids that are younger than {@code ttl}; unknown ids are absent
+     */
+    Map<String, TrackArtistCache.Entry> findAll(Collection<String> trackIds, Duration ttl);
+
+    void saveAll(Map<String, TrackArtistCache.Entry> entries);
+}
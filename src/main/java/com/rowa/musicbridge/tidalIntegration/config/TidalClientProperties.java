@@ -0,0 +1,335 @@
+package com.rowa.musicbridge.tidalIntegration.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning options for the TIDAL HTTP client (concurrency, batching, paging, caching)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tidal.client")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TidalClientProperties {
+
+    /**
+     * Maximum number of track lookups in flight at the same time.
+     * 1 resolves tracks strictly one after another.
+     */
+    private int trackResolutionConcurrency = 8;
+
+    /**
+     * Number of track ids resolved per /v2/tracks?filter[id]=... request.
+     * 1 falls back to one /v2/tracks/{id} request per track.
+     */
+    private int trackBatchSize = 20;
+
+    /**
+     * Number of albums requested per page from /v2/artists/{id}/relationships/albums
+     */
+    private int albumPageSize = 20;
+
+    /**
+     * Upper bound of album pages followed per artist (protects against endless cursors)
+     */
+    private int albumMaxPages = 50;
+
+    /**
+     * Upper bound of a single JSON:API resource while responses are decoded incrementally
+     */
+    private DataSize maxResourceSize = DataSize.ofKilobytes(256);
+
+    private ConnectionPool connectionPool = new ConnectionPool();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    private TrackCache trackCache = new TrackCache();
+
+    private Recording recording = new Recording();
+
+    private Replay replay = new Replay();
+
+    private Synthetic synthetic = new Synthetic();
+
+    /**
+     * Reactor Netty connection pool shared by the TIDAL API and the token client
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConnectionPool {
+
+        /**
+         * Open connections per remote host (with HTTP/2: connections, each multiplexing several streams)
+         */
+        private int maxConnections = 16;
+
+        /**
+         * Requests waiting for a free connection; further requests fail immediately
+         */
+        private int pendingAcquireMaxCount = 256;
+
+        /**
+         * How long a request waits for a free connection
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Idle connections are closed after this time (below the TIDAL load balancer idle timeout)
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(20);
+
+        /**
+         * Connections are recycled after this time so DNS changes are picked up
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Interval of the background eviction of idle and expired connections
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Upper bound between sending a request and receiving the response headers
+         */
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Negotiate HTTP/2 via ALPN for https base URLs, falling back to HTTP/1.1
+         */
+        private boolean http2 = true;
+
+        /**
+         * Send Accept-Encoding: gzip and decompress responses
+         */
+        private boolean compression = true;
+
+        /**
+         * Export pool gauges (reactor.netty.connection.provider.*) to Micrometer
+         */
+        private boolean metrics = true;
+    }
+
+    /**
+     * Token bucket shared by all requests of the TIDAL WebClient
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateLimit {
+
+        /**
+         * Sustained request rate (the TIDAL quota)
+         */
+        private double permitsPerSecond = 5.0;
+
+        /**
+         * Requests that may be sent back-to-back after an idle period
+         */
+        private int burst = 10;
+
+        /**
+         * Lower bound the adaptive rate is never reduced below
+         */
+        private double minPermitsPerSecond = 0.5;
+
+        /**
+         * How often a request answered with 429 is repeated before the 429 is returned to the caller
+         */
+        private int maxRetries = 3;
+    }
+
+    /**
+     * Circuit breaker and bulkhead, kept separately for search, track and album requests
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent calls the failure rate is computed over
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls needed in the window before the failure rate is evaluated
+         */
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * Failure rate in percent (5xx, 429, connection errors) that opens the breaker
+         */
+        private double failureRateThreshold = 50.0;
+
+        /**
+         * How long an open breaker rejects calls before probing again
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+        /**
+         * Probe calls let through while half-open; all must succeed to close the breaker
+         */
+        private int permittedCallsInHalfOpenState = 3;
+
+        /**
+         * Bulkhead: concurrent calls per endpoint, further calls are rejected
+         */
+        private int maxConcurrentCalls = 10;
+    }
+
+    /**
+     * Disk cache for album and track responses, revalidated with If-None-Match
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResponseCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Directory the cached responses are written to (survives restarts)
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/musicbridge/tidal-response-cache";
+
+        /**
+         * Entries not revalidated for this long are dropped and fetched unconditionally
+         */
+        private Duration ttl = Duration.ofDays(7);
+
+        /**
+         * Upper bound of all cached bodies; least recently used entries are evicted first
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+    }
+
+    /**
+     * Track id -> artists cache consulted before tracks are looked up
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrackCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Tracks kept in memory; least recently used tracks are evicted first
+         */
+        private int maxEntries = 50_000;
+
+        /**
+         * Artists of a track are looked up again after this time
+         */
+        private Duration ttl = Duration.ofDays(30);
+
+        /**
+         * Additionally store resolved tracks in Postgres (table track_artist_cache) so they survive restarts
+         */
+        private boolean persistent = false;
+    }
+
+    /**
+     * Records the results of the real TIDAL client as gzip files for the "replay" profile
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recording {
+
+        private boolean enabled = false;
+
+        private String directory = System.getProperty("java.io.tmpdir") + "/musicbridge/tidal-recordings";
+    }
+
+    /**
+     * Serves recorded results instead of calling TIDAL (profile "replay")
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Replay {
+
+        /**
+         * Directory written by tidal.client.recording
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/musicbridge/tidal-recordings";
+
+        /**
+         * Simulated TIDAL latency per search and per album page
+         */
+        private Duration latency = Duration.ZERO;
+
+        /**
+         * Random extra latency between 0 and this value
+         */
+        private Duration latencyJitter = Duration.ZERO;
+    }
+
+    /**
+     * Seeded synthetic catalog served by the "dev" client instead of the fixed dummy data.
+     * Every artist and album is derived from (seed, index) on demand, so millions of artists cost no memory.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Synthetic {
+
+        private boolean enabled = false;
+
+        /**
+         * Same seed, same catalog
+         */
+        private long seed = 42;
+
+        private long artistCount = 1_000_000;
+
+        /**
+         * How strongly searches favour popular (low index) artists; 1 = uniform
+         */
+        private double popularitySkew = 2.0;
+
+        /**
+         * Pareto shape of the albums per artist; smaller values give a longer tail of big discographies
+         */
+        private double albumCountAlpha = 1.2;
+
+        private int maxAlbumsPerArtist = 300;
+
+        /**
+         * Simulated TIDAL latency per search and per album page
+         */
+        private Duration latency = Duration.ZERO;
+
+        /**
+         * Random extra latency between 0 and this value
+         */
+        private Duration latencyJitter = Duration.ZERO;
+
+        /**
+         * Share of calls failing like a TIDAL 5xx (0.0 - 1.0)
+         */
+        private double errorRate = 0.0;
+
+        /**
+         * Share of calls failing like a TIDAL 429 (0.0 - 1.0)
+         */
+        private double rateLimitRate = 0.0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.rowa.musicbridge.tidalIntegration.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP transport shared by the TIDAL API WebClient and the token client.
+ * <p>
+ * Both clients use one Reactor Netty connection pool, so the pool limits apply to all TIDAL
+ * traffic. With metrics enabled, the pool publishes the gauges
+ * {@code reactor.netty.connection.provider.{total,active,idle,pending}.connections} (tag name=tidal)
+ * to the global Micrometer registry, which Spring Boot exposes under /actuator/metrics.
+ * </p>
+ */
+@Configuration
+public class TidalHttpClientConfig {
+
+    private static final String POOL_NAME = "tidal";
+
+    /**
+     * Configures the connection pool for all TIDAL hosts.
+     *
+     * @param clientProperties Provides the pool limits and timeouts.
+     * @return The pool, disposed when the context closes.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider tidalConnectionProvider(TidalClientProperties clientProperties) {
+        TidalClientProperties.ConnectionPool pool = clientProperties.getConnectionPool();
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(pool.isMetrics())
+                .build();
+    }
+
+    /**
+     * Configures the Reactor Netty connector on top of the shared pool.
+     *
+     * @param tidalConnectionProvider The shared TIDAL connection pool.
+     * @param tidalConfig Used to decide whether HTTP/2 can be negotiated (TLS only).
+     * @param clientProperties Provides timeouts, HTTP/2 and compression settings.
+     * @return The connector used by the TIDAL WebClient and the TidalTokenService.
+     */
+    @Bean
+    public ClientHttpConnector tidalClientConnector(ConnectionProvider tidalConnectionProvider,
+                                                    TidalConfig tidalConfig,
+                                                    TidalClientProperties clientProperties) {
+        TidalClientProperties.ConnectionPool pool = clientProperties.getConnectionPool();
+
+        HttpClient httpClient = HttpClient.create(tidalConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getResponseTimeout())
+                .compress(pool.isCompression());
+
+        // HTTP/2 nur über TLS (ALPN), h2c wird von TIDAL nicht angeboten
+        if (pool.isHttp2() && isHttps(tidalConfig.getBaseUrl())) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    private static boolean isHttps(String url) {
+        return url != null && url.startsWith("https://");
+    }
+}
@@ -1,10 +1,14 @@
 package com.rowa.musicbridge.tidalIntegration.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.JsonApiStreamDecoder;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker;
+import com.rowa.musicbridge.tidalIntegration.TidalRateLimiter;
+import com.rowa.musicbridge.tidalIntegration.TidalResponseCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
@@ -14,25 +18,47 @@ public class TidalWebClientConfig {
     /**
      * Configures a WebClient bean for interacting with the Tidal API.
      *
+     * Album and track lookups are answered from the {@link TidalResponseCache} when TIDAL reports
+     * them as not modified. Every request that goes out (conditional ones included) passes the
+     * per-endpoint {@link TidalCircuitBreaker} first, so an open breaker fails fast without
+     * waiting for a permit of the shared {@link TidalRateLimiter}. The bulkhead slot is taken only
+     * after the rate limit permit, so requests waiting out a 429 pause do not fill the bulkhead.
+     * Connections come from the pool of {@link TidalHttpClientConfig}.
+     *
      * @param tidalConfig The TidalConfig instance containing the base URL for the Tidal API.
+     * @param tidalClientConnector The pooled connector shared with the token client.
+     * @param circuitBreaker Circuit breaker and bulkhead per endpoint.
+     * @param rateLimiter The token bucket all TIDAL requests go through.
+     * @param responseCache The ETag cache in front of the rate limiter.
      * @return A configured WebClient instance for making requests to the Tidal API.
      */
     @Bean
-    public WebClient tidalWebClient(TidalConfig tidalConfig) {
+    public WebClient tidalWebClient(TidalConfig tidalConfig, ClientHttpConnector tidalClientConnector,
+                                    TidalCircuitBreaker circuitBreaker, TidalRateLimiter rateLimiter,
+                                    TidalResponseCache responseCache) {
         return WebClient.builder()
                 .baseUrl(tidalConfig.getBaseUrl())
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .clientConnector(tidalClientConnector)
+                // Antworten werden gestreamt dekodiert (JsonApiStreamDecoder), auch die des TidalResponseCache,
+                // der Bodies über Dateien streamt; komplett gepuffert werden nur Fehler-Bodies
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .filter(responseCache)
+                .filter(circuitBreaker)
+                .filter(rateLimiter)
+                .filter(circuitBreaker.bulkhead())
                 .build();
     }
 
     /**
-     * Configures a TaskScheduler bean for scheduling tasks, such as the initial sync on startup.
+     * Incremental JSON:API decoder used for all TIDAL API responses.
      *
-     * @return A ThreadPoolTaskScheduler instance for scheduling tasks.
+     * @param objectMapper The application ObjectMapper used to bind single resources.
+     * @param clientProperties Provides the maximum size of a single resource.
+     * @return The decoder shared by the TIDAL clients.
      */
     @Bean
-    public TaskScheduler taskScheduler() {
-        return new ThreadPoolTaskScheduler();
+    public JsonApiStreamDecoder jsonApiStreamDecoder(ObjectMapper objectMapper, TidalClientProperties clientProperties) {
+        return new JsonApiStreamDecoder(objectMapper, (int) clientProperties.getMaxResourceSize().toBytes());
     }
 
 }
\ No newline at end of file
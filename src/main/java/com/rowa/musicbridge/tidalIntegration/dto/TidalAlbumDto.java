@@ -25,8 +25,8 @@ public class TidalAlbumDto {
 
         return TidalAlbumDto.builder()
                 .id(resource.getId())
-                .title((String) resource.getAttributes().get("title"))
-                .releaseDate((String) resource.getAttributes().get("releaseDate"))
+                .title(resource.getAttributes().getTitle())
+                .releaseDate(resource.getAttributes().getReleaseDate())
                 .build();
     }
 }
@@ -23,4 +23,7 @@ public class TidalAlbumsResponse {
 
     @JsonProperty("meta")
     private TidalMetaDto meta;
+
+    @JsonProperty("links")
+    private TidalLinksDto links;
 }
@@ -27,7 +27,7 @@ public class TidalArtistDto {
 
         return TidalArtistDto.builder()
                 .id(resource.getId())
-                .name((String) resource.getAttributes().get("name"))
+                .name(resource.getAttributes().getName())
                 .build();
     }
 }
\ No newline at end of file
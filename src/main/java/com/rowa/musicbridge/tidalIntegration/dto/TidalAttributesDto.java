@@ -0,0 +1,31 @@
+package com.rowa.musicbridge.tidalIntegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attribute einer TIDAL JSON:API Resource, die wir tatsächlich verwenden.
+ * Alle anderen Attribute (images, copyright, externalLinks, ...) überspringt Jackson beim Parsen,
+ * statt sie als verschachtelte Maps anzulegen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TidalAttributesDto {
+
+    // artists
+    @JsonProperty("name")
+    private String name;
+
+    // albums, tracks
+    @JsonProperty("title")
+    private String title;
+
+    // albums
+    @JsonProperty("releaseDate")
+    private String releaseDate;
+}
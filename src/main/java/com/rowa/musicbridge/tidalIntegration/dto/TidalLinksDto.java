@@ -0,0 +1,21 @@
+package com.rowa.musicbridge.tidalIntegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * TIDAL JSON:API Links (next enthält den Cursor der nächsten Seite)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TidalLinksDto {
+
+    @JsonProperty("self")
+    private String self;
+
+    @JsonProperty("next")
+    private String next;
+}
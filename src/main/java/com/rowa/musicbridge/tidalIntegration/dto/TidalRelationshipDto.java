@@ -0,0 +1,25 @@
+package com.rowa.musicbridge.tidalIntegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * JSON:API Relationship, z.B. relationships.artists eines Tracks.
+ * data ist bei to-one Relationships ein einzelnes Objekt und wird dann als Liste mit einem Element gelesen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TidalRelationshipDto {
+
+    @JsonProperty("data")
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private List<TidalResourceIdentifierDto> data;
+}
@@ -1,18 +1,22 @@
 package com.rowa.musicbridge.tidalIntegration.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * Generic TIDAL JSON:API Resource
+ * Binds only the attributes we use ({@link TidalAttributesDto}), everything else is skipped while parsing.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class TidalResourceDto {
 
     @JsonProperty("id")
@@ -22,5 +26,22 @@ public class TidalResourceDto {
     private String type;
 
     @JsonProperty("attributes")
-    private Map<String, Object> attributes;
+    private TidalAttributesDto attributes;
+
+    @JsonProperty("relationships")
+    private Map<String, TidalRelationshipDto> relationships;
+
+    /**
+     * IDs der Resource Identifier einer Relationship (z.B. "artists" eines Tracks)
+     * @return the ids, or null if the relationship is not part of the response
+     */
+    public List<String> relationshipIds(String relationship) {
+        TidalRelationshipDto related = relationships != null ? relationships.get(relationship) : null;
+        if (related == null || related.getData() == null) {
+            return null;
+        }
+        return related.getData().stream()
+                .map(TidalResourceIdentifierDto::getId)
+                .toList();
+    }
 }
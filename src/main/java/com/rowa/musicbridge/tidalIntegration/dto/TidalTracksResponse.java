@@ -0,0 +1,27 @@
+package com.rowa.musicbridge.tidalIntegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * JSON:API Response für die Collection /v2/tracks?filter[id]=...
+ * data enthält die gefundenen Tracks, die Artists sind in "included"
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TidalTracksResponse {
+
+    @JsonProperty("data")
+    private List<TidalResourceDto> data;
+
+    @JsonProperty("included")
+    private List<TidalResourceDto> included;
+
+    @JsonProperty("meta")
+    private TidalMetaDto meta;
+}
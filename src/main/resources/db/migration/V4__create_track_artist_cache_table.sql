@@ -0,0 +1,9 @@
+-- Create track_artist_cache tabelle (persistenter Cache für TIDAL track id -> artists)
+CREATE TABLE track_artist_cache (
+    tidal_track_id VARCHAR(255) PRIMARY KEY,
+    artists TEXT NOT NULL,
+    cached_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create index on cached_at for TTL filtering
+CREATE INDEX idx_track_artist_cache_cached_at ON track_artist_cache(cached_at);
@@ -0,0 +1,23 @@
+-- Create sync_jobs tabelle (Historie der asynchronen TIDAL Sync-Jobs)
+CREATE TABLE sync_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    query VARCHAR(500),
+    track_limit INTEGER,
+    status VARCHAR(20) NOT NULL,
+    stage VARCHAR(20) NOT NULL,
+    artists_found INTEGER NOT NULL DEFAULT 0,
+    artists_processed INTEGER NOT NULL DEFAULT 0,
+    artists_failed INTEGER NOT NULL DEFAULT 0,
+    artists_skipped INTEGER NOT NULL DEFAULT 0,
+    albums_processed INTEGER NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- Create index on created_at for the job history
+CREATE INDEX idx_sync_jobs_created_at ON sync_jobs(created_at);
+
+-- Create index on status for unfinished jobs after a restart
+CREATE INDEX idx_sync_jobs_status ON sync_jobs(status);
@@ -0,0 +1,14 @@
+-- Add content_hash (Fingerprint der TIDAL-Felder) to artists and albums
+-- NULL bis zum nächsten Sync, der die Zeile dann einmalig aktualisiert
+ALTER TABLE artists ADD COLUMN content_hash BIGINT;
+
+ALTER TABLE albums ADD COLUMN content_hash BIGINT;
+
+-- Was ein Sync-Job geschrieben hat: eingefügt, aktualisiert, unverändert
+ALTER TABLE sync_jobs
+    ADD COLUMN artists_inserted INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN artists_updated INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN artists_unchanged INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN albums_inserted INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN albums_updated INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN albums_unchanged INTEGER NOT NULL DEFAULT 0;
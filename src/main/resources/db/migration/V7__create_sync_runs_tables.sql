@@ -0,0 +1,33 @@
+-- Create sync_runs tabelle (Checkpoints eines Sync-Laufs, zum Fortsetzen nach Abbruch oder Neustart)
+CREATE TABLE sync_runs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    query VARCHAR(500) NOT NULL,
+    track_limit INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    stage VARCHAR(20) NOT NULL,
+    artists_found INTEGER NOT NULL DEFAULT 0,
+    artists_done INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- Create index for the lookup of resumable runs
+CREATE INDEX idx_sync_runs_query_status ON sync_runs(query, track_limit, status);
+
+-- Create sync_run_artists tabelle (Suchergebnis eines Laufs und Stand pro Artist)
+CREATE TABLE sync_run_artists (
+    run_id UUID NOT NULL,
+    position INTEGER NOT NULL,
+    tidal_id VARCHAR(255) NOT NULL,
+    name VARCHAR(500) NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    PRIMARY KEY (run_id, position),
+    CONSTRAINT fk_sync_run FOREIGN KEY (run_id) REFERENCES sync_runs(id) ON DELETE CASCADE
+);
+
+-- Create index for marking the artists of a committed chunk
+CREATE INDEX idx_sync_run_artists_tidal_id ON sync_run_artists(run_id, tidal_id);
+
+-- Artists, die ein Sync-Job aus einem fortgesetzten Lauf übernommen hat
+ALTER TABLE sync_jobs ADD COLUMN artists_resumed INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Leases für Sync-Läufe mehrerer Instanzen: ein Lauf bzw. Shard gilt als verlassen, wenn sein Lease abgelaufen ist
+-- TIMESTAMPTZ, damit Instanzen mit unterschiedlicher Zeitzone dieselben Zeitpunkte vergleichen
+ALTER TABLE sync_runs ADD COLUMN lease_until TIMESTAMPTZ;
+
+-- Shards: Teile der Artist-Liste eines Laufs, die Instanzen mit FOR UPDATE SKIP LOCKED übernehmen
+ALTER TABLE sync_run_artists ADD COLUMN shard INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE sync_run_shards (
+    run_id UUID NOT NULL,
+    shard INTEGER NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    claimed_by VARCHAR(255),
+    lease_until TIMESTAMPTZ,
+    PRIMARY KEY (run_id, shard),
+    CONSTRAINT fk_sync_run_shard FOREIGN KEY (run_id) REFERENCES sync_runs(id) ON DELETE CASCADE
+);
+
+-- Create index for the artists of a shard
+CREATE INDEX idx_sync_run_artists_shard ON sync_run_artists(run_id, shard);
+
+-- Unterbrochene Läufe erkennt man jetzt am abgelaufenen Lease, bisherige Läufe bekommen einen Shard mit allen Artists
+UPDATE sync_runs SET status = 'ABORTED' WHERE status = 'INTERRUPTED';
+
+INSERT INTO sync_run_shards (run_id, shard)
+SELECT id, 0 FROM sync_runs WHERE status <> 'COMPLETED';
@@ -0,0 +1,6 @@
+-- Instanz, die einen Sync-Job angenommen hat, und ihr Lease: nur Jobs der eigenen Instanz oder mit abgelaufenem
+-- Lease gelten als unterbrochen, nicht die noch laufenden Jobs anderer Instanzen
+-- TIMESTAMPTZ, damit Instanzen mit unterschiedlicher Zeitzone dieselben Zeitpunkte vergleichen
+ALTER TABLE sync_jobs
+    ADD COLUMN owner VARCHAR(255),
+    ADD COLUMN lease_until TIMESTAMPTZ;
@@ -0,0 +1,42 @@
+package com.rowa.musicbridge;
+
+import com.rowa.musicbridge.tidalIntegration.TidalClient;
+import com.rowa.musicbridge.tidalIntegration.TidalClientReplayImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replay profile has to start without the prod-only TIDAL configuration.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "tidal.client.replay.directory=${java.io.tmpdir}/musicbridge/replay-profile-test",
+        "tidal.api.client-id=test",
+        "tidal.api.client-secret=test"
+})
+@ActiveProfiles("replay")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Replay Profile Tests")
+class MusicBridgeReplayProfileTests {
+
+    @Autowired
+    private TidalClient tidalClient;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    @DisplayName("context should load with the replay client and a task scheduler")
+    void contextLoads() {
+        assertThat(tidalClient).isInstanceOf(TidalClientReplayImpl.class);
+        assertThat(taskScheduler).isNotNull();
+    }
+}
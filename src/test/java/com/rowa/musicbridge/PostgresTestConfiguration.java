@@ -0,0 +1,22 @@
+package com.rowa.musicbridge;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * PostgreSQL for integration tests that need the real schema (Flyway migrations) and Postgres specific SQL.
+ * Test classes importing this should be annotated with {@code @Testcontainers(disabledWithoutDocker = true)},
+ * so they are skipped on machines without Docker.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+    }
+}
@@ -0,0 +1,217 @@
+package com.rowa.musicbridge.benchmark;
+
+import com.rowa.musicbridge.MusicBridgeApplication;
+import com.rowa.musicbridge.domain.entity.AlbumEntity;
+import com.rowa.musicbridge.domain.entity.ArtistEntity;
+import com.rowa.musicbridge.domain.repository.AlbumRepository;
+import com.rowa.musicbridge.domain.repository.ArtistRepository;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.tidalIntegration.SyntheticTidalCatalog;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows/sec of the sync write paths for a full catalog refresh: one JPA {@code save} per entity (write-mode jpa),
+ * batched INSERT ... ON CONFLICT (upsert) and COPY into staging tables plus merge (copy).
+ * Every invocation writes {@code albumCount} synthetic albums and their artists into empty tables,
+ * {@code chunkSize} artists per transaction like tidal.sync.chunk-size.
+ * <p>
+ * Needs Docker (Testcontainers Postgres). Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rowa.musicbridge.benchmark.CatalogWriteBenchmark};
+ * the jpa path takes several minutes per invocation for a million albums, smaller runs with e.g. {@code -p albumCount=100000}.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogWriteBenchmark {
+
+    @Param({"1000000"})
+    public int albumCount;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ArtistRepository artistRepository;
+    private AlbumRepository albumRepository;
+    private CatalogUpsertRepository upsertRepository;
+    private CatalogCopyRepository copyRepository;
+
+    private final List<List<ArtistRow>> artistChunks = new ArrayList<>();
+    private final List<List<AlbumRow>> albumChunks = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        postgres.start();
+
+        // Als Argumente statt Default-Properties, sonst gewinnen application.yml (Datasource, Profil prod)
+        context = new SpringApplicationBuilder(MusicBridgeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=dev",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--tidal.api.client-id=benchmark",
+                        "--tidal.api.client-secret=benchmark",
+                        "--logging.level.root=WARN");
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        artistRepository = context.getBean(ArtistRepository.class);
+        albumRepository = context.getBean(AlbumRepository.class);
+        upsertRepository = context.getBean(CatalogUpsertRepository.class);
+        copyRepository = context.getBean(CatalogCopyRepository.class);
+
+        generateRows();
+    }
+
+    /**
+     * Synthetic artists with their discographies until albumCount albums are reached
+     */
+    private void generateRows() {
+        TidalClientProperties.Synthetic config = new TidalClientProperties().getSynthetic();
+        config.setArtistCount(Long.MAX_VALUE);
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(config);
+
+        List<ArtistRow> artists = new ArrayList<>();
+        List<AlbumRow> albums = new ArrayList<>();
+        int albumsGenerated = 0;
+        for (long artistIndex = 0; albumsGenerated < albumCount; artistIndex++) {
+            String artistId = SyntheticTidalCatalog.artistId(artistIndex);
+            artists.add(new ArtistRow(artistId, catalog.artist(artistIndex).getName()));
+            int count = Math.min(catalog.albumCount(artistIndex), albumCount - albumsGenerated);
+            for (int i = 0; i < count; i++) {
+                TidalAlbumDto album = catalog.album(artistIndex, i);
+                albums.add(new AlbumRow(album.getId(), album.getTitle(),
+                        album.getReleaseDate() != null ? LocalDate.parse(album.getReleaseDate()) : null, artistId));
+            }
+            albumsGenerated += count;
+
+            if (artists.size() == chunkSize) {
+                artistChunks.add(artists);
+                albumChunks.add(albums);
+                artists = new ArrayList<>();
+                albums = new ArrayList<>();
+            }
+        }
+        if (!artists.isEmpty()) {
+            artistChunks.add(artists);
+            albumChunks.add(albums);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE albums, artists");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void jpaSave() {
+        for (int chunk = 0; chunk < artistChunks.size(); chunk++) {
+            List<ArtistRow> artists = artistChunks.get(chunk);
+            List<AlbumRow> albums = albumChunks.get(chunk);
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, ArtistEntity> savedArtists = new HashMap<>();
+                for (ArtistRow artist : artists) {
+                    savedArtists.put(artist.tidalId(), artistRepository.save(ArtistEntity.builder()
+                            .tidalId(artist.tidalId())
+                            .name(artist.name())
+                            .manuallyModified(false)
+                            .build()));
+                }
+                for (AlbumRow album : albums) {
+                    ArtistEntity artist = savedArtists.get(album.artistTidalId());
+                    albumRepository.save(AlbumEntity.builder()
+                            .tidalId(album.tidalId())
+                            .title(album.title())
+                            .releaseDate(album.releaseDate())
+                            .artist(artist)
+                            .artistName(artist.getName())
+                            .manuallyModified(false)
+                            .build());
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void upsert() {
+        for (int chunk = 0; chunk < artistChunks.size(); chunk++) {
+            List<ArtistRow> artists = artistChunks.get(chunk);
+            List<AlbumRow> albums = albumChunks.get(chunk);
+            transactionTemplate.executeWithoutResult(status -> {
+                upsertRepository.upsertArtists(artists);
+                upsertRepository.upsertAlbums(albums);
+            });
+        }
+    }
+
+    @Benchmark
+    public void copy() {
+        for (int chunk = 0; chunk < artistChunks.size(); chunk++) {
+            List<ArtistRow> artists = artistChunks.get(chunk);
+            List<AlbumRow> albums = albumChunks.get(chunk);
+            transactionTemplate.executeWithoutResult(status -> copyRepository.importCatalog(artists, albums));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (RunResult result : new Runner(new OptionsBuilder()
+                .include(CatalogWriteBenchmark.class.getSimpleName())
+                .build())
+                .run()) {
+            int albums = Integer.parseInt(result.getParams().getParam("albumCount"));
+            System.out.printf("%s: %.0f albums/s%n", result.getParams().getBenchmark(),
+                    albums / result.getPrimaryResult().getScore());
+        }
+    }
+}
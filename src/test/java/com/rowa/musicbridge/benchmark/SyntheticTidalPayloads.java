@@ -0,0 +1,135 @@
+package com.rowa.musicbridge.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds TIDAL JSON:API responses shaped like recorded /v2/searchResults payloads:
+ * every included resource carries the full attribute set (images, links, copyright, ...)
+ * even though the client only reads one or two fields of it.
+ */
+public final class SyntheticTidalPayloads {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SyntheticTidalPayloads() {
+    }
+
+    /**
+     * Search response with {@code trackCount} tracks, one artist and one album per track in "included"
+     */
+    public static byte[] searchResponse(int trackCount) {
+        List<Map<String, Object>> included = new ArrayList<>();
+        for (int i = 0; i < trackCount; i++) {
+            included.add(track(i));
+            included.add(artist(i));
+            included.add(album(i));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", Map.of("id", "rock", "type", "searchResults"));
+        response.put("included", included);
+        response.put("links", Map.of("self", "/searchResults/rock?include=tracks"));
+        try {
+            return MAPPER.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Splits the payload into buffers of {@code chunkSize} bytes, like a response arriving from the network
+     */
+    public static Flux<DataBuffer> chunked(byte[] payload, int chunkSize) {
+        return Flux.range(0, (payload.length + chunkSize - 1) / chunkSize)
+                .map(chunk -> {
+                    int offset = chunk * chunkSize;
+                    int length = Math.min(chunkSize, payload.length - offset);
+                    return DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(payload, offset, length));
+                });
+    }
+
+    private static Map<String, Object> track(int i) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("title", "Track " + i);
+        attributes.put("isrc", "DEABC" + String.format("%07d", i));
+        attributes.put("duration", "PT3M" + (i % 60) + "S");
+        attributes.put("copyright", Map.of("text", "(P) 2020 Label " + i));
+        attributes.put("explicit", i % 7 == 0);
+        attributes.put("popularity", (i % 100) / 100.0);
+        attributes.put("availability", List.of("STREAM", "DJ"));
+        attributes.put("mediaTags", List.of("LOSSLESS", "HIRES_LOSSLESS"));
+        attributes.put("externalLinks", externalLinks("tracks", i));
+
+        Map<String, Object> resource = resource(String.valueOf(100_000 + i), "tracks", attributes);
+        resource.put("relationships", Map.of(
+                "artists", Map.of(
+                        "data", List.of(Map.of("id", String.valueOf(200_000 + i), "type", "artists")),
+                        "links", Map.of("self", "/tracks/" + (100_000 + i) + "/relationships/artists")),
+                "albums", Map.of(
+                        "data", List.of(Map.of("id", String.valueOf(300_000 + i), "type", "albums")),
+                        "links", Map.of("self", "/tracks/" + (100_000 + i) + "/relationships/albums"))));
+        return resource;
+    }
+
+    private static Map<String, Object> artist(int i) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("name", "Artist " + i);
+        attributes.put("popularity", (i % 100) / 100.0);
+        attributes.put("imageLinks", images(i));
+        attributes.put("externalLinks", externalLinks("artists", i));
+        return resource(String.valueOf(200_000 + i), "artists", attributes);
+    }
+
+    private static Map<String, Object> album(int i) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("title", "Album " + i);
+        attributes.put("barcodeId", "0" + (600_000_000_000L + i));
+        attributes.put("numberOfVolumes", 1);
+        attributes.put("numberOfItems", 12);
+        attributes.put("duration", "PT45M12S");
+        attributes.put("explicit", false);
+        attributes.put("releaseDate", "2020-01-" + String.format("%02d", i % 28 + 1));
+        attributes.put("copyright", Map.of("text", "(C) 2020 Label " + i));
+        attributes.put("popularity", (i % 100) / 100.0);
+        attributes.put("availability", List.of("STREAM", "DJ"));
+        attributes.put("mediaTags", List.of("LOSSLESS"));
+        attributes.put("imageLinks", images(i));
+        attributes.put("videoLinks", List.of());
+        attributes.put("externalLinks", externalLinks("albums", i));
+        return resource(String.valueOf(300_000 + i), "albums", attributes);
+    }
+
+    private static List<Map<String, Object>> images(int i) {
+        List<Map<String, Object>> images = new ArrayList<>();
+        for (int size : new int[]{160, 320, 640, 750, 1080, 1280}) {
+            images.add(Map.of(
+                    "href", "https://resources.tidal.com/images/" + Integer.toHexString(i * 31 + size) + "/" + size + "x" + size + ".jpg",
+                    "meta", Map.of("width", size, "height", size)));
+        }
+        return images;
+    }
+
+    private static List<Map<String, Object>> externalLinks(String type, int i) {
+        return List.of(Map.of(
+                "href", "https://tidal.com/browse/" + type + "/" + i,
+                "meta", Map.of("type", "TIDAL_SHARING")));
+    }
+
+    private static Map<String, Object> resource(String id, String type, Map<String, Object> attributes) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("id", id);
+        resource.put("type", type);
+        resource.put("attributes", attributes);
+        return resource;
+    }
+}
@@ -0,0 +1,106 @@
+package com.rowa.musicbridge.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalResourceDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalSearchResultsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding search responses with typed attribute DTOs against the former
+ * {@code Map<String, Object>} attributes.
+ * <p>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rowa.musicbridge.benchmark.TidalDeserializationBenchmark}
+ * and compare ops/s and gc.alloc.rate.norm (bytes allocated per operation).
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TidalDeserializationBenchmark {
+
+    @Param({"50", "500"})
+    public int trackCount;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        // Wie der WebClient Codec: unbekannte Properties werden ignoriert
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        payload = SyntheticTidalPayloads.searchResponse(trackCount);
+    }
+
+    @Benchmark
+    public void typedAttributes(Blackhole blackhole) throws IOException {
+        TidalSearchResultsResponse response = objectMapper.readValue(payload, TidalSearchResultsResponse.class);
+        for (TidalResourceDto resource : response.getIncluded()) {
+            if ("artists".equals(resource.getType())) {
+                blackhole.consume(TidalArtistDto.fromResource(resource));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapAttributes(Blackhole blackhole) throws IOException {
+        MapSearchResponse response = objectMapper.readValue(payload, MapSearchResponse.class);
+        for (MapResource resource : response.included) {
+            if ("artists".equals(resource.type) && resource.attributes != null) {
+                blackhole.consume(TidalArtistDto.builder()
+                        .id(resource.id)
+                        .name((String) resource.attributes.get("name"))
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Bisherige Form der DTOs: alle Attribute und Relationships als Maps
+     */
+    public static class MapSearchResponse {
+        public MapResource data;
+        public List<MapResource> included;
+        public Map<String, Object> links;
+    }
+
+    public static class MapResource {
+        public String id;
+        public String type;
+        public Map<String, Object> attributes;
+        public Map<String, Object> relationships;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TidalDeserializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.rowa.musicbridge.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.JsonApiStreamDecoder;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalResourceDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalSearchResultsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares buffering a multi-megabyte search response before binding it (the former
+ * {@code bodyToMono} path with a 16MB codec limit) against decoding it incrementally with
+ * {@link JsonApiStreamDecoder}. The payload arrives in 8KB buffers like a Netty response.
+ * <p>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rowa.musicbridge.benchmark.TidalStreamingDecodeBenchmark}
+ * and compare gc.alloc.rate.norm; for peak heap additionally run both modes with a small {@code -Xmx}
+ * (e.g. {@code -jvmArgs -Xmx32m}), the buffered mode fails first.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TidalStreamingDecodeBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"1000", "5000"})
+    public int trackCount;
+
+    private ObjectMapper objectMapper;
+    private JsonApiStreamDecoder decoder;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        decoder = new JsonApiStreamDecoder(objectMapper, 256 * 1024);
+        payload = SyntheticTidalPayloads.searchResponse(trackCount);
+    }
+
+    @Benchmark
+    public void buffered(Blackhole blackhole) throws IOException {
+        DataBuffer joined = DataBufferUtils.join(SyntheticTidalPayloads.chunked(payload, CHUNK_SIZE)).block();
+        TidalSearchResultsResponse response;
+        try {
+            response = objectMapper.readValue(joined.asInputStream(), TidalSearchResultsResponse.class);
+        } finally {
+            DataBufferUtils.release(joined);
+        }
+        for (TidalResourceDto resource : response.getIncluded()) {
+            if ("tracks".equals(resource.getType())) {
+                blackhole.consume(resource.getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        decoder.decode(SyntheticTidalPayloads.chunked(payload, CHUNK_SIZE))
+                .filter(element -> element.isIncluded("tracks"))
+                .doOnNext(element -> blackhole.consume(element.resource().getId()))
+                .blockLast();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TidalStreamingDecodeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rowa.musicbridge.controller;
+
+import com.rowa.musicbridge.apis.controller.SyncController;
+import com.rowa.musicbridge.apis.dto.SyncJobResponse;
+import com.rowa.musicbridge.domain.entity.SyncJobStatus;
+import com.rowa.musicbridge.domain.exception.ResourceNotFoundException;
+import com.rowa.musicbridge.sync.SyncJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SyncController.class)
+@DisplayName("SyncController Integration Tests")
+class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SyncJobService syncJobService;
+
+    private UUID jobId;
+    private SyncJobResponse queuedJob;
+
+    @BeforeEach
+    void setUp() {
+        jobId = UUID.randomUUID();
+        queuedJob = SyncJobResponse.builder()
+                .id(jobId)
+                .status(SyncJobStatus.QUEUED)
+                .stage("queued")
+                .query("rock")
+                .trackLimit(50)
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/sync/trigger - should queue a job and return 202 with the job id")
+    void triggerSync_Accepted() throws Exception {
+        // Given
+        when(syncJobService.submit("rock", 50)).thenReturn(queuedJob);
+
+        // When & Then
+        mockMvc.perform(post("/api/sync/trigger").param("query", "rock").param("trackLimit", "50"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/sync/jobs/" + jobId))
+                .andExpect(jsonPath("$.jobId", is(jobId.toString())))
+                .andExpect(jsonPath("$.status", is("accepted")))
+                .andExpect(jsonPath("$.job.status", is("QUEUED")));
+
+        verify(syncJobService).submit("rock", 50);
+    }
+
+    @Test
+    @DisplayName("POST /api/sync/trigger - should return 400 for a non-positive trackLimit without queuing a job")
+    void triggerSync_InvalidTrackLimit() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/sync/trigger").param("trackLimit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(syncJobService, never()).submit(any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/sync/trigger - should return 503 when the job queue is full")
+    void triggerSync_Rejected() throws Exception {
+        // Given
+        when(syncJobService.submit(null, null)).thenThrow(new RejectedExecutionException("queue full"));
+
+        // When & Then
+        mockMvc.perform(post("/api/sync/trigger"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is("rejected")));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/jobs/{id} - should return the job status")
+    void getJob_Success() throws Exception {
+        // Given
+        SyncJobResponse running = SyncJobResponse.builder()
+                .id(jobId)
+                .status(SyncJobStatus.RUNNING)
+                .stage("album-fetch")
+                .artistsFound(100)
+                .artistsProcessed(40)
+                .artistsPerSecond(8.0)
+                .etaSeconds(8L)
+                .build();
+        when(syncJobService.getJob(jobId)).thenReturn(running);
+
+        // When & Then
+        mockMvc.perform(get("/api/sync/jobs/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.stage", is("album-fetch")))
+                .andExpect(jsonPath("$.artists_processed", is(40)))
+                .andExpect(jsonPath("$.eta_seconds", is(8)));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/jobs/{id} - should return 404 for an unknown job")
+    void getJob_NotFound() throws Exception {
+        // Given
+        when(syncJobService.getJob(jobId)).thenThrow(new ResourceNotFoundException("Sync job not found with id: " + jobId));
+
+        // When & Then
+        mockMvc.perform(get("/api/sync/jobs/{id}", jobId))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,143 @@
+package com.rowa.musicbridge.repository;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository.MergeResult;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("CatalogCopyRepository Tests")
+class CatalogCopyRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogCopyRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CatalogCopyRepository(jdbcTemplate);
+    }
+
+    private String artistName(String tidalId) {
+        return jdbcTemplate.queryForObject("SELECT name FROM artists WHERE tidal_id = ?", String.class, tidalId);
+    }
+
+    private String albumTitle(String tidalId) {
+        return jdbcTemplate.queryForObject("SELECT title FROM albums WHERE tidal_id = ?", String.class, tidalId);
+    }
+
+    @Test
+    @DisplayName("should copy and merge artists and albums, including CSV special characters")
+    void importsNewRows() {
+        // When
+        MergeResult result = repository.importCatalog(
+                List.of(new ArtistRow("artist-1", "Guns \"N\" Roses"), new ArtistRow("artist-2", "東京, 夜")),
+                List.of(new AlbumRow("album-1", "Appetite for\nDestruction", LocalDate.of(1987, 7, 21), "artist-1"),
+                        new AlbumRow("album-2", "", null, "artist-2")));
+
+        // Then
+        assertThat(result).isEqualTo(new MergeResult(new CatalogWriteCounts(2, 0, 0), new CatalogWriteCounts(2, 0, 0)));
+        assertThat(artistName("artist-1")).isEqualTo("Guns \"N\" Roses");
+        assertThat(artistName("artist-2")).isEqualTo("東京, 夜");
+        assertThat(albumTitle("album-1")).isEqualTo("Appetite for\nDestruction");
+        // Leerer String bleibt leer, fehlendes Datum wird NULL
+        assertThat(albumTitle("album-2")).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT release_date FROM albums WHERE tidal_id = 'album-2'",
+                LocalDate.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT artist_name FROM albums WHERE tidal_id = 'album-1'",
+                String.class)).isEqualTo("Guns \"N\" Roses");
+    }
+
+    @Test
+    @DisplayName("should update existing rows but leave manually modified ones untouched")
+    void respectsManualModifications() {
+        // Given
+        repository.importCatalog(
+                List.of(new ArtistRow("artist-1", "Metallica"), new ArtistRow("artist-2", "Slayer")),
+                List.of(new AlbumRow("album-1", "Master of Puppets", null, "artist-1"),
+                        new AlbumRow("album-2", "Reign in Blood", null, "artist-2")));
+        jdbcTemplate.update("UPDATE artists SET name = 'Manual', manually_modified = true WHERE tidal_id = 'artist-2'");
+        jdbcTemplate.update("UPDATE albums SET title = 'Manual', manually_modified = true WHERE tidal_id = 'album-1'");
+
+        // When - zweiter Import in derselben Transaktion nutzt die Staging-Tabellen erneut
+        MergeResult result = repository.importCatalog(
+                List.of(new ArtistRow("artist-1", "Metallica (Remastered)"), new ArtistRow("artist-2", "Slayer (Remastered)")),
+                List.of(new AlbumRow("album-1", "Master of Puppets (Remastered)", null, "artist-1"),
+                        new AlbumRow("album-2", "Reign in Blood (Remastered)", null, "artist-2")));
+
+        // Then
+        assertThat(result).isEqualTo(new MergeResult(new CatalogWriteCounts(0, 1, 1), new CatalogWriteCounts(0, 1, 1)));
+        assertThat(artistName("artist-1")).isEqualTo("Metallica (Remastered)");
+        assertThat(artistName("artist-2")).isEqualTo("Manual");
+        assertThat(albumTitle("album-1")).isEqualTo("Manual");
+        assertThat(albumTitle("album-2")).isEqualTo("Reign in Blood (Remastered)");
+    }
+
+    @Test
+    @DisplayName("duplicate tidal ids should resolve to the last row, albums of unknown artists are skipped")
+    void handlesDuplicatesAndUnknownArtists() {
+        // When
+        MergeResult result = repository.importCatalog(
+                List.of(new ArtistRow("artist-1", "Old"), new ArtistRow("artist-1", "Metallica")),
+                List.of(new AlbumRow("album-1", "Old", null, "artist-1"),
+                        new AlbumRow("album-1", "Master of Puppets", null, "artist-1"),
+                        new AlbumRow("album-9", "Orphan", null, "artist-unknown")));
+
+        // Then
+        assertThat(result).isEqualTo(new MergeResult(new CatalogWriteCounts(1, 0, 0), new CatalogWriteCounts(1, 0, 0)));
+        assertThat(artistName("artist-1")).isEqualTo("Metallica");
+        assertThat(albumTitle("album-1")).isEqualTo("Master of Puppets");
+    }
+
+    @Test
+    @DisplayName("should count rows with an unchanged content hash as unchanged and not rewrite them")
+    void skipsUnchangedRows() {
+        // Given
+        List<ArtistRow> artists = List.of(new ArtistRow("artist-1", "Metallica"));
+        List<AlbumRow> albums = List.of(
+                new AlbumRow("album-1", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist-1"),
+                new AlbumRow("album-2", "Ride the Lightning", null, "artist-1"));
+        repository.importCatalog(artists, albums);
+        jdbcTemplate.update("UPDATE albums SET updated_at = TIMESTAMP '2000-01-01 00:00:00'");
+
+        // When
+        MergeResult result = repository.importCatalog(artists, List.of(albums.get(0),
+                new AlbumRow("album-2", "Ride the Lightning", LocalDate.of(1984, 7, 27), "artist-1")));
+
+        // Then
+        assertThat(result).isEqualTo(new MergeResult(new CatalogWriteCounts(0, 0, 1), new CatalogWriteCounts(0, 1, 1)));
+        assertThat(jdbcTemplate.queryForObject("SELECT tidal_id FROM albums WHERE updated_at > TIMESTAMP '2000-01-01 00:00:00'",
+                String.class)).isEqualTo("album-2");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("should refuse to run without a transaction, the staging tables would be dropped immediately")
+    void requiresTransaction() {
+        assertThatThrownBy(() -> repository.importCatalog(List.of(), List.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
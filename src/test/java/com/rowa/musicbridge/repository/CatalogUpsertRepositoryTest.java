@@ -0,0 +1,145 @@
+package com.rowa.musicbridge.repository;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("CatalogUpsertRepository Tests")
+class CatalogUpsertRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Kleine Batches, damit auch das Aufteilen auf mehrere Statements getestet wird
+        repository = new CatalogUpsertRepository(jdbcTemplate, 2);
+    }
+
+    private String artistName(String tidalId) {
+        return jdbcTemplate.queryForObject("SELECT name FROM artists WHERE tidal_id = ?", String.class, tidalId);
+    }
+
+    private Map<String, Object> album(String tidalId) {
+        return jdbcTemplate.queryForMap("""
+                SELECT al.title, al.release_date, al.artist_name, ar.tidal_id AS artist_tidal_id
+                FROM albums al JOIN artists ar ON ar.id = al.artist_id
+                WHERE al.tidal_id = ?""", tidalId);
+    }
+
+    @Test
+    @DisplayName("should insert new artists and albums linked by the artist tidal_id")
+    void insertsNewRows() {
+        // When
+        CatalogWriteCounts artists = repository.upsertArtists(List.of(
+                new ArtistRow("artist-1", "Metallica"),
+                new ArtistRow("artist-2", "Slayer"),
+                new ArtistRow("artist-3", "Anthrax")));
+        CatalogWriteCounts albums = repository.upsertAlbums(List.of(
+                new AlbumRow("album-1", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist-1"),
+                new AlbumRow("album-2", "Reign in Blood", null, "artist-2")));
+
+        // Then
+        assertThat(artists).isEqualTo(new CatalogWriteCounts(3, 0, 0));
+        assertThat(albums).isEqualTo(new CatalogWriteCounts(2, 0, 0));
+        assertThat(album("album-1")).containsEntry("title", "Master of Puppets")
+                .containsEntry("artist_name", "Metallica")
+                .containsEntry("artist_tidal_id", "artist-1");
+        assertThat(album("album-2").get("release_date")).isNull();
+    }
+
+    @Test
+    @DisplayName("should update existing rows but leave manually modified ones untouched")
+    void respectsManualModifications() {
+        // Given
+        repository.upsertArtists(List.of(new ArtistRow("artist-1", "Metallica"), new ArtistRow("artist-2", "Slayer")));
+        repository.upsertAlbums(List.of(
+                new AlbumRow("album-1", "Master of Puppets", null, "artist-1"),
+                new AlbumRow("album-2", "Reign in Blood", null, "artist-2")));
+        jdbcTemplate.update("UPDATE artists SET name = 'Manual', manually_modified = true WHERE tidal_id = 'artist-2'");
+        jdbcTemplate.update("UPDATE albums SET title = 'Manual', manually_modified = true WHERE tidal_id = 'album-1'");
+
+        // When
+        CatalogWriteCounts artists = repository.upsertArtists(List.of(
+                new ArtistRow("artist-1", "Metallica (Remastered)"), new ArtistRow("artist-2", "Slayer (Remastered)")));
+        CatalogWriteCounts albums = repository.upsertAlbums(List.of(
+                new AlbumRow("album-1", "Master of Puppets (Remastered)", null, "artist-1"),
+                new AlbumRow("album-2", "Reign in Blood (Remastered)", null, "artist-2")));
+
+        // Then
+        assertThat(artists).isEqualTo(new CatalogWriteCounts(0, 1, 1));
+        assertThat(albums).isEqualTo(new CatalogWriteCounts(0, 1, 1));
+        assertThat(artistName("artist-1")).isEqualTo("Metallica (Remastered)");
+        assertThat(artistName("artist-2")).isEqualTo("Manual");
+        assertThat(album("album-1")).containsEntry("title", "Manual");
+        // Albums übernehmen den (manuellen) Namen ihres Artists
+        assertThat(album("album-2")).containsEntry("title", "Reign in Blood (Remastered)")
+                .containsEntry("artist_name", "Manual");
+    }
+
+    @Test
+    @DisplayName("should accept duplicate tidal ids in one call and skip albums of unknown artists")
+    void handlesDuplicatesAndUnknownArtists() {
+        // When
+        repository.upsertArtists(List.of(
+                new ArtistRow("artist-1", "Old"), new ArtistRow("artist-1", "Metallica")));
+        CatalogWriteCounts albums = repository.upsertAlbums(List.of(
+                new AlbumRow("album-1", "Master of Puppets", null, "artist-1"),
+                new AlbumRow("album-9", "Orphan", null, "artist-unknown")));
+
+        // Then
+        assertThat(artistName("artist-1")).isEqualTo("Metallica");
+        assertThat(albums).isEqualTo(new CatalogWriteCounts(1, 0, 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM albums", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should leave rows with an unchanged content hash untouched and count them as unchanged")
+    void skipsUnchangedRows() {
+        // Given
+        List<ArtistRow> artists = List.of(new ArtistRow("artist-1", "Metallica"), new ArtistRow("artist-2", "Slayer"));
+        List<AlbumRow> albums = List.of(
+                new AlbumRow("album-1", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist-1"),
+                new AlbumRow("album-2", "Reign in Blood", null, "artist-2"));
+        repository.upsertArtists(artists);
+        repository.upsertAlbums(albums);
+        // Zeilen aus der Zeit vor content_hash werden beim nächsten Sync einmal aktualisiert
+        jdbcTemplate.update("UPDATE albums SET content_hash = NULL WHERE tidal_id = 'album-2'");
+        jdbcTemplate.update("UPDATE albums SET updated_at = TIMESTAMP '2000-01-01 00:00:00'");
+
+        // When
+        CatalogWriteCounts artistWrites = repository.upsertArtists(artists);
+        CatalogWriteCounts albumWrites = repository.upsertAlbums(albums);
+
+        // Then
+        assertThat(artistWrites).isEqualTo(new CatalogWriteCounts(0, 0, 2));
+        assertThat(albumWrites).isEqualTo(new CatalogWriteCounts(0, 1, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM albums WHERE updated_at > TIMESTAMP '2000-01-01 00:00:00'",
+                Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT content_hash FROM albums WHERE tidal_id = 'album-2'", Long.class))
+                .isEqualTo(albums.get(1).contentHash());
+    }
+}
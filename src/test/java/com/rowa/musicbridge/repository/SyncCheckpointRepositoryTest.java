@@ -0,0 +1,261 @@
+package com.rowa.musicbridge.repository;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.exception.SyncLeaseLostException;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.Role;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunAssignment;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunStatus;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.SyncRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("SyncCheckpointRepository Tests")
+class SyncCheckpointRepositoryTest {
+
+    private static final List<ArtistRow> ARTISTS = List.of(
+            new ArtistRow("artist-1", "Metallica"),
+            new ArtistRow("artist-2", "Slayer"),
+            new ArtistRow("artist-3", "Anthrax"));
+
+    private static final int LEASE_SECONDS = 300;
+
+    // Negativer Lease: sofort abgelaufen, wie bei einer Instanz, die gestorben ist
+    private static final int EXPIRED_LEASE = -1;
+
+    private static final String INSTANCE = "instance-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SyncCheckpointRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SyncCheckpointRepository(jdbcTemplate);
+    }
+
+    private String status(UUID runId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM sync_runs WHERE id = ?", String.class, runId);
+    }
+
+    private String shardState(UUID runId, int shard) {
+        return jdbcTemplate.queryForObject("SELECT state FROM sync_run_shards WHERE run_id = ? AND shard = ?",
+                String.class, runId, shard);
+    }
+
+    private LocalDateTime anHourAgo() {
+        return LocalDateTime.now().minusHours(1);
+    }
+
+    private RunAssignment joinOrStart(String query, int leaseSeconds) {
+        return repository.joinOrStart(query, 50, true, anHourAgo(), leaseSeconds);
+    }
+
+    @Test
+    @DisplayName("joinOrStart should start a run, let others join it while its lease is live and resume it once expired")
+    void joinsOrStartsRuns() {
+        // Given
+        RunAssignment started = joinOrStart("rock", LEASE_SECONDS);
+        RunAssignment abandoned = joinOrStart("pop", EXPIRED_LEASE);
+        repository.publishArtists(abandoned.run().id(), ARTISTS, 2, EXPIRED_LEASE);
+
+        // When
+        RunAssignment joined = joinOrStart("rock", LEASE_SECONDS);
+        RunAssignment resumed = joinOrStart("pop", LEASE_SECONDS);
+        RunAssignment other = repository.joinOrStart("rock", 100, true, anHourAgo(), LEASE_SECONDS);
+
+        // Then
+        assertThat(started.role()).isEqualTo(Role.STARTED);
+        assertThat(started.run().stage()).isEqualTo("search");
+        assertThat(joined.role()).isEqualTo(Role.JOINED);
+        assertThat(joined.run().id()).isEqualTo(started.run().id());
+        assertThat(resumed.role()).isEqualTo(Role.RESUMED);
+        assertThat(resumed.run().id()).isEqualTo(abandoned.run().id());
+        assertThat(resumed.run().artistsFound()).isEqualTo(3);
+        assertThat(resumed.run().leaseExpired()).isFalse();
+        assertThat(other.role()).isEqualTo(Role.STARTED);
+        assertThat(other.run().id()).isNotEqualTo(started.run().id());
+    }
+
+    @Test
+    @DisplayName("joinOrStart should start a new run instead of resuming when resume is disabled or the run is too old")
+    void startsNewRunWithoutResume() {
+        // Given
+        UUID aborted = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(aborted, ARTISTS, 2, LEASE_SECONDS);
+        repository.finish(aborted, "done");
+
+        // When
+        RunAssignment disabled = repository.joinOrStart("rock", 50, false, anHourAgo(), LEASE_SECONDS);
+        repository.finish(disabled.run().id(), "done");
+        RunAssignment tooOld = repository.joinOrStart("rock", 50, true, LocalDateTime.now().plusHours(1), LEASE_SECONDS);
+
+        // Then
+        assertThat(status(aborted)).isEqualTo("ABORTED");
+        assertThat(disabled.role()).isEqualTo(Role.STARTED);
+        assertThat(disabled.run().id()).isNotEqualTo(aborted);
+        assertThat(tooOld.role()).isEqualTo(Role.STARTED);
+        assertThat(tooOld.run().id()).isNotIn(aborted, disabled.run().id());
+    }
+
+    @Test
+    @DisplayName("claimShard should hand out every shard once and take over shards whose claim expired")
+    void claimsShards() {
+        // Given
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        SyncRun run = repository.publishArtists(runId, ARTISTS, 2, LEASE_SECONDS);
+
+        // When
+        var first = repository.claimShard(runId, INSTANCE, EXPIRED_LEASE);
+        var takenOver = repository.claimShard(runId, "instance-2", LEASE_SECONDS);
+        var second = repository.claimShard(runId, "instance-2", LEASE_SECONDS);
+        var none = repository.claimShard(runId, "instance-2", LEASE_SECONDS);
+
+        // Then
+        assertThat(run.stage()).isEqualTo("album-fetch");
+        assertThat(run.artistsFound()).isEqualTo(3);
+        assertThat(first).contains(0);
+        assertThat(takenOver).contains(0);
+        assertThat(second).contains(1);
+        assertThat(none).isEmpty();
+        assertThat(repository.pendingArtists(runId, 0)).containsExactly(ARTISTS.get(0), ARTISTS.get(1));
+        assertThat(repository.pendingArtists(runId, 1)).containsExactly(ARTISTS.get(2));
+    }
+
+    @Test
+    @DisplayName("checkpoints should leave failed and unprocessed artists pending, in search order")
+    void checkpointsArtists() {
+        // Given
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(runId, ARTISTS, 3, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+
+        // When
+        repository.checkpoint(runId, 0, INSTANCE, "persist", List.of("artist-1", "artist-2"), List.of("artist-2"), LEASE_SECONDS);
+        repository.checkpoint(runId, 0, INSTANCE, "persist", List.of("artist-1"), List.of(), LEASE_SECONDS);
+
+        // Then - artist-1 zählt nur einmal
+        assertThat(repository.pendingArtists(runId, 0)).containsExactly(ARTISTS.get(1), ARTISTS.get(2));
+        assertThat(repository.findRun(runId)).map(SyncRun::stage).contains("persist");
+        assertThat(repository.findRun(runId)).map(SyncRun::artistsDone).contains(1);
+    }
+
+    @Test
+    @DisplayName("releaseShard should mark the shard done, failed or pending again after an abort")
+    void releasesShards() {
+        // Given
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(runId, ARTISTS, 1, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+        repository.checkpoint(runId, 0, INSTANCE, "persist", List.of("artist-1"), List.of(), LEASE_SECONDS);
+        repository.checkpoint(runId, 1, INSTANCE, "persist", List.of("artist-2"), List.of("artist-2"), LEASE_SECONDS);
+
+        // When
+        repository.releaseShard(runId, 0, INSTANCE, false);
+        repository.releaseShard(runId, 1, INSTANCE, false);
+        repository.releaseShard(runId, 2, INSTANCE, true);
+
+        // Then
+        assertThat(shardState(runId, 0)).isEqualTo("DONE");
+        assertThat(shardState(runId, 1)).isEqualTo("FAILED");
+        assertThat(shardState(runId, 2)).isEqualTo("PENDING");
+        assertThat(repository.claimShard(runId, "instance-2", LEASE_SECONDS)).contains(2);
+    }
+
+    @Test
+    @DisplayName("an instance whose shard was taken over should neither renew, checkpoint nor release it")
+    void detectsLostShardLeases() {
+        // Given - instance-1 hat den Lease verpasst, instance-2 hat den Shard übernommen
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(runId, ARTISTS, 3, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, EXPIRED_LEASE);
+        repository.claimShard(runId, "instance-2", LEASE_SECONDS);
+
+        // When / Then
+        assertThat(repository.renewShardLease(runId, 0, INSTANCE, LEASE_SECONDS)).isFalse();
+        assertThatThrownBy(() -> repository.checkpoint(runId, 0, INSTANCE, "persist", List.of("artist-1"), List.of(),
+                LEASE_SECONDS)).isInstanceOf(SyncLeaseLostException.class);
+        assertThat(repository.releaseShard(runId, 0, INSTANCE, false)).isFalse();
+        assertThat(repository.findRun(runId)).map(SyncRun::artistsDone).contains(0);
+        assertThat(shardState(runId, 0)).isEqualTo("CLAIMED");
+        assertThat(repository.renewShardLease(runId, 0, "instance-2", LEASE_SECONDS)).isTrue();
+        assertThat(repository.releaseShard(runId, 0, "instance-2", true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("renewRunLease should keep a running run from being resumed by other instances")
+    void renewsRunLeases() {
+        // Given
+        UUID runId = joinOrStart("rock", EXPIRED_LEASE).run().id();
+
+        // When
+        boolean renewed = repository.renewRunLease(runId, LEASE_SECONDS);
+
+        // Then
+        assertThat(renewed).isTrue();
+        assertThat(joinOrStart("rock", LEASE_SECONDS).role()).isEqualTo(Role.JOINED);
+    }
+
+    @Test
+    @DisplayName("finish should wait for live claims of other instances and complete the run once all shards are done")
+    void finishesRuns() {
+        // Given
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(runId, ARTISTS, 3, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+        repository.checkpoint(runId, 0, INSTANCE, "persist", List.of("artist-1", "artist-2", "artist-3"), List.of(), LEASE_SECONDS);
+
+        // When
+        var whileClaimed = repository.finish(runId, "done");
+        repository.releaseShard(runId, 0, INSTANCE, false);
+        var released = repository.finish(runId, "done");
+
+        // Then
+        assertThat(whileClaimed).isEmpty();
+        assertThat(released).contains(RunStatus.COMPLETED);
+        assertThat(status(runId)).isEqualTo("COMPLETED");
+        assertThat(repository.pendingArtists(runId, 0)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM sync_run_shards WHERE run_id = ?",
+                Integer.class, runId)).isZero();
+    }
+
+    @Test
+    @DisplayName("finish should abort a run with pending shards and keep its artists for the resume")
+    void abortsRunsWithPendingShards() {
+        // Given
+        UUID runId = joinOrStart("rock", LEASE_SECONDS).run().id();
+        repository.publishArtists(runId, ARTISTS, 2, LEASE_SECONDS);
+        repository.claimShard(runId, INSTANCE, LEASE_SECONDS);
+        repository.releaseShard(runId, 0, INSTANCE, true);
+
+        // When
+        var finished = repository.finish(runId, "done");
+
+        // Then
+        assertThat(finished).contains(RunStatus.ABORTED);
+        assertThat(repository.pendingArtists(runId, 0)).containsExactly(ARTISTS.get(0), ARTISTS.get(1));
+        assertThat(joinOrStart("rock", LEASE_SECONDS).role()).isEqualTo(Role.RESUMED);
+    }
+}
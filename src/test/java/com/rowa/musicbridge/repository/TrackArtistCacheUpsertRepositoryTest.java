@@ -0,0 +1,88 @@
+package com.rowa.musicbridge.repository;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.repository.TrackArtistCacheUpsertRepository;
+import com.rowa.musicbridge.domain.repository.TrackArtistCacheUpsertRepository.TrackArtistRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TrackArtistCacheUpsertRepository Tests")
+class TrackArtistCacheUpsertRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TrackArtistCacheUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TrackArtistCacheUpsertRepository(jdbcTemplate);
+    }
+
+    private String artists(String trackId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT artists FROM track_artist_cache WHERE tidal_track_id = ?", String.class, trackId);
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM track_artist_cache", Integer.class);
+    }
+
+    @Test
+    @DisplayName("should insert new tracks and replace the artists of known ones, never with older entries")
+    void upsertsTracks() {
+        // Given
+        repository.upsert(List.of(
+                new TrackArtistRow("track-1", "[{\"id\":\"1\"}]", NOW),
+                new TrackArtistRow("track-2", "[{\"id\":\"2\"}]", NOW)));
+
+        // When - doppelte Ids im selben Aufruf: der letzte gewinnt
+        int written = repository.upsert(List.of(
+                new TrackArtistRow("track-1", "[{\"id\":\"stale\"}]", NOW.minusDays(1)),
+                new TrackArtistRow("track-2", "[{\"id\":\"old\"}]", NOW.plusDays(1)),
+                new TrackArtistRow("track-2", "[{\"id\":\"22\"}]", NOW.plusDays(1)),
+                new TrackArtistRow("track-3", "[{\"id\":\"3\"}]", NOW)));
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(rows()).isEqualTo(3);
+        assertThat(artists("track-1")).isEqualTo("[{\"id\":\"1\"}]");
+        assertThat(artists("track-2")).isEqualTo("[{\"id\":\"22\"}]");
+        assertThat(artists("track-3")).isEqualTo("[{\"id\":\"3\"}]");
+    }
+
+    @Test
+    @DisplayName("should delete only entries cached before the given time")
+    void deletesExpiredEntries() {
+        // Given
+        repository.upsert(List.of(
+                new TrackArtistRow("track-1", "[]", NOW.minusDays(31)),
+                new TrackArtistRow("track-2", "[]", NOW.minusDays(1))));
+
+        // When
+        int deleted = repository.deleteCachedBefore(NOW.minusDays(30));
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(rows()).isEqualTo(1);
+        assertThat(artists("track-2")).isEqualTo("[]");
+    }
+}
@@ -0,0 +1,247 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.apis.dto.SyncJobResponse;
+import com.rowa.musicbridge.domain.entity.SyncJobEntity;
+import com.rowa.musicbridge.domain.entity.SyncJobStatus;
+import com.rowa.musicbridge.domain.exception.ResourceNotFoundException;
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+import com.rowa.musicbridge.domain.repository.SyncJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncJobService Unit Tests")
+class SyncJobServiceTest {
+
+    @Mock
+    private TidalSyncService tidalSyncService;
+
+    @Mock
+    private SyncJobRepository syncJobRepository;
+
+    private static final String INSTANCE_ID = "instance-1";
+
+    // In-Memory "Tabelle" hinter dem Repository-Mock
+    private final Map<UUID, SyncJobEntity> jobs = new ConcurrentHashMap<>();
+
+    private SyncJobService syncJobService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(syncJobRepository.save(any(SyncJobEntity.class))).thenAnswer(invocation -> {
+            SyncJobEntity job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(UUID.randomUUID());
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(syncJobRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<UUID>getArgument(0))));
+        syncJobService = new SyncJobService(tidalSyncService, syncJobRepository, 1, 1, INSTANCE_ID, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        syncJobService.shutdown();
+    }
+
+    private static SyncResult result(boolean aborted, String abortReason) {
+        return new SyncResult("rock", 50, 10, 0, 8, 1, 1, 42,
+                new CatalogWriteCounts(3, 2, 3), new CatalogWriteCounts(20, 10, 12), aborted, abortReason, Map.of(), Map.of());
+    }
+
+    private SyncJobEntity awaitFinished(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            SyncJobEntity job = jobs.get(id);
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("sync job " + id + " did not finish");
+    }
+
+    @Test
+    @DisplayName("submit - should return the queued job at once and store the result when the sync finished")
+    void submit_RunsJobInBackground() throws Exception {
+        // Given
+        when(tidalSyncService.syncArtistsAndAlbums(eq("rock"), eq(50), any(SyncProgress.class)))
+                .thenReturn(result(false, null));
+
+        // When
+        SyncJobResponse queued = syncJobService.submit("rock", 50);
+        SyncJobEntity finished = awaitFinished(queued.getId());
+
+        // Then
+        assertThat(queued.getStatus()).isEqualTo(SyncJobStatus.QUEUED);
+        assertThat(finished.getStatus()).isEqualTo(SyncJobStatus.COMPLETED);
+        assertThat(finished.getArtistsProcessed()).isEqualTo(8);
+        assertThat(finished.getAlbumsProcessed()).isEqualTo(42);
+        assertThat(finished.getStartedAt()).isNotNull();
+        assertThat(finished.getFinishedAt()).isNotNull();
+        assertThat(syncJobService.getJob(queued.getId()).getArtistsPerSecond()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("submit - aborted syncs and exceptions should end as ABORTED and FAILED with the error")
+    void submit_RecordsAbortsAndFailures() throws Exception {
+        // Given
+        when(tidalSyncService.syncArtistsAndAlbums(eq("rock"), eq(50), any(SyncProgress.class)))
+                .thenReturn(result(true, "albums circuit open"));
+        when(tidalSyncService.syncArtistsAndAlbums(eq("jazz"), eq(50), any(SyncProgress.class)))
+                .thenThrow(new IllegalStateException("boom"));
+
+        // When
+        SyncJobEntity aborted = awaitFinished(syncJobService.submit("rock", 50).getId());
+        SyncJobEntity failed = awaitFinished(syncJobService.submit("jazz", 50).getId());
+
+        // Then
+        assertThat(aborted.getStatus()).isEqualTo(SyncJobStatus.ABORTED);
+        assertThat(aborted.getError()).isEqualTo("albums circuit open");
+        assertThat(failed.getStatus()).isEqualTo(SyncJobStatus.FAILED);
+        assertThat(failed.getError()).isEqualTo("boom");
+    }
+
+    @Test
+    @DisplayName("getJob - should report the live progress, throughput and ETA of a running job")
+    void getJob_ReportsLiveProgress() throws Exception {
+        // Given
+        CountDownLatch progressReported = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tidalSyncService.syncArtistsAndAlbums(eq("rock"), eq(50), any(SyncProgress.class)))
+                .thenAnswer(invocation -> {
+                    SyncProgress progress = invocation.getArgument(2);
+                    progress.setStage(TidalSyncService.STAGE_ALBUM_FETCH);
+                    progress.setArtistsFound(100);
+                    progress.addArtistsProcessed(50);
+                    Thread.sleep(100);
+                    progressReported.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return result(false, null);
+                });
+
+        // When
+        UUID id = syncJobService.submit("rock", 50).getId();
+        assertThat(progressReported.await(5, TimeUnit.SECONDS)).isTrue();
+        SyncJobResponse running = syncJobService.getJob(id);
+        release.countDown();
+
+        // Then
+        assertThat(running.getStatus()).isEqualTo(SyncJobStatus.RUNNING);
+        assertThat(running.getStage()).isEqualTo("album-fetch");
+        assertThat(running.getArtistsFound()).isEqualTo(100);
+        assertThat(running.getArtistsProcessed()).isEqualTo(50);
+        assertThat(running.getArtistsPerSecond()).isPositive();
+        assertThat(running.getEtaSeconds()).isNotNull();
+        awaitFinished(id);
+    }
+
+    @Test
+    @DisplayName("submit - should reject jobs beyond the queue capacity and record them as failed")
+    void submit_RejectsWhenQueueIsFull() throws Exception {
+        // Given - ein Job läuft, einer wartet
+        CountDownLatch release = new CountDownLatch(1);
+        when(tidalSyncService.syncArtistsAndAlbums(anyString(), anyInt(), any(SyncProgress.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return result(false, null);
+                });
+        UUID running = syncJobService.submit("rock", 50).getId();
+        UUID waiting = syncJobService.submit("pop", 50).getId();
+
+        // Then
+        assertThatThrownBy(() -> syncJobService.submit("jazz", 50)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(jobs.values()).filteredOn(job -> "jazz".equals(job.getQuery()))
+                .singleElement()
+                .satisfies(job -> assertThat(job.getStatus()).isEqualTo(SyncJobStatus.FAILED));
+
+        release.countDown();
+        awaitFinished(running);
+        awaitFinished(waiting);
+    }
+
+    @Test
+    @DisplayName("getJob - should throw ResourceNotFoundException for an unknown id")
+    void getJob_NotFound() {
+        assertThatThrownBy(() -> syncJobService.getJob(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("submit - should record this instance as owner of the job and give it a lease at once")
+    void submit_OwnsJobWithLease() throws Exception {
+        // Given
+        when(tidalSyncService.syncArtistsAndAlbums(eq("rock"), eq(50), any(SyncProgress.class)))
+                .thenReturn(result(false, null));
+
+        // When
+        SyncJobEntity finished = awaitFinished(syncJobService.submit("rock", 50).getId());
+
+        // Then
+        assertThat(finished.getOwner()).isEqualTo(INSTANCE_ID);
+        verify(syncJobRepository).renewLeases(INSTANCE_ID, 300);
+    }
+
+    @Test
+    @DisplayName("failInterruptedJobs - should mark jobs left queued or running by a restart as failed")
+    void failInterruptedJobs() {
+        // Given
+        SyncJobEntity interrupted = SyncJobEntity.builder()
+                .id(UUID.randomUUID()).status(SyncJobStatus.RUNNING).stage("persist").owner(INSTANCE_ID).build();
+        when(syncJobRepository.findAbandoned(INSTANCE_ID)).thenReturn(List.of(interrupted));
+
+        // When
+        syncJobService.failInterruptedJobs(INSTANCE_ID);
+
+        // Then
+        assertThat(interrupted.getStatus()).isEqualTo(SyncJobStatus.FAILED);
+        assertThat(interrupted.getError()).contains("restart");
+        assertThat(interrupted.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("renewLeases - should renew this instance's leases and only fail jobs whose lease expired")
+    void renewLeases_FailsOnlyExpiredJobsOfOtherInstances() {
+        // Given - der Job einer anderen Instanz, deren Lease abgelaufen ist
+        SyncJobEntity expired = SyncJobEntity.builder()
+                .id(UUID.randomUUID()).status(SyncJobStatus.RUNNING).stage("persist").owner("instance-2").build();
+        when(syncJobRepository.findAbandoned(null)).thenReturn(List.of(expired));
+
+        // When
+        syncJobService.renewLeases();
+
+        // Then
+        verify(syncJobRepository).renewLeases(INSTANCE_ID, 300);
+        verify(syncJobRepository, never()).findAbandoned(INSTANCE_ID);
+        assertThat(expired.getStatus()).isEqualTo(SyncJobStatus.FAILED);
+        assertThat(expired.getError()).contains("instance-2");
+    }
+}
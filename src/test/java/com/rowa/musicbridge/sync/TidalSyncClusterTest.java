@@ -0,0 +1,170 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.repository.AlbumRepository;
+import com.rowa.musicbridge.domain.repository.ArtistRepository;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker;
+import com.rowa.musicbridge.tidalIntegration.TidalClient;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several sync service instances against one Postgres, as if the application ran on several nodes:
+ * they have to share one run instead of each syncing the whole catalog.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "tidal.client.synthetic.enabled=true",
+        "tidal.client.synthetic.artist-count=60",
+        "tidal.client.synthetic.latency=10ms",
+        "tidal.api.client-id=test",
+        "tidal.api.client-secret=test"
+})
+@ActiveProfiles("dev")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TidalSyncService Cluster Tests")
+class TidalSyncClusterTest {
+
+    private static final int INSTANCES = 3;
+
+    @Autowired
+    private TidalClient tidalClient;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @Autowired
+    private CatalogCopyRepository catalogCopyRepository;
+
+    @Autowired
+    private SyncCheckpointRepository syncCheckpointRepository;
+
+    @Autowired
+    private TidalCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        albumRepository.deleteAllInBatch();
+        artistRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM sync_runs");
+    }
+
+    /**
+     * Zählt die Suchen über alle Instanzen
+     */
+    private TidalClient countingSearches(AtomicInteger searches) {
+        return new TidalClient() {
+            @Override
+            public List<TidalAlbumDto> fetchAlbumsForArtist(String tidalArtistId) {
+                return tidalClient.fetchAlbumsForArtist(tidalArtistId);
+            }
+
+            @Override
+            public Iterator<List<TidalAlbumDto>> fetchAlbumPagesForArtist(String tidalArtistId) {
+                return tidalClient.fetchAlbumPagesForArtist(tidalArtistId);
+            }
+
+            @Override
+            public List<TidalArtistDto> searchTracksAndExtractArtists(String searchQuery, int trackLimit) {
+                searches.incrementAndGet();
+                return tidalClient.searchTracksAndExtractArtists(searchQuery, trackLimit);
+            }
+        };
+    }
+
+    private TidalSyncService instance(TidalClient client, int number) {
+        TidalSyncService service = new TidalSyncService(client, artistRepository, albumRepository,
+                catalogUpsertRepository, catalogCopyRepository, syncCheckpointRepository, circuitBreaker,
+                transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "writeMode", SyncWriteMode.UPSERT);
+        ReflectionTestUtils.setField(service, "chunkSize", 5);
+        ReflectionTestUtils.setField(service, "instanceId", "instance-" + number);
+        ReflectionTestUtils.setField(service, "shardSize", 5);
+        ReflectionTestUtils.setField(service, "pollIntervalMillis", 10L);
+        return service;
+    }
+
+    @Test
+    @DisplayName("concurrent syncs of several instances should search once and split the artists between them")
+    void instancesShareOneRun() throws Exception {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+        List<TidalSyncService> instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(instance(countingSearches(searches), i));
+        }
+
+        // When - alle Instanzen starten gleichzeitig
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<SyncResult>> futures = new ArrayList<>();
+        for (TidalSyncService service : instances) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return service.syncArtistsAndAlbums("rock", 200);
+            }));
+        }
+        startSignal.countDown();
+        List<SyncResult> results = new ArrayList<>();
+        for (Future<SyncResult> future : futures) {
+            results.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then - jeder Artist wurde von genau einer Instanz geschrieben
+        int artistsFound = results.get(0).artistsFound();
+        assertThat(searches.get()).isEqualTo(1);
+        assertThat(artistsFound).isPositive();
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.aborted()).isFalse();
+            assertThat(result.artistsFound()).isEqualTo(artistsFound);
+        });
+        assertThat(results.stream().mapToInt(result -> result.artistsProcessed() + result.artistsFailed()).sum())
+                .isEqualTo(artistsFound);
+        assertThat(results.stream().filter(result -> result.artistsProcessed() > 0).count()).isGreaterThan(1);
+        assertThat(artistRepository.count()).isEqualTo(artistsFound);
+
+        List<Map<String, Object>> runs = jdbcTemplate.queryForList("SELECT status FROM sync_runs");
+        assertThat(runs).singleElement().satisfies(run -> assertThat(run).containsEntry("status", "COMPLETED"));
+    }
+}
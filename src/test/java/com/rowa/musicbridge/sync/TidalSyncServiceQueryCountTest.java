@@ -0,0 +1,91 @@
+package com.rowa.musicbridge.sync;
+
+import com.rowa.musicbridge.PostgresTestConfiguration;
+import com.rowa.musicbridge.domain.repository.AlbumRepository;
+import com.rowa.musicbridge.domain.repository.ArtistRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the queries of a sync against Postgres with Hibernate statistics.
+ * The synthetic dev catalog supplies the artists and albums.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "tidal.client.synthetic.enabled=true",
+        "tidal.client.synthetic.artist-count=500",
+        "tidal.sync.chunk-size=25",
+        // Chunks nur nach Artists schneiden, damit die Zahl der Chunks feststeht
+        "tidal.sync.chunk-max-albums=1000000",
+        "tidal.sync.write-mode=jpa",
+        "tidal.api.client-id=test",
+        "tidal.api.client-secret=test"
+})
+@ActiveProfiles("dev")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TidalSyncService Query Count Tests")
+class TidalSyncServiceQueryCountTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalSyncServiceQueryCountTest.class);
+
+    private static final int CHUNK_SIZE = 25;
+
+    @Autowired
+    private TidalSyncService tidalSyncService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @AfterEach
+    void tearDown() {
+        albumRepository.deleteAllInBatch();
+        artistRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("re-sync of existing artists and albums should need one lookup query per chunk and entity type")
+    void resyncUsesSetBasedLookups() {
+        // Given - der erste Lauf legt alle Artists und Albums an
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SyncResult initial = tidalSyncService.syncArtistsAndAlbums("rock", 200);
+        assertThat(initial.artistsProcessed()).isPositive();
+        statistics.clear();
+
+        // When - im zweiten Lauf existiert alles bereits
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 200);
+
+        // Then
+        long chunks = (result.artistsProcessed() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long perEntityLookups = result.artistsProcessed() + result.albumsProcessed();
+        long queries = statistics.getQueryExecutionCount();
+        log.info("Re-sync of {} artists and {} albums: {} lookup queries (one SELECT per entity: {}), "
+                        + "{} statements prepared, {} entities loaded",
+                result.artistsProcessed(), result.albumsProcessed(), queries, perEntityLookups,
+                statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+
+        assertThat(result.artistsProcessed()).isEqualTo(initial.artistsProcessed());
+        // Albums werden in Batches zu 1000 tidal_ids geladen
+        assertThat(queries).isLessThanOrEqualTo(2 * chunks + result.albumsProcessed() / 1000);
+        assertThat(queries).isLessThan(perEntityLookups);
+    }
+}
@@ -3,24 +3,57 @@ package com.rowa.musicbridge.sync;
 import com.rowa.musicbridge.domain.entity.AlbumEntity;
 import com.rowa.musicbridge.domain.entity.ArtistEntity;
 import com.rowa.musicbridge.domain.repository.AlbumRepository;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.domain.exception.SyncLeaseLostException;
 import com.rowa.musicbridge.domain.repository.ArtistRepository;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository;
+import com.rowa.musicbridge.domain.repository.CatalogContentHash;
+import com.rowa.musicbridge.domain.repository.CatalogCopyRepository.MergeResult;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.AlbumRow;
+import com.rowa.musicbridge.domain.repository.CatalogUpsertRepository.ArtistRow;
+import com.rowa.musicbridge.domain.repository.CatalogWriteCounts;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.Role;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunAssignment;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.RunStatus;
+import com.rowa.musicbridge.domain.repository.SyncCheckpointRepository.SyncRun;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitOpenException;
 import com.rowa.musicbridge.tidalIntegration.TidalClient;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
 import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -37,7 +70,26 @@ class TidalSyncServiceTest {
     @Mock
     private AlbumRepository albumRepository;
 
-    @InjectMocks
+    @Mock
+    private CatalogUpsertRepository catalogUpsertRepository;
+
+    @Mock
+    private CatalogCopyRepository catalogCopyRepository;
+
+    @Mock
+    private SyncCheckpointRepository syncCheckpointRepository;
+
+    @Mock
+    private TidalCircuitBreaker circuitBreaker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static final UUID RUN_ID = UUID.randomUUID();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TidalSyncService.WriteCounter writes = new TidalSyncService.WriteCounter();
+
     private TidalSyncService tidalSyncService;
 
     private TidalArtistDto tidalArtist;
@@ -47,9 +99,28 @@ class TidalSyncServiceTest {
 
     @BeforeEach
     void setUp() {
+        tidalSyncService = new TidalSyncService(tidalClient, artistRepository, albumRepository,
+                catalogUpsertRepository, catalogCopyRepository, syncCheckpointRepository, circuitBreaker,
+                transactionManager, meterRegistry);
+        // Neuer Lauf, alle gefundenen Artists landen in Shard 0
+        lenient().when(syncCheckpointRepository.joinOrStart(anyString(), anyInt(), anyBoolean(), any(), anyInt()))
+                .thenReturn(new RunAssignment(run(RUN_ID, RunStatus.RUNNING, "search", 0, 0), Role.STARTED));
+        List<ArtistRow> published = new ArrayList<>();
+        lenient().when(syncCheckpointRepository.publishArtists(eq(RUN_ID), anyList(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    published.addAll(invocation.getArgument(1));
+                    return run(RUN_ID, RunStatus.RUNNING, "album-fetch", published.size(), 0);
+                });
+        lenient().when(syncCheckpointRepository.claimShard(any(), anyString(), anyInt()))
+                .thenReturn(Optional.of(0), Optional.empty());
+        lenient().when(syncCheckpointRepository.pendingArtists(RUN_ID, 0)).thenReturn(published);
+        lenient().when(syncCheckpointRepository.releaseShard(any(), anyInt(), anyString(), anyBoolean())).thenReturn(true);
         // Disable scheduled sync and startup sync for tests
         ReflectionTestUtils.setField(tidalSyncService, "initialSyncOnStartup", false);
         ReflectionTestUtils.setField(tidalSyncService, "scheduledSyncEnabled", false);
+        ReflectionTestUtils.setField(tidalSyncService, "writeMode", SyncWriteMode.JPA);
+        // Ein Fetch-Worker, damit Reihenfolge und Chunks deterministisch sind
+        ReflectionTestUtils.setField(tidalSyncService, "albumFetchWorkers", 1);
         // Set up common test data
         tidalArtist = TidalArtistDto.builder()
                 .id("artist123")
@@ -82,21 +153,24 @@ class TidalSyncServiceTest {
     @DisplayName("syncArtist - should create new artist when not exists")
     void syncArtist_CreateNew() throws Exception {
         // Given
-        when(artistRepository.findByTidalId(anyString())).thenReturn(Optional.empty());
+        Map<String, ArtistEntity> existingArtists = new HashMap<>();
         when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
 
         // When
         Object result = ReflectionTestUtils.invokeMethod(
-                tidalSyncService, "syncArtist", tidalArtist
+                tidalSyncService, "syncArtist", tidalArtist, existingArtists, writes
         );
 
         // Then
-        verify(artistRepository).findByTidalId("artist123");
+        verify(artistRepository, never()).findByTidalId(anyString());
+        assertThat(existingArtists).containsKey("artist123");
         verify(artistRepository).save(argThat(artist ->
                 artist.getTidalId().equals("artist123") &&
                         artist.getName().equals("Metallica") &&
+                        artist.getContentHash() == CatalogContentHash.artist("Metallica") &&
                         !artist.getManuallyModified()
         ));
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(1, 0, 0));
     }
 
     @Test
@@ -109,17 +183,53 @@ class TidalSyncServiceTest {
                 .manuallyModified(false)
                 .build();
 
-        when(artistRepository.findByTidalId(anyString())).thenReturn(Optional.of(existingArtist));
+        Map<String, ArtistEntity> existingArtists = new HashMap<>(Map.of("artist123", existingArtist));
         when(artistRepository.save(any(ArtistEntity.class))).thenReturn(existingArtist);
 
         // When
-        ReflectionTestUtils.invokeMethod(tidalSyncService, "syncArtist", tidalArtist);
+        ReflectionTestUtils.invokeMethod(tidalSyncService, "syncArtist", tidalArtist, existingArtists, writes);
 
         // Then
-        verify(artistRepository).findByTidalId("artist123");
         verify(artistRepository).save(argThat(artist ->
-                artist.getName().equals("Metallica")
+                artist.getName().equals("Metallica") &&
+                        artist.getContentHash() == CatalogContentHash.artist("Metallica")
         ));
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 1, 0));
+    }
+
+    @Test
+    @DisplayName("syncArtist - should NOT save artist when its content hash is unchanged")
+    void syncArtist_SkipUnchanged() throws Exception {
+        // Given
+        artistEntity.setContentHash(CatalogContentHash.artist("Metallica"));
+        Map<String, ArtistEntity> existingArtists = new HashMap<>(Map.of("artist123", artistEntity));
+
+        // When
+        ArtistEntity result = (ArtistEntity) ReflectionTestUtils.invokeMethod(
+                tidalSyncService, "syncArtist", tidalArtist, existingArtists, writes
+        );
+
+        // Then
+        assertThat(result).isSameAs(artistEntity);
+        verify(artistRepository, never()).save(any());
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 0, 1));
+    }
+
+    @Test
+    @DisplayName("syncArtist - should update artist synced before content hashes existed")
+    void syncArtist_UpdateWithoutContentHash() throws Exception {
+        // Given
+        Map<String, ArtistEntity> existingArtists = new HashMap<>(Map.of("artist123", artistEntity));
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        ReflectionTestUtils.invokeMethod(tidalSyncService, "syncArtist", tidalArtist, existingArtists, writes);
+
+        // Then
+        verify(artistRepository).save(argThat(artist ->
+                artist.getContentHash() == CatalogContentHash.artist("Metallica")
+        ));
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 1, 0));
     }
 
     @Test
@@ -132,11 +242,11 @@ class TidalSyncServiceTest {
                 .manuallyModified(true)  // Flag is true
                 .build();
 
-        when(artistRepository.findByTidalId(anyString())).thenReturn(Optional.of(manuallyModifiedArtist));
+        Map<String, ArtistEntity> existingArtists = new HashMap<>(Map.of("artist123", manuallyModifiedArtist));
 
         // When
         ArtistEntity result = (ArtistEntity) ReflectionTestUtils.invokeMethod(
-                tidalSyncService, "syncArtist", tidalArtist
+                tidalSyncService, "syncArtist", tidalArtist, existingArtists, writes
         );
 
         // Then
@@ -144,24 +254,25 @@ class TidalSyncServiceTest {
         assertThat(result.getName()).isEqualTo("Manually Changed Name"); // Name NOT updated
         assertThat(result.getManuallyModified()).isTrue();
 
-        verify(artistRepository).findByTidalId("artist123");
         verify(artistRepository, never()).save(any()); // Should NOT save
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 0, 1));
     }
 
     @Test
     @DisplayName("syncAlbum - should create new album when not exists")
     void syncAlbum_CreateNew() throws Exception {
         // Given
-        when(albumRepository.findByTidalId(anyString())).thenReturn(Optional.empty());
+        Map<String, AlbumEntity> existingAlbums = new HashMap<>();
         when(albumRepository.save(any(AlbumEntity.class))).thenReturn(albumEntity);
 
         // When
         ReflectionTestUtils.invokeMethod(
-                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity
+                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity, existingAlbums, writes
         );
 
         // Then
-        verify(albumRepository).findByTidalId("album456");
+        verify(albumRepository, never()).findByTidalId(anyString());
+        assertThat(existingAlbums).containsKey("album456");
         verify(albumRepository).save(argThat(album ->
                 album.getTidalId().equals("album456") &&
                         album.getTitle().equals("Master of Puppets") &&
@@ -183,20 +294,57 @@ class TidalSyncServiceTest {
                 .manuallyModified(false)
                 .build();
 
-        when(albumRepository.findByTidalId(anyString())).thenReturn(Optional.of(existingAlbum));
+        Map<String, AlbumEntity> existingAlbums = new HashMap<>(Map.of("album456", existingAlbum));
         when(albumRepository.save(any(AlbumEntity.class))).thenReturn(existingAlbum);
 
         // When
         ReflectionTestUtils.invokeMethod(
-                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity
+                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity, existingAlbums, writes
         );
 
         // Then
-        verify(albumRepository).findByTidalId("album456");
         verify(albumRepository).save(argThat(album ->
                 album.getTitle().equals("Master of Puppets") &&
-                        album.getArtistName().equals("Metallica")
+                        album.getArtistName().equals("Metallica") &&
+                        album.getContentHash() == CatalogContentHash.album("Master of Puppets", LocalDate.of(1986, 3, 3))
         ));
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 1, 0));
+    }
+
+    @Test
+    @DisplayName("syncAlbum - should NOT save album when its content hash and artist are unchanged")
+    void syncAlbum_SkipUnchanged() throws Exception {
+        // Given
+        albumEntity.setContentHash(CatalogContentHash.album("Master of Puppets", LocalDate.of(1986, 3, 3)));
+        Map<String, AlbumEntity> existingAlbums = new HashMap<>(Map.of("album456", albumEntity));
+
+        // When
+        ReflectionTestUtils.invokeMethod(
+                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity, existingAlbums, writes
+        );
+
+        // Then
+        verify(albumRepository, never()).save(any());
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 0, 1));
+    }
+
+    @Test
+    @DisplayName("syncAlbum - should update album with unchanged content hash when its artist was renamed")
+    void syncAlbum_UpdateRenamedArtist() throws Exception {
+        // Given
+        albumEntity.setContentHash(CatalogContentHash.album("Master of Puppets", LocalDate.of(1986, 3, 3)));
+        albumEntity.setArtistName("Metallica (old)");
+        Map<String, AlbumEntity> existingAlbums = new HashMap<>(Map.of("album456", albumEntity));
+        when(albumRepository.save(any(AlbumEntity.class))).thenReturn(albumEntity);
+
+        // When
+        ReflectionTestUtils.invokeMethod(
+                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity, existingAlbums, writes
+        );
+
+        // Then
+        verify(albumRepository).save(argThat(album -> album.getArtistName().equals("Metallica")));
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 1, 0));
     }
 
     @Test
@@ -212,16 +360,16 @@ class TidalSyncServiceTest {
                 .manuallyModified(true)  // Flag is true
                 .build();
 
-        when(albumRepository.findByTidalId(anyString())).thenReturn(Optional.of(manuallyModifiedAlbum));
+        Map<String, AlbumEntity> existingAlbums = new HashMap<>(Map.of("album456", manuallyModifiedAlbum));
 
         // When
         ReflectionTestUtils.invokeMethod(
-                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity
+                tidalSyncService, "syncAlbum", tidalAlbum, artistEntity, existingAlbums, writes
         );
 
         // Then
-        verify(albumRepository).findByTidalId("album456");
         verify(albumRepository, never()).save(any()); // Should NOT save
+        assertThat(writes.counts()).isEqualTo(new CatalogWriteCounts(0, 0, 1));
     }
 
     @Test
@@ -248,6 +396,10 @@ class TidalSyncServiceTest {
         assertThat(result).isNull();
     }
 
+    private static SyncRun run(UUID id, RunStatus status, String stage, int artistsFound, int artistsDone) {
+        return new SyncRun(id, "rock", 10, status, stage, artistsFound, artistsDone, LocalDateTime.now(), false);
+    }
+
     @Test
     @DisplayName("parseReleaseDate - should return null for null input")
     void parseReleaseDate_NullInput() throws Exception {
@@ -271,4 +423,445 @@ class TidalSyncServiceTest {
         // Then
         assertThat(result).isNull();
     }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should abort when the albums circuit breaker is open")
+    void syncArtistsAndAlbums_AbortsOnOpenCircuit() {
+        // Given
+        TidalArtistDto secondArtist = TidalArtistDto.builder().id("artist789").name("Slayer").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist, secondArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenThrow(new TidalCircuitOpenException(TidalCircuitBreaker.Endpoint.ALBUMS));
+        when(circuitBreaker.getStates()).thenReturn(Map.of("search", "CLOSED", "tracks", "CLOSED", "albums", "OPEN"));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - der zweite Artist wird nicht mehr versucht
+        verify(tidalClient, never()).fetchAlbumPagesForArtist("artist789");
+        verifyNoInteractions(artistRepository);
+        verify(syncCheckpointRepository, never()).checkpoint(any(), anyInt(), anyString(), any(), anyList(), anyList(), anyInt());
+        // Shard freigeben, damit andere Instanzen die offenen Artists übernehmen können
+        verify(syncCheckpointRepository).releaseShard(eq(RUN_ID), eq(0), anyString(), eq(true));
+        verify(syncCheckpointRepository).finish(RUN_ID, SyncProgress.STAGE_DONE);
+        assertThat(result.aborted()).isTrue();
+        assertThat(result.artistsFound()).isEqualTo(2);
+        assertThat(result.artistsSkipped()).isEqualTo(2);
+        assertThat(result.circuitBreakers()).containsEntry("albums", "OPEN");
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should continue with the next artist after a TIDAL error")
+    void syncArtistsAndAlbums_ContinuesAfterExternalError() {
+        // Given
+        TidalArtistDto secondArtist = TidalArtistDto.builder().id("artist789").name("Slayer").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist, secondArtist));
+        when(artistRepository.findByTidalIdIn(anyCollection())).thenReturn(List.of(artistEntity));
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenThrow(new ExternalServiceUnavailableException("TIDAL API is temporarily unavailable"));
+        when(tidalClient.fetchAlbumPagesForArtist("artist789"))
+                .thenReturn(List.of(Collections.<TidalAlbumDto>emptyList()).iterator());
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        assertThat(result.aborted()).isFalse();
+        assertThat(result.artistsFailed()).isEqualTo(1);
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.artistsSkipped()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should fetch outside of transactions and commit one transaction per chunk")
+    void syncArtistsAndAlbums_CommitsInChunks() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 2);
+        List<TidalArtistDto> artists = List.of(
+                TidalArtistDto.builder().id("a1").name("Artist 1").build(),
+                TidalArtistDto.builder().id("a2").name("Artist 2").build(),
+                TidalArtistDto.builder().id("a3").name("Artist 3").build());
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(artists);
+        when(tidalClient.fetchAlbumPagesForArtist(anyString()))
+                .thenAnswer(invocation -> List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - Chunk 1 (a1, a2) wird erst nach beiden Fetches geschrieben, Chunk 2 enthält a3
+        InOrder inOrder = inOrder(tidalClient, transactionManager);
+        inOrder.verify(tidalClient).fetchAlbumPagesForArtist("a1");
+        inOrder.verify(tidalClient).fetchAlbumPagesForArtist("a2");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+        verify(tidalClient).fetchAlbumPagesForArtist("a3");
+        // Lauf anlegen, Artists veröffentlichen, zwei Chunks, Lauf beenden
+        verify(transactionManager, times(5)).commit(any());
+        assertThat(result.artistsProcessed()).isEqualTo(3);
+        assertThat(result.albumsProcessed()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should fetch the next artist while the previous chunk is persisted")
+    void syncArtistsAndAlbums_OverlapsFetchAndPersist() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 1);
+        CountDownLatch secondArtistFetched = new CountDownLatch(1);
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(
+                TidalArtistDto.builder().id("a1").name("Artist 1").build(),
+                TidalArtistDto.builder().id("a2").name("Artist 2").build()));
+        when(tidalClient.fetchAlbumPagesForArtist("a1")).thenAnswer(invocation -> List.of(List.of(tidalAlbum)).iterator());
+        when(tidalClient.fetchAlbumPagesForArtist("a2")).thenAnswer(invocation -> {
+            secondArtistFetched.countDown();
+            return List.of(List.of(tidalAlbum)).iterator();
+        });
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+        // Transaktionen 1 und 2 legen den Lauf an, der erste Chunk (Transaktion 3) wartet auf den Fetch des zweiten Artists
+        AtomicInteger transactions = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            if (transactions.incrementAndGet() == 3) {
+                assertThat(secondArtistFetched.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            return null;
+        });
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        assertThat(result.artistsProcessed()).isEqualTo(2);
+        assertThat(result.artistsFailed()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should report throughput and queue depth per pipeline stage")
+    void syncArtistsAndAlbums_ReportsStages() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "albumFetchWorkers", 3);
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 2);
+        List<TidalArtistDto> artists = List.of(
+                TidalArtistDto.builder().id("a1").name("Artist 1").build(),
+                TidalArtistDto.builder().id("a2").name("Artist 2").build(),
+                TidalArtistDto.builder().id("a3").name("Artist 3").build());
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(artists);
+        when(tidalClient.fetchAlbumPagesForArtist(anyString()))
+                .thenAnswer(invocation -> List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        assertThat(result.stages()).containsOnlyKeys("search", "album-fetch", "persist");
+        assertThat(result.stages().get("search").items()).isEqualTo(3);
+        assertThat(result.stages().get("album-fetch").items()).isEqualTo(3);
+        assertThat(result.stages().get("album-fetch").workers()).isEqualTo(3);
+        assertThat(result.stages().get("album-fetch").maxQueueDepth()).isEqualTo(3);
+        assertThat(result.stages().get("persist").items()).isEqualTo(3);
+        assertThat(meterRegistry.get("tidal.sync.pipeline.items").tag("stage", "persist").counter().count())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get("tidal.sync.pipeline.queue.depth").tag("stage", "album-fetch").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should count the artists of a chunk that failed to commit as failed")
+    void syncArtistsAndAlbums_FailedChunkIsRolledBack() {
+        // Given
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.findByTidalIdIn(anyCollection())).thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(transactionManager).rollback(any());
+        assertThat(result.artistsFailed()).isEqualTo(1);
+        assertThat(result.artistsProcessed()).isZero();
+        assertThat(result.albumsProcessed()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should load existing artists and albums of a chunk with one query each")
+    void syncArtistsAndAlbums_PrefetchesChunk() {
+        // Given
+        TidalAlbumDto secondAlbum = TidalAlbumDto.builder().id("album789").title("Ride the Lightning").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenReturn(List.of(List.of(tidalAlbum), List.of(secondAlbum)).iterator());
+        when(artistRepository.findByTidalIdIn(anyCollection())).thenReturn(List.of(artistEntity));
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+        when(albumRepository.findByTidalIdIn(anyCollection())).thenReturn(List.of(albumEntity));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - album456 wird aktualisiert, album789 neu angelegt
+        verify(artistRepository).findByTidalIdIn(List.of("artist123"));
+        verify(albumRepository).findByTidalIdIn(List.of("album456", "album789"));
+        verify(artistRepository, never()).findByTidalId(anyString());
+        verify(albumRepository, never()).findByTidalId(anyString());
+        verify(albumRepository, times(2)).save(any(AlbumEntity.class));
+        assertThat(result.albumsProcessed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - upsert mode should write each chunk with one artist and one album upsert")
+    void syncArtistsAndAlbums_UpsertMode() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "writeMode", SyncWriteMode.UPSERT);
+        TidalAlbumDto undatedAlbum = TidalAlbumDto.builder().id("album789").title("Ride the Lightning").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenReturn(List.of(List.of(tidalAlbum, undatedAlbum)).iterator());
+        when(catalogUpsertRepository.upsertArtists(anyList())).thenReturn(new CatalogWriteCounts(0, 0, 1));
+        when(catalogUpsertRepository.upsertAlbums(anyList())).thenReturn(new CatalogWriteCounts(1, 1, 0));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(catalogUpsertRepository).upsertArtists(List.of(new ArtistRow("artist123", "Metallica")));
+        verify(catalogUpsertRepository).upsertAlbums(List.of(
+                new AlbumRow("album456", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist123"),
+                new AlbumRow("album789", "Ride the Lightning", null, "artist123")));
+        verifyNoInteractions(artistRepository, albumRepository);
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.albumsProcessed()).isEqualTo(2);
+        assertThat(result.artistWrites()).isEqualTo(new CatalogWriteCounts(0, 0, 1));
+        assertThat(result.albumWrites()).isEqualTo(new CatalogWriteCounts(1, 1, 0));
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should persist album pages as they arrive and checkpoint the artist with its last page")
+    void syncArtistsAndAlbums_StreamsAlbumPages() {
+        // Given - höchstens ein Album pro Chunk
+        ReflectionTestUtils.setField(tidalSyncService, "writeMode", SyncWriteMode.UPSERT);
+        ReflectionTestUtils.setField(tidalSyncService, "chunkMaxAlbums", 1);
+        TidalAlbumDto secondAlbum = TidalAlbumDto.builder().id("album789").title("Ride the Lightning").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123"))
+                .thenReturn(List.of(List.of(tidalAlbum), List.of(secondAlbum)).iterator());
+        when(catalogUpsertRepository.upsertArtists(anyList())).thenReturn(new CatalogWriteCounts(0, 0, 1));
+        when(catalogUpsertRepository.upsertAlbums(anyList())).thenReturn(new CatalogWriteCounts(1, 0, 0));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - eine Seite pro Chunk, der Artist ist erst mit dem letzten Chunk erledigt
+        InOrder inOrder = inOrder(catalogUpsertRepository, syncCheckpointRepository);
+        inOrder.verify(catalogUpsertRepository).upsertAlbums(List.of(
+                new AlbumRow("album456", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist123")));
+        inOrder.verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(0), anyString(), anyString(),
+                eq(List.of()), eq(List.of()), anyInt());
+        inOrder.verify(catalogUpsertRepository).upsertAlbums(List.of(
+                new AlbumRow("album789", "Ride the Lightning", null, "artist123")));
+        inOrder.verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(0), anyString(), anyString(),
+                eq(List.of()), eq(List.of()), anyInt());
+        inOrder.verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(0), anyString(), anyString(),
+                eq(List.of("artist123")), eq(List.of()), anyInt());
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.albumsProcessed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - copy mode should import each chunk through the staging tables")
+    void syncArtistsAndAlbums_CopyMode() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "writeMode", SyncWriteMode.COPY);
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123")).thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(catalogCopyRepository.importCatalog(anyList(), anyList())).thenReturn(new MergeResult(
+                new CatalogWriteCounts(1, 0, 0), new CatalogWriteCounts(1, 0, 0)));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(catalogCopyRepository).importCatalog(List.of(new ArtistRow("artist123", "Metallica")),
+                List.of(new AlbumRow("album456", "Master of Puppets", LocalDate.of(1986, 3, 3), "artist123")));
+        verifyNoInteractions(artistRepository, albumRepository, catalogUpsertRepository);
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.albumsProcessed()).isEqualTo(1);
+        assertThat(result.artistWrites()).isEqualTo(new CatalogWriteCounts(1, 0, 0));
+        assertThat(result.albumWrites()).isEqualTo(new CatalogWriteCounts(1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should checkpoint the artists of each chunk in the chunk's transaction")
+    void syncArtistsAndAlbums_CheckpointsChunks() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 2);
+        TidalArtistDto failingArtist = TidalArtistDto.builder().id("artist789").name("Slayer").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist, failingArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123")).thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(tidalClient.fetchAlbumPagesForArtist("artist789"))
+                .thenThrow(new ExternalServiceUnavailableException("TIDAL API is temporarily unavailable"));
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(syncCheckpointRepository).publishArtists(eq(RUN_ID), eq(List.of(
+                new ArtistRow("artist123", "Metallica"), new ArtistRow("artist789", "Slayer"))), anyInt(), anyInt());
+        InOrder inOrder = inOrder(albumRepository, syncCheckpointRepository, transactionManager);
+        inOrder.verify(albumRepository).save(any(AlbumEntity.class));
+        inOrder.verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(0), anyString(), anyString(),
+                eq(List.of("artist123", "artist789")), eq(List.of("artist789")), anyInt());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(syncCheckpointRepository).releaseShard(eq(RUN_ID), eq(0), anyString(), eq(false));
+        inOrder.verify(syncCheckpointRepository).finish(RUN_ID, SyncProgress.STAGE_DONE);
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should still persist the buffered chunk when a fetch worker fails")
+    void syncArtistsAndAlbums_FlushesChunkAfterFetchWorkerFailure() {
+        // Given - der erste Artist liegt im noch offenen Chunk, als der Fetch-Worker stirbt
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 2);
+        TidalArtistDto secondArtist = TidalArtistDto.builder().id("artist789").name("Slayer").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist, secondArtist));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123")).thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(tidalClient.fetchAlbumPagesForArtist("artist789")).thenThrow(new OutOfMemoryError("Java heap space"));
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(0), anyString(), anyString(),
+                eq(List.of("artist123")), eq(List.of()), anyInt());
+        verify(syncCheckpointRepository).releaseShard(eq(RUN_ID), eq(0), anyString(), eq(true));
+        assertThat(result.aborted()).isTrue();
+        assertThat(result.abortReason()).startsWith("album fetch failed");
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should abandon a shard whose lease was taken over by another instance")
+    void syncArtistsAndAlbums_AbandonsLostShard() {
+        // Given - der Lease ist beim ersten Checkpoint schon an eine andere Instanz gegangen
+        ReflectionTestUtils.setField(tidalSyncService, "chunkSize", 1);
+        TidalArtistDto secondArtist = TidalArtistDto.builder().id("artist789").name("Slayer").build();
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of(tidalArtist, secondArtist));
+        lenient().when(tidalClient.fetchAlbumPagesForArtist(anyString()))
+                .thenAnswer(invocation -> List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+        doThrow(new SyncLeaseLostException("Shard 0 is no longer claimed")).when(syncCheckpointRepository)
+                .checkpoint(any(), anyInt(), anyString(), any(), anyList(), anyList(), anyInt());
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - zurückgerollt, nicht als fehlgeschlagen gezählt und nicht freigegeben
+        verify(transactionManager).rollback(any());
+        verify(syncCheckpointRepository, times(1)).checkpoint(any(), anyInt(), anyString(), any(), anyList(), anyList(),
+                anyInt());
+        verify(syncCheckpointRepository, never()).releaseShard(any(), anyInt(), anyString(), anyBoolean());
+        assertThat(result.artistsProcessed()).isZero();
+        assertThat(result.artistsFailed()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should resume an interrupted run without searching again")
+    void syncArtistsAndAlbums_ResumesInterruptedRun() {
+        // Given - vom unterbrochenen Lauf sind 4 von 5 Artists erledigt
+        UUID interruptedRunId = UUID.randomUUID();
+        when(syncCheckpointRepository.joinOrStart(eq("rock"), eq(10), eq(true), any(LocalDateTime.class), anyInt()))
+                .thenReturn(new RunAssignment(run(interruptedRunId, RunStatus.RUNNING, "album-fetch", 5, 4), Role.RESUMED));
+        when(syncCheckpointRepository.claimShard(eq(interruptedRunId), anyString(), anyInt()))
+                .thenReturn(Optional.of(1), Optional.empty());
+        when(syncCheckpointRepository.pendingArtists(interruptedRunId, 1))
+                .thenReturn(List.of(new ArtistRow("artist123", "Metallica")));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123")).thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(tidalClient, never()).searchTracksAndExtractArtists(anyString(), anyInt());
+        verify(syncCheckpointRepository, never()).publishArtists(any(), anyList(), anyInt(), anyInt());
+        verify(tidalClient).fetchAlbumPagesForArtist("artist123");
+        verify(syncCheckpointRepository).checkpoint(eq(interruptedRunId), eq(1), anyString(), anyString(),
+                eq(List.of("artist123")), eq(List.of()), anyInt());
+        verify(syncCheckpointRepository).finish(interruptedRunId, SyncProgress.STAGE_DONE);
+        assertThat(result.artistsFound()).isEqualTo(5);
+        assertThat(result.artistsResumed()).isEqualTo(4);
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.artistsSkipped()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should search again when resume is disabled")
+    void syncArtistsAndAlbums_ResumeDisabled() {
+        // Given
+        ReflectionTestUtils.setField(tidalSyncService, "resumeEnabled", false);
+        when(tidalClient.searchTracksAndExtractArtists("rock", 10)).thenReturn(List.of());
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(syncCheckpointRepository).joinOrStart(eq("rock"), eq(10), eq(false), any(LocalDateTime.class), anyInt());
+        verify(syncCheckpointRepository).finish(RUN_ID, SyncProgress.STAGE_DONE);
+        assertThat(result.artistsFound()).isZero();
+        assertThat(result.artistsResumed()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should join the run of another instance, wait for its search and take a shard")
+    void syncArtistsAndAlbums_JoinsRunningRun() {
+        // Given - die andere Instanz sucht noch, danach sind 3 Artists gefunden und 2 davon schon erledigt
+        ReflectionTestUtils.setField(tidalSyncService, "pollIntervalMillis", 1L);
+        when(syncCheckpointRepository.joinOrStart(eq("rock"), eq(10), eq(true), any(LocalDateTime.class), anyInt()))
+                .thenReturn(new RunAssignment(run(RUN_ID, RunStatus.RUNNING, "search", 0, 0), Role.JOINED));
+        when(syncCheckpointRepository.findRun(RUN_ID)).thenReturn(
+                Optional.of(run(RUN_ID, RunStatus.RUNNING, "search", 0, 0)),
+                Optional.of(run(RUN_ID, RunStatus.RUNNING, "album-fetch", 3, 0)),
+                Optional.of(run(RUN_ID, RunStatus.COMPLETED, "done", 3, 3)));
+        when(syncCheckpointRepository.claimShard(eq(RUN_ID), anyString(), anyInt()))
+                .thenReturn(Optional.of(2), Optional.empty());
+        when(syncCheckpointRepository.pendingArtists(RUN_ID, 2)).thenReturn(List.of(new ArtistRow("artist123", "Metallica")));
+        when(syncCheckpointRepository.finish(RUN_ID, SyncProgress.STAGE_DONE)).thenReturn(Optional.of(RunStatus.COMPLETED));
+        when(tidalClient.fetchAlbumPagesForArtist("artist123")).thenReturn(List.of(List.of(tidalAlbum)).iterator());
+        when(artistRepository.save(any(ArtistEntity.class))).thenReturn(artistEntity);
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then - keine eigene Suche, die Artists der anderen Instanz zählen als resumed
+        verify(tidalClient, never()).searchTracksAndExtractArtists(anyString(), anyInt());
+        verify(syncCheckpointRepository, never()).publishArtists(any(), anyList(), anyInt(), anyInt());
+        verify(syncCheckpointRepository).checkpoint(eq(RUN_ID), eq(2), anyString(), anyString(),
+                eq(List.of("artist123")), eq(List.of()), anyInt());
+        assertThat(result.aborted()).isFalse();
+        assertThat(result.artistsFound()).isEqualTo(3);
+        assertThat(result.artistsProcessed()).isEqualTo(1);
+        assertThat(result.artistsResumed()).isEqualTo(2);
+        assertThat(result.artistsSkipped()).isZero();
+    }
+
+    @Test
+    @DisplayName("syncArtistsAndAlbums - should abort when the instance that started the run gave up its search")
+    void syncArtistsAndAlbums_AbortsWhenSearchOfJoinedRunDied() {
+        // Given
+        when(syncCheckpointRepository.joinOrStart(eq("rock"), eq(10), eq(true), any(LocalDateTime.class), anyInt()))
+                .thenReturn(new RunAssignment(run(RUN_ID, RunStatus.RUNNING, "search", 0, 0), Role.JOINED));
+        when(syncCheckpointRepository.findRun(RUN_ID)).thenReturn(Optional.of(
+                new SyncRun(RUN_ID, "rock", 10, RunStatus.RUNNING, "search", 0, 0, LocalDateTime.now(), true)));
+
+        // When
+        SyncResult result = tidalSyncService.syncArtistsAndAlbums("rock", 10);
+
+        // Then
+        verify(syncCheckpointRepository, never()).claimShard(any(), anyString(), anyInt());
+        verify(syncCheckpointRepository).finish(RUN_ID, SyncProgress.STAGE_DONE);
+        assertThat(result.aborted()).isTrue();
+        assertThat(result.abortReason()).contains("did not finish");
+    }
 }
@@ -0,0 +1,130 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.benchmark.SyntheticTidalPayloads;
+import com.rowa.musicbridge.tidalIntegration.JsonApiStreamDecoder.Element;
+import com.rowa.musicbridge.tidalIntegration.JsonApiStreamDecoder.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JsonApiStreamDecoder Tests")
+class JsonApiStreamDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Element> decode(byte[] payload, int chunkSize, int maxResourceBytes) {
+        return new JsonApiStreamDecoder(objectMapper, maxResourceBytes)
+                .decode(SyntheticTidalPayloads.chunked(payload, chunkSize))
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("decode - should emit data, included and links from tiny chunks and skip other members")
+    void decode_TinyChunks() {
+        // Given
+        byte[] payload = """
+                {"meta": {"total": 2, "nested": {"data": [{"id": "x", "type": "ignored"}]}},
+                 "data": [{"id": "100001", "type": "tracks", "attributes": {"title": "Track 1"}}],
+                 "included": [
+                   {"id": "200001", "type": "artists", "attributes": {"name": "Artist 1", "popularity": 0.5}},
+                   {"id": "300001", "type": "albums", "attributes": {"title": "Album 1"}}],
+                 "links": {"self": "/albums?page=1", "next": "/albums?page[cursor]=abc"}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        List<Element> elements = decode(payload, 7, 1024);
+
+        // Then
+        assertThat(elements).extracting(Element::member)
+                .containsExactly(Member.DATA, Member.INCLUDED, Member.INCLUDED, Member.LINKS);
+        assertThat(elements.get(0).resource().getAttributes().getTitle()).isEqualTo("Track 1");
+        assertThat(elements.get(1).isIncluded("artists")).isTrue();
+        assertThat(elements.get(1).resource().getAttributes().getName()).isEqualTo("Artist 1");
+        assertThat(elements.get(3).links().getNext()).isEqualTo("/albums?page[cursor]=abc");
+    }
+
+    @Test
+    @DisplayName("decode - should decode a single resource document")
+    void decode_SingleResource() {
+        // Given
+        byte[] payload = "{\"data\": {\"id\": \"100001\", \"type\": \"tracks\"}}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        List<Element> elements = decode(payload, 5, 1024);
+
+        // Then
+        assertThat(elements).singleElement()
+                .satisfies(element -> assertThat(element.resource().getId()).isEqualTo("100001"));
+    }
+
+    @Test
+    @DisplayName("decode - multi-megabyte response should decode with a per-resource limit far below its size")
+    void decode_LargeResponse() {
+        // Given - mehrere MB (über maxInMemorySize), jede einzelne Resource bleibt unter 4KB
+        byte[] payload = SyntheticTidalPayloads.searchResponse(2_000);
+        assertThat(payload.length).isGreaterThan(2 * 1024 * 1024);
+
+        // When
+        List<Element> elements = decode(payload, 8 * 1024, 4 * 1024);
+
+        // Then
+        assertThat(elements).filteredOn(element -> element.isIncluded("tracks")).hasSize(2_000);
+        assertThat(elements).filteredOn(element -> element.isIncluded("artists")).hasSize(2_000);
+        assertThat(elements).filteredOn(element -> element.member() == Member.LINKS).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("decode - should fail when a single resource exceeds the limit")
+    void decode_ResourceTooLarge() {
+        // Given
+        String title = "x".repeat(2_000);
+        byte[] payload = ("{\"included\": [{\"id\": \"1\", \"type\": \"albums\", \"attributes\": {\"title\": \""
+                + title + "\"}}]}").getBytes(StandardCharsets.UTF_8);
+
+        // Then
+        assertThatThrownBy(() -> decode(payload, 256, 1024))
+                .isInstanceOf(DataBufferLimitException.class);
+    }
+
+    @Test
+    @DisplayName("decode - should fail on a truncated document")
+    void decode_Truncated() {
+        // Given
+        byte[] payload = "{\"included\": [{\"id\": \"1\", \"type\": \"albums\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Then
+        assertThatThrownBy(() -> decode(payload, 8, 1024))
+                .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    @DisplayName("decode - take should stop reading the remaining buffers")
+    void decode_CancelStopsReading() {
+        // Given
+        byte[] payload = SyntheticTidalPayloads.searchResponse(1_000);
+        AtomicInteger buffersRead = new AtomicInteger();
+        int totalBuffers = (payload.length + 1023) / 1024;
+
+        // When
+        List<Element> first = new JsonApiStreamDecoder(objectMapper, 4 * 1024)
+                .decode(SyntheticTidalPayloads.chunked(payload, 1024).doOnNext(buffer -> buffersRead.incrementAndGet()))
+                .filter(element -> element.isIncluded("tracks"))
+                .take(10)
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(first).hasSize(10);
+        assertThat(buffersRead.get()).isLessThan(totalBuffers / 2);
+    }
+}
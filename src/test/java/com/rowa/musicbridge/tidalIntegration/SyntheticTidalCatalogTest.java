@@ -0,0 +1,169 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.domain.exception.ExternalRateLimitException;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Synthetic TIDAL Catalog Tests")
+class SyntheticTidalCatalogTest {
+
+    private TidalClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = syntheticProperties();
+    }
+
+    private static TidalClientProperties syntheticProperties() {
+        TidalClientProperties syntheticProperties = new TidalClientProperties();
+        syntheticProperties.getSynthetic().setEnabled(true);
+        return syntheticProperties;
+    }
+
+    @Test
+    @DisplayName("the same seed should always produce the same catalog")
+    void sameSeedSameCatalog() {
+        // Given
+        SyntheticTidalCatalog first = new SyntheticTidalCatalog(properties.getSynthetic());
+        SyntheticTidalCatalog second = new SyntheticTidalCatalog(properties.getSynthetic());
+        properties.getSynthetic().setSeed(7);
+        SyntheticTidalCatalog otherSeed = new SyntheticTidalCatalog(properties.getSynthetic());
+
+        // Then
+        assertThat(second.search("rock", 200)).isEqualTo(first.search("rock", 200));
+        assertThat(second.albumPage(123, 0, 20)).isEqualTo(first.albumPage(123, 0, 20));
+        assertThat(otherSeed.search("rock", 200)).isNotEqualTo(first.search("rock", 200));
+    }
+
+    @Test
+    @DisplayName("artists should be computed on demand, even for a catalog of a billion artists")
+    void hugeCatalogIsLazy() {
+        // Given
+        properties.getSynthetic().setArtistCount(1_000_000_000L);
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+
+        // When
+        TidalArtistDto last = catalog.artist(999_999_999L);
+        List<TidalArtistDto> artists = catalog.search("pop", 10_000);
+
+        // Then
+        assertThat(last.getId()).isEqualTo("synthetic-artist-999999999");
+        assertThat(catalog.artistIndex(last.getId())).isEqualTo(999_999_999L);
+        assertThat(artists).isNotEmpty()
+                .allSatisfy(artist -> assertThat(catalog.artistIndex(artist.getId())).isBetween(0L, 999_999_999L));
+    }
+
+    @Test
+    @DisplayName("album counts should be skewed: most artists have few albums, some have many")
+    void albumCountsAreSkewed() {
+        // Given
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+
+        // When
+        int[] counts = new int[10_000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = catalog.albumCount(i);
+        }
+        Arrays.sort(counts);
+
+        // Then
+        assertThat(counts[0]).isEqualTo(1);
+        assertThat(counts[counts.length / 2]).isLessThanOrEqualTo(3);
+        assertThat(counts[counts.length - 1]).isGreaterThan(100).isLessThanOrEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("searches should favour popular artists and return every artist once")
+    void searchIsSkewedAndDeduplicated() {
+        // Given
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+
+        // When
+        List<TidalArtistDto> artists = catalog.search("rock", 5_000);
+
+        // Then - mehrere Tracks pro populärem Artist
+        assertThat(artists).hasSizeLessThan(5_000);
+        assertThat(artists).extracting(TidalArtistDto::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("names should have realistic lengths and include non-ASCII characters")
+    void namesAreRealistic() {
+        // Given
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+
+        // When
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            names.add(catalog.artist(i).getName());
+            names.add(catalog.album(i, 0).getTitle());
+        }
+
+        // Then
+        assertThat(names).allSatisfy(name -> assertThat(name.length()).isBetween(1, 255));
+        assertThat(names).anySatisfy(name -> assertThat(name.chars().anyMatch(c -> c > 127)).isTrue());
+        assertThat(names.stream().mapToInt(String::length).average().orElse(0)).isBetween(5.0, 40.0);
+    }
+
+    @Test
+    @DisplayName("dummy client should page through the synthetic albums of an artist")
+    void dummyClientPagesSyntheticAlbums() {
+        // Given
+        properties.setAlbumPageSize(5);
+        TidalClientDummyImpl client = new TidalClientDummyImpl(properties);
+        SyntheticTidalCatalog catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+        long artistIndex = findArtistWithAlbums(catalog, 12);
+
+        // When
+        List<List<TidalAlbumDto>> pages = new ArrayList<>();
+        client.fetchAlbumPagesForArtist(SyntheticTidalCatalog.artistId(artistIndex)).forEachRemaining(pages::add);
+
+        // Then
+        assertThat(pages).allSatisfy(page -> assertThat(page).hasSizeLessThanOrEqualTo(5));
+        assertThat(pages.stream().mapToInt(List::size).sum()).isEqualTo(catalog.albumCount(artistIndex));
+        assertThat(client.fetchAlbumsForArtist(SyntheticTidalCatalog.artistId(artistIndex)))
+                .hasSize(catalog.albumCount(artistIndex));
+    }
+
+    @Test
+    @DisplayName("dummy client should fail with the configured error and rate limit rates")
+    void dummyClientInjectsFailures() {
+        // Given - eigene Properties pro Client, der Dummy liest die Raten bei jedem Aufruf
+        TidalClientProperties failingProperties = syntheticProperties();
+        failingProperties.getSynthetic().setErrorRate(1.0);
+        TidalClientDummyImpl failing = new TidalClientDummyImpl(failingProperties);
+        TidalClientProperties rateLimitedProperties = syntheticProperties();
+        rateLimitedProperties.getSynthetic().setRateLimitRate(1.0);
+        TidalClientDummyImpl rateLimited = new TidalClientDummyImpl(rateLimitedProperties);
+
+        // When
+        Iterator<List<TidalAlbumDto>> pages = failing.fetchAlbumPagesForArtist("synthetic-artist-1");
+
+        // Then
+        assertThat(pages.hasNext()).isTrue();
+        assertThatThrownBy(pages::next).isInstanceOf(ExternalServiceUnavailableException.class);
+        assertThatThrownBy(() -> rateLimited.searchTracksAndExtractArtists("rock", 10))
+                .isInstanceOf(ExternalRateLimitException.class);
+    }
+
+    private static long findArtistWithAlbums(SyntheticTidalCatalog catalog, int minAlbums) {
+        for (long i = 0; ; i++) {
+            if (catalog.albumCount(i) >= minAlbums) {
+                return i;
+            }
+        }
+    }
+}
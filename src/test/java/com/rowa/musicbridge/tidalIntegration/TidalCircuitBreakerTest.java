@@ -0,0 +1,275 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker.Endpoint;
+import com.rowa.musicbridge.tidalIntegration.TidalCircuitBreaker.State;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TidalCircuitBreaker Tests")
+class TidalCircuitBreakerTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TidalStubServer stub;
+    private TidalClientProperties.CircuitBreaker config;
+    private TidalCircuitBreaker circuitBreaker;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        stub.addTrack("track-1", "artist-1");
+        stub.addUnresolvableTrack("track-404");
+
+        config = new TidalClientProperties.CircuitBreaker();
+        config.setSlidingWindowSize(10);
+        config.setMinimumNumberOfCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        config.setPermittedCallsInHalfOpenState(2);
+        circuitBreaker = new TidalCircuitBreaker(config, meterRegistry, nanoClock::get);
+
+        webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(circuitBreaker)
+                .filter(circuitBreaker.bulkhead())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    /**
+     * @return HTTP status of the response
+     */
+    private int get(String path) {
+        return webClient.get()
+                .uri(path)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .block();
+    }
+
+    /**
+     * Track lookup through breaker and bulkhead only; TIDAL answers once the given response is emitted
+     */
+    private Mono<ClientResponse> exchangeTrack(Mono<ClientResponse> tidalResponse) {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create(stub.baseUrl() + "/v2/tracks/track-1"))
+                .build();
+        ExchangeFunction tidal = r -> tidalResponse;
+        return circuitBreaker.filter(request, r -> circuitBreaker.bulkhead().filter(r, tidal));
+    }
+
+    /**
+     * Track lookup answered immediately; the body stays unread until the test releases it
+     */
+    private ClientResponse exchangeTrack() {
+        return exchangeTrack(Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK).body("{}").build())).block();
+    }
+
+    private void openTracksBreaker() {
+        stub.failNextRequests(4, 503, null);
+        for (int i = 0; i < 4; i++) {
+            get("/v2/tracks/track-1");
+        }
+    }
+
+    private double calls(String endpoint, String result) {
+        return meterRegistry.counter("tidal.circuitbreaker.calls", "endpoint", endpoint, "result", result).count();
+    }
+
+    @Test
+    @DisplayName("should open after the failure rate is reached and fail fast without calling TIDAL")
+    void opensAndFailsFast() {
+        // Given
+        openTracksBreaker();
+        stub.resetCounters();
+
+        // Then
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.OPEN);
+        assertThatThrownBy(() -> get("/v2/tracks/track-1"))
+                .isInstanceOf(TidalCircuitOpenException.class);
+        assertThat(stub.requests()).isZero();
+        assertThat(calls("tracks", "rejected")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("tidal.circuitbreaker.state").tag("endpoint", "tracks").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should isolate endpoints: open tracks breaker must not affect search and albums")
+    void isolatesEndpoints() {
+        // Given
+        openTracksBreaker();
+
+        // When
+        int searchStatus = get("/v2/searchResults/rock");
+
+        // Then
+        assertThat(searchStatus).isEqualTo(200);
+        assertThat(circuitBreaker.getStates())
+                .containsEntry("search", "CLOSED")
+                .containsEntry("tracks", "OPEN")
+                .containsEntry("albums", "CLOSED");
+    }
+
+    @Test
+    @DisplayName("should not count client errors like 404 as failures")
+    void ignoresClientErrors() {
+        // When
+        for (int i = 0; i < 6; i++) {
+            get("/v2/tracks/track-404");
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.CLOSED);
+        assertThat(calls("tracks", "success")).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("should close after successful probes once the open duration has passed")
+    void halfOpenProbesClose() {
+        // Given
+        openTracksBreaker();
+
+        // When
+        nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+        int firstProbe = get("/v2/tracks/track-1");
+
+        // Then
+        assertThat(firstProbe).isEqualTo(200);
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.HALF_OPEN);
+        get("/v2/tracks/track-1");
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should reopen when a half-open probe fails")
+    void halfOpenProbeFailureReopens() {
+        // Given
+        openTracksBreaker();
+        nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // When
+        stub.failNextRequests(1, 500, null);
+        get("/v2/tracks/track-1");
+
+        // Then
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.OPEN);
+        assertThatThrownBy(() -> get("/v2/tracks/track-1"))
+                .isInstanceOf(TidalCircuitOpenException.class);
+    }
+
+    @Test
+    @DisplayName("bulkhead - should reject calls beyond max concurrent calls per endpoint")
+    void bulkheadRejectsExcessCalls() {
+        // Given
+        config.setMaxConcurrentCalls(2);
+        stub.setTrackLatencyMs(300);
+
+        // When
+        List<String> results = Flux.range(0, 5)
+                .flatMap(i -> webClient.get()
+                        .uri("/v2/tracks/track-1")
+                        .retrieve()
+                        .toBodilessEntity()
+                        .map(entity -> "ok")
+                        .onErrorResume(ExternalServiceUnavailableException.class, e -> Mono.just("rejected")))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(results).containsOnly("ok", "rejected");
+        assertThat(results).filteredOn("ok"::equals).hasSize(2);
+        assertThat(stub.maxInFlight()).isEqualTo(2);
+        // Bulkhead-Ablehnungen zählen nicht als Fehler
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("bulkhead - should not count requests that still wait for a rate limit permit")
+    void bulkheadIgnoresRateLimitWaits() {
+        // Given - Rate Limiter pausiert, danach 5 Requests/s nacheinander
+        config.setMaxConcurrentCalls(1);
+        TidalRateLimiter rateLimiter = new TidalRateLimiter(
+                new TidalClientProperties.RateLimit(), meterRegistry, System::nanoTime);
+        rateLimiter.onThrottled(Duration.ofMillis(300));
+        WebClient limitedClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(circuitBreaker)
+                .filter(rateLimiter)
+                .filter(circuitBreaker.bulkhead())
+                .build();
+
+        // When
+        List<Integer> statuses = Flux.range(0, 3)
+                .flatMap(i -> limitedClient.get()
+                        .uri("/v2/tracks/track-1")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(statuses).containsExactly(200, 200, 200);
+        assertThat(calls("tracks", "rejected")).isZero();
+    }
+
+    @Test
+    @DisplayName("should only let probes of the current half-open phase decide whether to close")
+    void halfOpenIgnoresCallsStartedBefore() {
+        // Given - Call vor dem Öffnen gestartet, TIDAL hat noch nicht geantwortet
+        Sinks.One<ClientResponse> slowResponse = Sinks.one();
+        Mono<ClientResponse> startedWhileClosed = exchangeTrack(slowResponse.asMono()).cache();
+        startedWhileClosed.subscribe();
+        openTracksBreaker();
+        nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+        exchangeTrack().releaseBody().block();
+
+        // When
+        slowResponse.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{}").build());
+        startedWhileClosed.block().releaseBody().block();
+
+        // Then - erst ein von zwei Probes erfolgreich
+        assertThat(circuitBreaker.getState(Endpoint.TRACKS)).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    @DisplayName("bulkhead - should hold the permit until the response body was consumed")
+    void bulkheadHoldsPermitUntilBodyConsumed() {
+        // Given
+        config.setMaxConcurrentCalls(1);
+        ClientResponse first = exchangeTrack();
+
+        // When
+        assertThatThrownBy(this::exchangeTrack).isInstanceOf(ExternalServiceUnavailableException.class);
+        first.releaseBody().block();
+
+        // Then - die Ablehnung zählt nicht als Ergebnis
+        assertThat(exchangeTrack()).isNotNull();
+        assertThat(calls("tracks", "success")).isEqualTo(2.0);
+        assertThat(calls("tracks", "failure")).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalClientHttpImpl Album Paging Tests")
+class TidalClientHttpImplAlbumPagingTest {
+
+    private TidalStubServer stub;
+    private TidalClientProperties properties;
+    private TidalClientHttpImpl client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        stub.addArtistAlbums("artist-1", 45);
+
+        TidalTokenService tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+
+        properties = new TidalClientProperties();
+        properties.setAlbumPageSize(20);
+        properties.setAlbumMaxPages(10);
+        WebClient webClient = WebClient.builder().baseUrl(stub.baseUrl()).build();
+        client = TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("fetchAlbumsForArtist - should follow next cursor until the last page")
+    void fetchAlbumsForArtist_FollowsCursor() {
+        // When
+        List<TidalAlbumDto> albums = client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(albums).hasSize(45);
+        assertThat(albums).extracting(TidalAlbumDto::getId).doesNotHaveDuplicates();
+        assertThat(stub.albumRequests()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("fetchAlbumPagesForArtist - should request pages lazily while consumed")
+    void fetchAlbumPagesForArtist_StreamsPages() {
+        // When
+        Iterator<List<TidalAlbumDto>> pages = client.fetchAlbumPagesForArtist("artist-1");
+        List<TidalAlbumDto> firstPage = pages.next();
+
+        // Then
+        assertThat(firstPage).hasSize(20);
+        // höchstens eine Seite Vorlauf
+        assertThat(stub.albumRequests()).isLessThanOrEqualTo(2);
+
+        assertThat(pages.next()).hasSize(20);
+        assertThat(pages.next()).hasSize(5);
+        assertThat(pages.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("fetchAlbumsForArtist - should stop at max pages")
+    void fetchAlbumsForArtist_StopsAtMaxPages() {
+        // Given
+        properties.setAlbumMaxPages(2);
+
+        // When
+        List<TidalAlbumDto> albums = client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(albums).hasSize(40);
+        assertThat(stub.albumRequests()).isEqualTo(2);
+    }
+}
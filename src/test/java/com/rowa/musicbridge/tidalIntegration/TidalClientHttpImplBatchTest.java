@@ -0,0 +1,120 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalClientHttpImpl Batch Lookup Tests")
+class TidalClientHttpImplBatchTest {
+
+    private static final int TRACK_COUNT = 40;
+
+    private TidalStubServer stub;
+    private TidalTokenService tokenService;
+    private TidalClientProperties properties;
+    private TidalClientHttpImpl client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+
+        tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+
+        properties = new TidalClientProperties();
+        properties.setTrackResolutionConcurrency(4);
+        properties.setTrackBatchSize(20);
+        WebClient webClient = WebClient.builder().baseUrl(stub.baseUrl()).build();
+        client = TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private void addCatalog(int trackCount) {
+        for (int i = 0; i < trackCount; i++) {
+            stub.addTrack("track-" + i, "artist-" + (i % 8));
+        }
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should resolve tracks with one request per batch")
+    void searchTracksAndExtractArtists_UsesBatchEndpoint() {
+        // Given
+        addCatalog(TRACK_COUNT);
+
+        // When
+        List<TidalArtistDto> artists = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(stub.batchRequests()).isEqualTo(2);
+        assertThat(stub.trackRequests()).isZero();
+        assertThat(artists).extracting(TidalArtistDto::getId).doesNotHaveDuplicates().hasSize(8);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should look up only tracks missing from the batch response")
+    void searchTracksAndExtractArtists_FallsBackForMissingIds() {
+        // Given
+        stub.addUnresolvableTrack("track-missing");
+        addCatalog(TRACK_COUNT - 1);
+
+        // When
+        List<TidalArtistDto> artists = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(stub.batchRequests()).isEqualTo(2);
+        assertThat(stub.trackRequests()).isEqualTo(1);
+        assertThat(artists).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should fall back to single lookups when batch request fails")
+    void searchTracksAndExtractArtists_FallsBackWhenBatchFails() {
+        // Given
+        addCatalog(TRACK_COUNT);
+        stub.setBatchEndpointEnabled(false);
+
+        // When
+        List<TidalArtistDto> artists = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(stub.batchRequests()).isEqualTo(2);
+        assertThat(stub.trackRequests()).isEqualTo(TRACK_COUNT);
+        assertThat(artists).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should not fall back to single lookups when the bulkhead is full")
+    void searchTracksAndExtractArtists_SkipsFallbackWhenBulkheadFull() {
+        // Given - Batch-Requests werden vom Bulkhead abgelehnt
+        addCatalog(TRACK_COUNT);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter((request, next) -> request.url().getPath().equals("/v2/tracks")
+                        ? Mono.error(new TidalBulkheadFullException(TidalCircuitBreaker.Endpoint.TRACKS, 4))
+                        : next.exchange(request))
+                .build();
+        TidalClientHttpImpl bulkheadFullClient = TidalTestClients.blockingClient(webClient, tokenService, properties);
+
+        // When
+        List<TidalArtistDto> artists = bulkheadFullClient.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(stub.trackRequests()).isZero();
+        assertThat(artists).isEmpty();
+    }
+}
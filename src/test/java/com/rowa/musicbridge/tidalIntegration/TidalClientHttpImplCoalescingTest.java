@@ -0,0 +1,124 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalClientHttpImpl Request Coalescing Tests")
+class TidalClientHttpImplCoalescingTest {
+
+    private static final int CALLERS = 8;
+    private static final long LATENCY_MS = 300;
+
+    private TidalStubServer stub;
+    private TidalClientHttpImpl client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        stub.addArtistAlbums("artist-1", 45);
+        for (int i = 0; i < 10; i++) {
+            stub.addTrack("track-" + i, "artist-" + (i % 3));
+        }
+        stub.setAlbumLatencyMs(LATENCY_MS);
+        stub.setTrackLatencyMs(LATENCY_MS);
+
+        TidalTokenService tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+
+        TidalClientProperties properties = new TidalClientProperties();
+        properties.setAlbumPageSize(20);
+        // Ohne Track Cache, sonst würde der Cache statt des Coalescings die Lookups einsparen
+        properties.getTrackCache().setEnabled(false);
+        WebClient webClient = WebClient.builder().baseUrl(stub.baseUrl()).build();
+        client = TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    /**
+     * Startet alle Aufrufe gleichzeitig (wie überlappende Syncs) und sammelt die Ergebnisse
+     */
+    private <T> List<T> callConcurrently(Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("fetchAlbumsForArtist - concurrent calls for the same artist should share one request per page")
+    void fetchAlbumsForArtist_MergesDuplicateCalls() throws Exception {
+        // When
+        List<List<TidalAlbumDto>> results = callConcurrently(() -> client.fetchAlbumsForArtist("artist-1"));
+
+        // Then - 45 Albums = 3 Seiten, einmal statt 8x geholt
+        assertThat(results).allSatisfy(albums -> assertThat(albums).hasSize(45));
+        assertThat(results).containsOnly(results.get(0));
+        assertThat(stub.albumRequests()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - concurrent identical searches should share the track lookups")
+    void searchTracksAndExtractArtists_MergesDuplicateLookups() throws Exception {
+        // When
+        List<List<TidalArtistDto>> results = callConcurrently(() -> client.searchTracksAndExtractArtists("rock", 10));
+
+        // Then
+        assertThat(results).allSatisfy(artists -> assertThat(artists).extracting(TidalArtistDto::getId)
+                .containsExactly("artist-0", "artist-1", "artist-2"));
+        assertThat(stub.batchRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fetchAlbumsForArtist - calls after the first one completed should fetch again")
+    void fetchAlbumsForArtist_DoesNotCacheCompletedCalls() {
+        // Given
+        stub.setAlbumLatencyMs(0);
+        client.fetchAlbumsForArtist("artist-1");
+
+        // When
+        client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(stub.albumRequests()).isEqualTo(6);
+    }
+}
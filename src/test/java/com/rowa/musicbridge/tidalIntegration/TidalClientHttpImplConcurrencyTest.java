@@ -0,0 +1,114 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalClientHttpImpl Concurrency Tests")
+class TidalClientHttpImplConcurrencyTest {
+
+    private static final int TRACK_COUNT = 20;
+    private static final int UNIQUE_ARTISTS = 5;
+    private static final long TRACK_LATENCY_MS = 50;
+
+    private TidalStubServer stub;
+    private TidalTokenService tokenService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        stub.setTrackLatencyMs(TRACK_LATENCY_MS);
+        // Jeder Track hat einen eigenen Artist plus einen geteilten Featured-Artist
+        for (int i = 0; i < TRACK_COUNT; i++) {
+            stub.addTrack("track-" + i, "artist-" + (i % UNIQUE_ARTISTS), "artist-featured");
+        }
+
+        tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private TidalClientHttpImpl client(int concurrency) {
+        TidalClientProperties properties = new TidalClientProperties();
+        properties.setTrackResolutionConcurrency(concurrency);
+        // Einzel-Lookups pro Track, damit die Parallelität messbar ist
+        properties.setTrackBatchSize(1);
+        // Ohne Track Cache, sonst würden Warm-up und Wiederholungen keine Requests mehr erzeugen
+        properties.getTrackCache().setEnabled(false);
+        WebClient webClient = WebClient.builder().baseUrl(stub.baseUrl()).build();
+        return TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - concurrent resolution should be N-way faster than sequential")
+    void searchTracksAndExtractArtists_ConcurrentSpeedup() {
+        // Given
+        TidalClientHttpImpl sequentialClient = client(1);
+        TidalClientHttpImpl concurrentClient = client(10);
+        // Warm-up (Connection Pool, JIT)
+        concurrentClient.searchTracksAndExtractArtists("warmup", 2);
+
+        // When
+        stub.resetCounters();
+        long sequentialStart = System.nanoTime();
+        List<TidalArtistDto> sequentialResult = sequentialClient.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+        long sequentialNanos = System.nanoTime() - sequentialStart;
+        int sequentialMaxInFlight = stub.maxInFlight();
+
+        stub.resetCounters();
+        long concurrentStart = System.nanoTime();
+        List<TidalArtistDto> concurrentResult = concurrentClient.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+        long concurrentNanos = System.nanoTime() - concurrentStart;
+
+        // Then
+        assertThat(sequentialMaxInFlight).isEqualTo(1);
+        assertThat(stub.maxInFlight()).isBetween(2, 10);
+        assertThat(stub.trackRequests()).isEqualTo(TRACK_COUNT);
+        // 20 x 50ms sequentiell vs. 2 Wellen à 50ms mit 10 parallelen Requests
+        assertThat(concurrentNanos * 3).isLessThan(sequentialNanos);
+        assertThat(concurrentResult).isEqualTo(sequentialResult);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should de-duplicate artists by id in track order")
+    void searchTracksAndExtractArtists_DeduplicatesInTrackOrder() {
+        // When
+        List<TidalArtistDto> artists = client(10).searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(artists)
+                .extracting(TidalArtistDto::getId)
+                .containsExactly("artist-0", "artist-featured", "artist-1", "artist-2", "artist-3", "artist-4");
+        assertThat(artists)
+                .extracting(TidalArtistDto::getName)
+                .contains("Artist artist-featured");
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - should skip tracks that fail to resolve")
+    void searchTracksAndExtractArtists_SkipsFailedTracks() {
+        // Given
+        stub.addUnresolvableTrack("track-missing");
+
+        // When
+        List<TidalArtistDto> artists = client(4).searchTracksAndExtractArtists("rock", TRACK_COUNT + 1);
+
+        // Then
+        assertThat(artists).hasSize(UNIQUE_ARTISTS + 1);
+    }
+}
@@ -0,0 +1,227 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.domain.exception.ExternalServiceUnavailableException;
+import com.rowa.musicbridge.tidalIntegration.TidalStubServer.Latency;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.config.TidalConfig;
+import com.rowa.musicbridge.tidalIntegration.config.TidalHttpClientConfig;
+import com.rowa.musicbridge.tidalIntegration.config.TidalWebClientConfig;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * End-to-end load tests of the "prod" client stack (token service, pooled connector, response cache,
+ * circuit breaker, rate limiter, streaming decoder) against the {@link TidalStubServer}.
+ * <p>
+ * The defaults finish in a few seconds; larger runs are configured with system properties, e.g.
+ * {@code mvn test -Dtest=TidalClientLoadTest -Dtidal.load.calls=20000 -Dtidal.load.concurrency=64
+ * -Dtidal.load.latency-ms=80}. Throughput and latency percentiles are logged per run.
+ * </p>
+ */
+@DisplayName("TIDAL Client End-to-End Load Tests")
+class TidalClientLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TidalClientLoadTest.class);
+
+    private static final int CALLS = Integer.getInteger("tidal.load.calls", 400);
+    private static final int CONCURRENCY = Integer.getInteger("tidal.load.concurrency", 32);
+    private static final long MEDIAN_LATENCY_MS = Long.getLong("tidal.load.latency-ms", 20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TidalStubServer stub;
+    private SyntheticTidalCatalog catalog;
+    private TidalClientProperties properties;
+    private ConnectionProvider connectionProvider;
+    private TidalTokenService tokenService;
+    private TidalClientHttpImpl client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new TidalClientProperties();
+        properties.getSynthetic().setArtistCount(100_000);
+        // Der Rate Limiter soll nur auf 429 reagieren, nicht selbst der Engpass sein
+        properties.getRateLimit().setPermitsPerSecond(10_000);
+        properties.getRateLimit().setBurst(10_000);
+        properties.getResponseCache().setEnabled(false);
+        properties.getTrackCache().setEnabled(false);
+        properties.getConnectionPool().setMaxConnections(CONCURRENCY);
+        // Jede Suche löst bis zu track-resolution-concurrency Batches parallel auf
+        int maxRequestsInFlight = CONCURRENCY * properties.getTrackResolutionConcurrency();
+        properties.getConnectionPool().setPendingAcquireMaxCount(maxRequestsInFlight);
+        // Die Requests sind tatsächlich gleichzeitig unterwegs (kein Warten auf den Rate Limiter),
+        // der Bulkhead wird deshalb auf die Last dimensioniert statt auf den Default von 10
+        properties.getCircuitBreaker().setMaxConcurrentCalls(maxRequestsInFlight);
+        properties.getConnectionPool().setMetrics(false);
+
+        catalog = new SyntheticTidalCatalog(properties.getSynthetic());
+        stub = TidalStubServer.start();
+        stub.useCatalog(catalog);
+        Latency latency = Latency.logNormal(MEDIAN_LATENCY_MS, 0.5);
+        stub.setSearchLatency(latency);
+        stub.setTrackLatency(latency);
+        stub.setAlbumLatency(latency);
+
+        TidalConfig tidalConfig = new TidalConfig(
+                stub.baseUrl(), "client-id", "client-secret", stub.baseUrl(), "/v1/oauth2/token");
+        TidalHttpClientConfig httpClientConfig = new TidalHttpClientConfig();
+        connectionProvider = httpClientConfig.tidalConnectionProvider(properties);
+        ClientHttpConnector connector = httpClientConfig.tidalClientConnector(connectionProvider, tidalConfig, properties);
+        tokenService = new TidalTokenService(tidalConfig, connector);
+
+        WebClient webClient = new TidalWebClientConfig().tidalWebClient(tidalConfig, connector,
+                new TidalCircuitBreaker(properties, meterRegistry),
+                new TidalRateLimiter(properties, meterRegistry),
+                new TidalResponseCache(properties, new ObjectMapper(), meterRegistry));
+        client = TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenService.shutdown();
+        connectionProvider.dispose();
+        stub.close();
+    }
+
+    /**
+     * Runs {@code call} for every input on CONCURRENCY threads and logs throughput and latency percentiles
+     */
+    private <I, O> List<O> runLoad(String name, List<I> inputs, Function<I, O> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        long[] latencies = new long[inputs.size()];
+        try {
+            long start = System.nanoTime();
+            List<Future<O>> futures = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long callStart = System.nanoTime();
+                    O result = call.apply(inputs.get(index));
+                    latencies[index] = System.nanoTime() - callStart;
+                    return result;
+                }));
+            }
+
+            List<O> results = new ArrayList<>();
+            for (Future<O> future : futures) {
+                results.add(future.get(5, TimeUnit.MINUTES));
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            Arrays.sort(latencies);
+            log.info("{}: {} calls on {} threads in {}ms = {} calls/s, latency p50={}ms p95={}ms p99={}ms max={}ms, "
+                            + "{} stub requests, {} injected faults",
+                    name, inputs.size(), CONCURRENCY, elapsed.toMillis(),
+                    String.format("%.1f", inputs.size() * 1000.0 / Math.max(1, elapsed.toMillis())),
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.95),
+                    percentileMillis(latencies, 0.99), percentileMillis(latencies, 1.0),
+                    stub.requests(), stub.faultResponses());
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return Duration.ofNanos(sortedNanos[Math.max(0, index)]).toMillis();
+    }
+
+    private List<String> artistIds(int count) {
+        List<String> artistIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            artistIds.add(SyntheticTidalCatalog.artistId(i * 97L % catalog.getArtistCount()));
+        }
+        return artistIds;
+    }
+
+    @Test
+    @DisplayName("album fetches should all complete with the synthetic discographies under concurrent load")
+    void albumFetchesUnderLoad() throws Exception {
+        // Given
+        List<String> artistIds = artistIds(CALLS);
+
+        // When
+        List<List<TidalAlbumDto>> results = runLoad("albums", artistIds, client::fetchAlbumsForArtist);
+
+        // Then
+        for (int i = 0; i < artistIds.size(); i++) {
+            long artistIndex = catalog.artistIndex(artistIds.get(i));
+            assertThat(results.get(i)).hasSize(Math.min(catalog.albumCount(artistIndex),
+                    properties.getAlbumPageSize() * properties.getAlbumMaxPages()));
+        }
+        assertThat(tokenService.getAccessToken()).isEqualTo("token-1");
+    }
+
+    @Test
+    @DisplayName("searches should resolve the artists of all synthetic tracks under concurrent load")
+    void searchesUnderLoad() throws Exception {
+        // Given
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, CALLS / 20); i++) {
+            queries.add("query " + i);
+        }
+
+        // When
+        List<List<TidalArtistDto>> results = runLoad("searches", queries,
+                query -> client.searchTracksAndExtractArtists(query, 100));
+
+        // Then
+        for (int i = 0; i < queries.size(); i++) {
+            assertThat(results.get(i)).extracting(TidalArtistDto::getId)
+                    .containsExactlyInAnyOrderElementsOf(catalog.search(queries.get(i), 100).stream()
+                            .map(TidalArtistDto::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("randomly injected 429 responses should be absorbed by the rate limiter retries")
+    void tooManyRequestsAreRetried() throws Exception {
+        // Given
+        stub.setFaultRates(0.05, 0.0, "0");
+        List<String> artistIds = artistIds(Math.max(50, CALLS / 4));
+
+        // When
+        List<List<TidalAlbumDto>> results = runLoad("albums with 5% 429", artistIds, client::fetchAlbumsForArtist);
+
+        // Then
+        assertThat(results).allSatisfy(albums -> assertThat(albums).isNotEmpty());
+        assertThat(stub.faultResponses()).isPositive();
+        assertThat(meterRegistry.counter("tidal.ratelimiter.throttled").count()).isEqualTo(stub.faultResponses());
+    }
+
+    @Test
+    @DisplayName("5xx responses should surface as ExternalServiceUnavailableException")
+    void serverErrorsAreMapped() {
+        // Given
+        stub.setFaultRates(0.0, 1.0, null);
+
+        // Then
+        assertThatThrownBy(() -> client.fetchAlbumsForArtist(SyntheticTidalCatalog.artistId(1)))
+                .isInstanceOf(ExternalServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.config.TidalConfig;
+import com.rowa.musicbridge.tidalIntegration.config.TidalHttpClientConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TIDAL Connection Pool Tests")
+class TidalConnectionPoolTest {
+
+    private final TidalHttpClientConfig httpClientConfig = new TidalHttpClientConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TidalStubServer stub;
+    private TidalClientProperties properties;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        stub.addTrack("track-1", "artist-1");
+        stub.setTrackLatencyMs(200);
+
+        properties = new TidalClientProperties();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        Metrics.removeRegistry(meterRegistry);
+        stub.close();
+    }
+
+    private WebClient webClient() {
+        connectionProvider = httpClientConfig.tidalConnectionProvider(properties);
+        TidalConfig config = new TidalConfig(stub.baseUrl(), "client-id", "client-secret", stub.baseUrl(), "/v1/oauth2/token");
+        return WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .clientConnector(httpClientConfig.tidalClientConnector(connectionProvider, config, properties))
+                .build();
+    }
+
+    private static Mono<String> fetchTrack(WebClient webClient) {
+        return webClient.get()
+                .uri("/v2/tracks/track-1")
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    @Test
+    @DisplayName("should never open more than max-connections to TIDAL")
+    void limitsOpenConnections() {
+        // Given
+        properties.getConnectionPool().setMaxConnections(2);
+        WebClient webClient = webClient();
+
+        // When
+        List<String> responses = Flux.range(0, 8)
+                .flatMap(i -> fetchTrack(webClient))
+                .collectList()
+                .block();
+
+        // Then - die übrigen Requests warten auf eine freie Connection
+        assertThat(responses).hasSize(8);
+        assertThat(stub.maxInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should reject requests beyond the pending acquire queue")
+    void rejectsBeyondPendingQueue() {
+        // Given
+        properties.getConnectionPool().setMaxConnections(1);
+        properties.getConnectionPool().setPendingAcquireMaxCount(1);
+        WebClient webClient = webClient();
+
+        // When
+        List<Boolean> results = Flux.range(0, 4)
+                .flatMap(i -> fetchTrack(webClient)
+                        .map(body -> true)
+                        // PoolAcquirePendingLimitException, von WebClient verpackt
+                        .onErrorResume(WebClientRequestException.class, e -> Mono.just(false)))
+                .collectList()
+                .block();
+
+        // Then - eine aktive Connection plus ein wartender Request
+        assertThat(results).containsOnly(true, false);
+        assertThat(results).filteredOn(success -> success).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should export pool gauges to Micrometer")
+    void exportsPoolMetrics() {
+        // Given
+        properties.getConnectionPool().setMaxConnections(3);
+        WebClient webClient = webClient();
+
+        // When
+        fetchTrack(webClient).block();
+
+        // Then
+        Gauge maxConnections = meterRegistry.find("reactor.netty.connection.provider.max.connections")
+                .tag("name", "tidal")
+                .gauge();
+        assertThat(maxConnections).isNotNull();
+        assertThat(maxConnections.value()).isEqualTo(3.0);
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.active.connections").tag("name", "tidal").gauge())
+                .isNotNull();
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.idle.connections").tag("name", "tidal").gauge())
+                .isNotNull();
+        assertThat(meterRegistry.find("reactor.netty.connection.provider.pending.connections").tag("name", "tidal").gauge())
+                .isNotNull();
+    }
+}
@@ -0,0 +1,194 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalRateLimiter Unit Tests")
+class TidalRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private TidalClientProperties.RateLimit config;
+    private TidalRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        config = new TidalClientProperties.RateLimit(10.0, 5, 0.5, 3);
+        rateLimiter = new TidalRateLimiter(config, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("reserve - should allow the burst and then space requests at the configured rate")
+    void reserve_BurstThenRate() {
+        // When / Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.reserve()).isZero();
+        }
+        assertThat(rateLimiter.reserve()).isEqualTo(100 * MS);
+        assertThat(rateLimiter.reserve()).isEqualTo(200 * MS);
+
+        clock.addAndGet(1000 * MS);
+        assertThat(rateLimiter.reserve()).isZero();
+    }
+
+    @Test
+    @DisplayName("onThrottled - should pause for Retry-After and halve the rate")
+    void onThrottled_PausesAndReducesRate() {
+        // When
+        rateLimiter.onThrottled(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(5.0);
+        assertThat(rateLimiter.reserve()).isGreaterThanOrEqualTo(2000 * MS);
+        assertThat(meterRegistry.counter("tidal.ratelimiter.throttled").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("onThrottled - should space queued requests from the end of the pause instead of bursting")
+    void onThrottled_QueuesBehindPause() {
+        // Given - Rate nach dem 429: 5/s, also 200ms pro Permit
+        rateLimiter.onThrottled(Duration.ofSeconds(2));
+
+        // When
+        long first = rateLimiter.reserve();
+        long second = rateLimiter.reserve();
+        clock.addAndGet(1000 * MS);
+        long third = rateLimiter.reserve();
+
+        // Then - während der Pause laufen keine Permits auf
+        assertThat(first).isEqualTo(2200 * MS);
+        assertThat(second).isEqualTo(2400 * MS);
+        assertThat(third).isEqualTo(1600 * MS);
+    }
+
+    @Test
+    @DisplayName("onThrottled - should never go below the minimum rate")
+    void onThrottled_RespectsMinimumRate() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.onThrottled(Duration.ZERO);
+        }
+
+        // Then
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("onResponse - should recover the rate step by step up to the configured value")
+    void onResponse_RecoversRate() {
+        // Given
+        rateLimiter.onThrottled(Duration.ZERO);
+
+        // When
+        rateLimiter.onResponse(new HttpHeaders());
+
+        // Then
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(5.5);
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.onResponse(new HttpHeaders());
+        }
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("onResponse - should follow the quota headers of the server")
+    void onResponse_HonorsQuotaHeaders() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TidalRateLimiter.REMAINING_HEADER, "0");
+        headers.set(TidalRateLimiter.REPLENISH_RATE_HEADER, "4");
+
+        // When
+        rateLimiter.onResponse(headers);
+
+        // Then
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(4.0);
+        // Kein Burst mehr übrig: nächster Request wartet auf den Server-Quota
+        assertThat(rateLimiter.reserve()).isEqualTo(250 * MS);
+    }
+
+    @Test
+    @DisplayName("onResponse - should lift the server cap when the replenish header rises or disappears")
+    void onResponse_UpdatesServerCap() {
+        // Given
+        HttpHeaders capped = new HttpHeaders();
+        capped.set(TidalRateLimiter.REPLENISH_RATE_HEADER, "4");
+        rateLimiter.onResponse(capped);
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(4.0);
+
+        // When
+        HttpHeaders raised = new HttpHeaders();
+        raised.set(TidalRateLimiter.REPLENISH_RATE_HEADER, "8");
+        rateLimiter.onResponse(raised);
+
+        // Then
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(8.0);
+        rateLimiter.onResponse(new HttpHeaders());
+        assertThat(rateLimiter.getCurrentRate()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("parseRetryAfter - should parse seconds and HTTP dates")
+    void parseRetryAfter_SecondsAndDate() {
+        // Given
+        String httpDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+
+        // Then
+        assertThat(TidalRateLimiter.parseRetryAfter("3")).isEqualTo(Duration.ofSeconds(3));
+        assertThat(TidalRateLimiter.parseRetryAfter(httpDate)).isBetween(Duration.ofSeconds(28), Duration.ofSeconds(30));
+        assertThat(TidalRateLimiter.parseRetryAfter("soon")).isNull();
+        assertThat(TidalRateLimiter.parseRetryAfter(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("filter - should retry album requests answered with 429 after Retry-After")
+    void filter_RetriesAfterTooManyRequests() throws Exception {
+        try (TidalStubServer stub = TidalStubServer.start()) {
+            // Given
+            stub.addArtistAlbums("artist-1", 3);
+            stub.failNextRequests(1, 429, "1");
+
+            TidalRateLimiter liveLimiter = new TidalRateLimiter(config, meterRegistry, System::nanoTime);
+            WebClient webClient = WebClient.builder()
+                    .baseUrl(stub.baseUrl())
+                    .filter(liveLimiter)
+                    .build();
+            TidalTokenService tokenService = mock(TidalTokenService.class);
+            when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+            TidalClientProperties properties = new TidalClientProperties();
+            TidalClientHttpImpl client = TidalTestClients.blockingClient(webClient, tokenService, properties);
+
+            // When
+            long start = System.nanoTime();
+            List<TidalAlbumDto> albums = client.fetchAlbumsForArtist("artist-1");
+            long elapsedMs = (System.nanoTime() - start) / MS;
+
+            // Then
+            assertThat(albums).hasSize(3);
+            assertThat(elapsedMs).isGreaterThanOrEqualTo(1000);
+            assertThat(meterRegistry.counter("tidal.ratelimiter.throttled").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.timer("tidal.ratelimiter.wait").count()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TIDAL Record and Replay Tests")
+class TidalRecordingReplayTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TidalClientHttpImpl httpClient;
+    private TidalClientProperties properties;
+
+    private final List<TidalArtistDto> artists = List.of(
+            new TidalArtistDto("artist-1", "Artist 1", null),
+            new TidalArtistDto("artist-2", "Artist 2", null));
+    private final List<List<TidalAlbumDto>> albumPages = List.of(
+            List.of(new TidalAlbumDto("album-1", "Album 1", "2020-01-01"), new TidalAlbumDto("album-2", "Album 2", null)),
+            List.of(new TidalAlbumDto("album-3", "Album 3", "2021-05-17")));
+
+    @BeforeEach
+    void setUp() {
+        httpClient = mock(TidalClientHttpImpl.class);
+        when(httpClient.searchTracksAndExtractArtists("rock", 50)).thenReturn(artists);
+        when(httpClient.fetchAlbumPagesForArtist("artist-1")).thenAnswer(invocation -> albumPages.iterator());
+
+        properties = new TidalClientProperties();
+        properties.getRecording().setDirectory(directory.toString());
+        properties.getReplay().setDirectory(directory.toString());
+    }
+
+    private static <T> List<T> drain(Iterator<T> iterator) {
+        List<T> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        return items;
+    }
+
+    @Test
+    @DisplayName("replay should serve exactly what was recorded, without the network")
+    void replayServesRecordedResults() {
+        // Given
+        RecordingTidalClient recorder = new RecordingTidalClient(httpClient, properties, objectMapper);
+        assertThat(recorder.searchTracksAndExtractArtists("rock", 50)).isEqualTo(artists);
+        assertThat(drain(recorder.fetchAlbumPagesForArtist("artist-1"))).isEqualTo(albumPages);
+
+        // When
+        TidalClientReplayImpl replay = new TidalClientReplayImpl(properties, objectMapper);
+
+        // Then
+        assertThat(replay.searchTracksAndExtractArtists("rock", 50)).isEqualTo(artists);
+        assertThat(drain(replay.fetchAlbumPagesForArtist("artist-1"))).isEqualTo(albumPages);
+        assertThat(replay.fetchAlbumsForArtist("artist-1")).extracting(TidalAlbumDto::getId)
+                .containsExactly("album-1", "album-2", "album-3");
+    }
+
+    @Test
+    @DisplayName("recordings should be gzip files")
+    void recordingsAreCompressed() throws Exception {
+        // When
+        new RecordingTidalClient(httpClient, properties, objectMapper).searchTracksAndExtractArtists("rock", 50);
+
+        // Then
+        Path file = directory.resolve(TidalRecordings.searchFileName("rock", 50));
+        byte[] header = Files.readAllBytes(file);
+        assertThat(header[0]).isEqualTo((byte) 0x1f);
+        assertThat(header[1]).isEqualTo((byte) 0x8b);
+    }
+
+    @Test
+    @DisplayName("abandoned album paging should not be recorded")
+    void abandonedPagingIsNotRecorded() {
+        // Given
+        RecordingTidalClient recorder = new RecordingTidalClient(httpClient, properties, objectMapper);
+
+        // When - nur die erste Seite wird gelesen
+        recorder.fetchAlbumPagesForArtist("artist-1").next();
+
+        // Then
+        assertThat(directory.resolve(TidalRecordings.albumsFileName("artist-1"))).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("replay should return empty results for calls that were not recorded")
+    void replayWithoutRecording() {
+        // Given
+        TidalClientReplayImpl replay = new TidalClientReplayImpl(properties, objectMapper);
+
+        // Then
+        assertThat(replay.searchTracksAndExtractArtists("jazz", 10)).isEmpty();
+        assertThat(replay.fetchAlbumPagesForArtist("artist-9").hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("replay should inject the configured latency per search and album page")
+    void replayInjectsLatency() {
+        // Given
+        RecordingTidalClient recorder = new RecordingTidalClient(httpClient, properties, objectMapper);
+        drain(recorder.fetchAlbumPagesForArtist("artist-1"));
+        properties.getReplay().setLatency(Duration.ofMillis(100));
+        TidalClientReplayImpl replay = new TidalClientReplayImpl(properties, objectMapper);
+
+        // When
+        long start = System.nanoTime();
+        drain(replay.fetchAlbumPagesForArtist("artist-1"));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then - 2 Seiten
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+    }
+}
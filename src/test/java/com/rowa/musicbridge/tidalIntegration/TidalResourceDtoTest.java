@@ -0,0 +1,78 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalResourceDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TidalResourceDto Deserialization Tests")
+class TidalResourceDtoTest {
+
+    // Kein FAIL_ON_UNKNOWN_PROPERTIES abschalten: die DTOs müssen unbekannte Felder selbst ignorieren
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("should bind used attributes and skip all others")
+    void bindsOnlyUsedAttributes() throws Exception {
+        // Given
+        String json = """
+                {"id": "300001", "type": "albums",
+                 "attributes": {"title": "Album 1", "releaseDate": "2020-01-02",
+                                "imageLinks": [{"href": "https://img", "meta": {"width": 160}}],
+                                "copyright": {"text": "(C) Label"}, "popularity": 0.4},
+                 "links": {"self": "/albums/300001"}}
+                """;
+
+        // When
+        TidalResourceDto resource = objectMapper.readValue(json, TidalResourceDto.class);
+        TidalAlbumDto album = TidalAlbumDto.fromResource(resource);
+
+        // Then
+        assertThat(album.getId()).isEqualTo("300001");
+        assertThat(album.getTitle()).isEqualTo("Album 1");
+        assertThat(album.getReleaseDate()).isEqualTo("2020-01-02");
+    }
+
+    @Test
+    @DisplayName("relationshipIds - should read to-many and to-one relationships")
+    void relationshipIds_ManyAndOne() throws Exception {
+        // Given
+        String json = """
+                {"id": "100001", "type": "tracks",
+                 "attributes": {"title": "Track 1"},
+                 "relationships": {
+                   "artists": {"data": [{"id": "1", "type": "artists"}, {"id": "2", "type": "artists"}],
+                               "links": {"self": "/tracks/100001/relationships/artists"}},
+                   "owner": {"data": {"id": "9", "type": "users"}},
+                   "albums": {"links": {"self": "/tracks/100001/relationships/albums"}}}}
+                """;
+
+        // When
+        TidalResourceDto resource = objectMapper.readValue(json, TidalResourceDto.class);
+
+        // Then
+        assertThat(resource.relationshipIds("artists")).containsExactly("1", "2");
+        assertThat(resource.relationshipIds("owner")).containsExactly("9");
+        assertThat(resource.relationshipIds("albums")).isNull();
+        assertThat(resource.relationshipIds("providers")).isNull();
+    }
+
+    @Test
+    @DisplayName("fromResource - should map artist name and return null without attributes")
+    void fromResource_Artist() throws Exception {
+        // Given
+        TidalResourceDto artist = objectMapper.readValue(
+                "{\"id\": \"7\", \"type\": \"artists\", \"attributes\": {\"name\": \"Artist 7\", \"popularity\": 0.9}}",
+                TidalResourceDto.class);
+        TidalResourceDto withoutAttributes = objectMapper.readValue(
+                "{\"id\": \"8\", \"type\": \"artists\"}", TidalResourceDto.class);
+
+        // Then
+        assertThat(TidalArtistDto.fromResource(artist).getName()).isEqualTo("Artist 7");
+        assertThat(TidalArtistDto.fromResource(withoutAttributes)).isNull();
+    }
+}
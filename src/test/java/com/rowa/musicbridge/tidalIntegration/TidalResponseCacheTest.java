@@ -0,0 +1,190 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TidalResponseCache Tests")
+class TidalResponseCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private TidalStubServer stub;
+    private TidalTokenService tokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private TidalClientProperties.ResponseCache config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        // 45 Alben = 3 Seiten à 20
+        stub.addArtistAlbums("artist-1", 45);
+
+        tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        config = new TidalClientProperties.ResponseCache(
+                true, cacheDir.toString(), Duration.ofDays(1), DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private TidalResponseCache newCache() {
+        return new TidalResponseCache(config, new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    private TidalClientHttpImpl client(TidalResponseCache cache) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(cache)
+                .build();
+        TidalClientProperties properties = new TidalClientProperties();
+        return TidalTestClients.blockingClient(webClient, tokenService, properties);
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.counter("tidal.response.cache", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("filter - unchanged album pages should be served from cache after a 304")
+    void filter_ServesNotModifiedFromCache() {
+        // Given
+        TidalClientHttpImpl client = client(newCache());
+        List<TidalAlbumDto> firstRun = client.fetchAlbumsForArtist("artist-1");
+
+        // When
+        List<TidalAlbumDto> secondRun = client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(secondRun).hasSize(45).isEqualTo(firstRun);
+        assertThat(stub.notModifiedResponses()).isEqualTo(3);
+        assertThat(cacheCount("revalidated")).isEqualTo(3.0);
+        assertThat(cacheCount("stored")).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("filter - cached responses should survive a restart")
+    void filter_PersistsAcrossRestarts() {
+        // Given
+        client(newCache()).fetchAlbumsForArtist("artist-1");
+
+        // When - neue Instanz über dem gleichen Verzeichnis (wie nach einem Neustart)
+        TidalResponseCache restarted = newCache();
+        List<TidalAlbumDto> albums = client(restarted).fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(restarted.size()).isEqualTo(3);
+        assertThat(albums).hasSize(45);
+        assertThat(stub.notModifiedResponses()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("filter - changed pages should be downloaded and replace the cached entry")
+    void filter_ReplacesChangedResponses() {
+        // Given
+        TidalClientHttpImpl client = client(newCache());
+        client.fetchAlbumsForArtist("artist-1");
+
+        // When - nur die letzte Seite ändert sich (5 -> 10 Alben)
+        stub.addArtistAlbums("artist-1", 50);
+        List<TidalAlbumDto> albums = client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(albums).hasSize(50);
+        assertThat(stub.notModifiedResponses()).isEqualTo(2);
+        assertThat(cacheCount("stored")).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("filter - entries older than the TTL should be fetched unconditionally")
+    void filter_ExpiresAfterTtl() {
+        // Given
+        TidalResponseCache cache = newCache();
+        TidalClientHttpImpl client = client(cache);
+        client.fetchAlbumsForArtist("artist-1");
+
+        // When
+        clock.addAndGet(Duration.ofDays(1).plusSeconds(1).toMillis());
+        client.fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(stub.notModifiedResponses()).isZero();
+        assertThat(cacheCount("miss")).isEqualTo(6.0);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("filter - revalidations should refresh the TTL in memory and write it back lazily")
+    void filter_WritesRefreshedTtlLazily() throws Exception {
+        // Given
+        TidalResponseCache cache = newCache();
+        TidalClientHttpImpl client = client(cache);
+        client.fetchAlbumsForArtist("artist-1");
+        clock.addAndGet(Duration.ofHours(20).toMillis());
+
+        // When - 304 verlängert die TTL, die Meta-Dateien bleiben bis zum Flush unverändert
+        client.fetchAlbumsForArtist("artist-1");
+        List<Long> beforeFlush = storedAtMillis();
+        cache.flushTouches();
+        List<Long> afterFlush = storedAtMillis();
+
+        // Then - nach einem Neustart gilt die verlängerte TTL
+        assertThat(beforeFlush).containsOnly(1_000_000L);
+        assertThat(afterFlush).containsOnly(clock.get());
+        clock.addAndGet(Duration.ofHours(20).toMillis());
+        assertThat(newCache().size()).isEqualTo(3);
+    }
+
+    private List<Long> storedAtMillis() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        File[] metaFiles = cacheDir.toFile().listFiles((dir, name) -> name.endsWith(".meta"));
+        assertThat(metaFiles).hasSize(3);
+        List<Long> storedAt = new ArrayList<>();
+        for (File metaFile : metaFiles) {
+            storedAt.add(objectMapper.readValue(metaFile, TidalResponseCache.CacheMeta.class).storedAtMillis());
+        }
+        return storedAt;
+    }
+
+    @Test
+    @DisplayName("filter - should evict least recently used entries above the maximum size")
+    void filter_EvictsAboveMaxSize() {
+        // Given - Platz für ungefähr eine Albumseite
+        config.setMaxSize(DataSize.ofKilobytes(4));
+        TidalResponseCache cache = newCache();
+
+        // When
+        client(cache).fetchAlbumsForArtist("artist-1");
+
+        // Then
+        assertThat(cache.size()).isBetween(1, 2);
+        assertThat(cacheDir.toFile().list((dir, name) -> name.endsWith(".body"))).hasSize(cache.size());
+    }
+}
@@ -0,0 +1,561 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalAlbumDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded TIDAL API stub for client tests.
+ * Serves JSON:API payloads for a small in-memory catalog on a random local port.
+ * <p>
+ * For load tests it can serve a {@link SyntheticTidalCatalog} instead (any number of artists, generated
+ * per request), with a latency distribution per endpoint and randomly injected 429/5xx responses.
+ * </p>
+ */
+class TidalStubServer implements AutoCloseable {
+
+    private static final String SYNTHETIC_TRACK_PREFIX = "synthetic-track-";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // trackId -> artistIds, in search result order (null = track lookup answers 404)
+    private final Map<String, List<String>> trackArtists = new LinkedHashMap<>();
+
+    // artistId -> number of albums
+    private final Map<String, Integer> artistAlbumCounts = new LinkedHashMap<>();
+
+    private volatile SyntheticTidalCatalog catalog;
+
+    private volatile Latency searchLatency = Latency.NONE;
+    private volatile Latency trackLatency = Latency.NONE;
+    private volatile Latency albumLatency = Latency.NONE;
+    private volatile Latency tokenLatency = Latency.NONE;
+    private volatile long tokenExpiresIn = 86400;
+    private volatile boolean batchEndpointEnabled = true;
+    private volatile int faultStatus;
+    private volatile String faultRetryAfter;
+    private volatile double tooManyRequestsRate;
+    private volatile double serverErrorRate;
+    private volatile String randomFaultRetryAfter;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger trackRequests = new AtomicInteger();
+    private final AtomicInteger batchRequests = new AtomicInteger();
+    private final AtomicInteger albumRequests = new AtomicInteger();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger injectedFaults = new AtomicInteger();
+    private final AtomicInteger faultResponses = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * Response time of one request to the stub
+     */
+    @FunctionalInterface
+    interface Latency {
+
+        Latency NONE = () -> 0;
+
+        long nextMillis();
+
+        static Latency fixed(long millis) {
+            return () -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+        }
+
+        /**
+         * Long tail like real API latencies: half of the requests are faster than {@code medianMillis},
+         * sigma 0.5 puts p99 at about 3x the median
+         */
+        static Latency logNormal(long medianMillis, double sigma) {
+            return () -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+
+    private TidalStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v2/searchResults/", withFaults(this::handleSearch, true));
+        server.createContext("/v2/tracks", withFaults(this::handleTracks, true));
+        server.createContext("/v2/artists/", withFaults(this::handleArtistAlbums, true));
+        server.createContext("/v1/oauth2/token", withFaults(this::handleToken, false));
+    }
+
+    static TidalStubServer start() throws IOException {
+        TidalStubServer stub = new TidalStubServer();
+        stub.server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    synchronized void addTrack(String trackId, String... artistIds) {
+        trackArtists.put(trackId, List.of(artistIds));
+    }
+
+    /**
+     * Track appears in search results but its lookup answers 404
+     */
+    synchronized void addUnresolvableTrack(String trackId) {
+        trackArtists.put(trackId, null);
+    }
+
+    synchronized void addArtistAlbums(String artistId, int albumCount) {
+        artistAlbumCounts.put(artistId, albumCount);
+    }
+
+    /**
+     * Serves searches, tracks and albums from {@code catalog} instead of the tracks and albums added above.
+     * Search hits become tracks "synthetic-track-{artistIndex}-{position}" of exactly one artist.
+     */
+    void useCatalog(SyntheticTidalCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    void setTrackLatencyMs(long trackLatencyMs) {
+        this.trackLatency = Latency.fixed(trackLatencyMs);
+    }
+
+    void setAlbumLatencyMs(long albumLatencyMs) {
+        this.albumLatency = Latency.fixed(albumLatencyMs);
+    }
+
+    void setTokenLatencyMs(long tokenLatencyMs) {
+        this.tokenLatency = Latency.fixed(tokenLatencyMs);
+    }
+
+    void setSearchLatency(Latency searchLatency) {
+        this.searchLatency = searchLatency;
+    }
+
+    void setTrackLatency(Latency trackLatency) {
+        this.trackLatency = trackLatency;
+    }
+
+    void setAlbumLatency(Latency albumLatency) {
+        this.albumLatency = albumLatency;
+    }
+
+    void setTokenLatency(Latency tokenLatency) {
+        this.tokenLatency = tokenLatency;
+    }
+
+    /**
+     * expires_in (seconds) of the tokens issued from now on
+     */
+    void setTokenExpiresIn(long tokenExpiresIn) {
+        this.tokenExpiresIn = tokenExpiresIn;
+    }
+
+    /**
+     * When disabled, /v2/tracks?filter[id]=... answers 400 so clients must fall back to single lookups
+     */
+    void setBatchEndpointEnabled(boolean batchEndpointEnabled) {
+        this.batchEndpointEnabled = batchEndpointEnabled;
+    }
+
+    /**
+     * The next {@code count} requests (any endpoint) answer with {@code status}
+     * @param retryAfter value of the Retry-After header, or null to omit it
+     */
+    void failNextRequests(int count, int status, String retryAfter) {
+        faultStatus = status;
+        faultRetryAfter = retryAfter;
+        injectedFaults.set(count);
+    }
+
+    /**
+     * Every API request (token requests excluded) answers 429 with probability {@code tooManyRequestsRate}
+     * and 503 with probability {@code serverErrorRate}
+     * @param retryAfter value of the Retry-After header, or null to omit it
+     */
+    void setFaultRates(double tooManyRequestsRate, double serverErrorRate, String retryAfter) {
+        this.randomFaultRetryAfter = retryAfter;
+        this.serverErrorRate = serverErrorRate;
+        this.tooManyRequestsRate = tooManyRequestsRate;
+    }
+
+    /**
+     * Number of injected 429/5xx responses, scheduled and random ones
+     */
+    int faultResponses() {
+        return faultResponses.get();
+    }
+
+    /**
+     * Number of requests to any endpoint, injected faults included
+     */
+    int requests() {
+        return requests.get();
+    }
+
+    /**
+     * Number of single /v2/tracks/{id} requests
+     */
+    int trackRequests() {
+        return trackRequests.get();
+    }
+
+    /**
+     * Number of batched /v2/tracks?filter[id]=... requests
+     */
+    int batchRequests() {
+        return batchRequests.get();
+    }
+
+    /**
+     * Number of album page requests
+     */
+    int albumRequests() {
+        return albumRequests.get();
+    }
+
+    /**
+     * Number of /v1/oauth2/token requests
+     */
+    int tokenRequests() {
+        return tokenRequests.get();
+    }
+
+    /**
+     * Number of 304 responses to requests whose If-None-Match matched the current ETag
+     */
+    int notModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    void resetCounters() {
+        requests.set(0);
+        trackRequests.set(0);
+        batchRequests.set(0);
+        albumRequests.set(0);
+        tokenRequests.set(0);
+        notModifiedResponses.set(0);
+        faultResponses.set(0);
+        maxInFlight.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param randomFaults whether the random fault rates apply to this endpoint
+     */
+    private HttpHandler withFaults(HttpHandler handler, boolean randomFaults) {
+        return exchange -> {
+            requests.incrementAndGet();
+            if (injectedFaults.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                writeFault(exchange, faultStatus, faultRetryAfter);
+                return;
+            }
+            if (randomFaults) {
+                double roll = ThreadLocalRandom.current().nextDouble();
+                if (roll < tooManyRequestsRate) {
+                    writeFault(exchange, 429, randomFaultRetryAfter);
+                    return;
+                }
+                if (roll < tooManyRequestsRate + serverErrorRate) {
+                    writeFault(exchange, 503, randomFaultRetryAfter);
+                    return;
+                }
+            }
+            handler.handle(exchange);
+        };
+    }
+
+    private void writeFault(HttpExchange exchange, int status, String retryAfter) throws IOException {
+        faultResponses.incrementAndGet();
+        if (retryAfter != null) {
+            exchange.getResponseHeaders().set("Retry-After", retryAfter);
+        }
+        writeJson(exchange, status, Map.of("errors", List.of(Map.of("code", "INJECTED_FAULT"))));
+    }
+
+    /**
+     * OAuth2 client credentials endpoint, every request issues a new token "token-N"
+     */
+    private void handleToken(HttpExchange exchange) throws IOException {
+        int tokenNumber = tokenRequests.incrementAndGet();
+        sleep(tokenLatency.nextMillis());
+        writeJson(exchange, 200, Map.of(
+                "access_token", "token-" + tokenNumber,
+                "token_type", "Bearer",
+                "expires_in", tokenExpiresIn));
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getPath().substring("/v2/searchResults/".length());
+        int limit = Integer.parseInt(queryParam(exchange, "limit", "20"));
+        sleep(searchLatency.nextMillis());
+
+        List<Map<String, Object>> included = new ArrayList<>();
+        SyntheticTidalCatalog synthetic = catalog;
+        if (synthetic != null) {
+            long[] hits = synthetic.searchHits(query, limit);
+            for (int i = 0; i < hits.length; i++) {
+                String trackId = SYNTHETIC_TRACK_PREFIX + hits[i] + "-" + i;
+                included.add(resource(trackId, "tracks", Map.of("title", "Track " + trackId)));
+            }
+        } else {
+            synchronized (this) {
+                for (String trackId : trackArtists.keySet()) {
+                    if (included.size() >= limit) {
+                        break;
+                    }
+                    included.add(resource(trackId, "tracks", Map.of("title", "Track " + trackId)));
+                }
+            }
+        }
+
+        writeJson(exchange, 200, Map.of(
+                "data", resource(query, "searchResults", Map.of()),
+                "included", included));
+    }
+
+    private void handleTracks(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            sleep(trackLatency.nextMillis());
+        } finally {
+            // Vor dem Antworten abmelden: sonst kann der Client den nächsten Request schon schicken,
+            // während dieser noch mitzählt
+            inFlight.decrementAndGet();
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/v2/tracks")) {
+            handleTrackBatch(exchange);
+        } else {
+            handleTrack(exchange, path.substring("/v2/tracks/".length()));
+        }
+    }
+
+    private void handleTrackBatch(HttpExchange exchange) throws IOException {
+        batchRequests.incrementAndGet();
+        if (!batchEndpointEnabled) {
+            writeJson(exchange, 400, Map.of("errors", List.of(Map.of("code", "INVALID_FILTER"))));
+            return;
+        }
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        Map<String, Map<String, Object>> included = new LinkedHashMap<>();
+        for (String trackId : queryParams(exchange, "filter[id]")) {
+            List<String> artistIds = artistsOfTrack(trackId);
+            if (artistIds == null) {
+                continue;
+            }
+            data.add(trackResource(trackId, artistIds));
+            for (Map<String, Object> artist : artistResources(artistIds)) {
+                included.putIfAbsent((String) artist.get("id"), artist);
+            }
+        }
+
+        writeJson(exchange, 200, Map.of(
+                "data", data,
+                "included", new ArrayList<>(included.values())));
+    }
+
+    private void handleTrack(HttpExchange exchange, String trackId) throws IOException {
+        trackRequests.incrementAndGet();
+
+        List<String> artistIds = artistsOfTrack(trackId);
+        if (artistIds == null) {
+            writeJson(exchange, 404, Map.of("errors", List.of(Map.of("code", "NOT_FOUND"))));
+            return;
+        }
+
+        writeJson(exchange, 200, Map.of(
+                "data", trackResource(trackId, artistIds),
+                "included", artistResources(artistIds)));
+    }
+
+    /**
+     * /v2/artists/{id}/relationships/albums with cursor paging.
+     * The cursor deliberately contains characters that must be URL-encoded.
+     */
+    private void handleArtistAlbums(HttpExchange exchange) throws IOException {
+        albumRequests.incrementAndGet();
+        sleep(albumLatency.nextMillis());
+        String[] segments = exchange.getRequestURI().getPath().split("/");
+        // ["", "v2", "artists", "{id}", "relationships", "albums"]
+        String artistId = segments[3];
+        int limit = Integer.parseInt(queryParam(exchange, "limit", "20"));
+        String cursor = queryParam(exchange, "page[cursor]", null);
+        int offset = cursor == null ? 0 : Integer.parseInt(cursor.substring(2, cursor.length() - 2));
+
+        SyntheticTidalCatalog synthetic = catalog;
+        int albumCount;
+        if (synthetic != null) {
+            albumCount = synthetic.albumCount(synthetic.artistIndex(artistId));
+        } else {
+            synchronized (this) {
+                albumCount = artistAlbumCounts.getOrDefault(artistId, 0);
+            }
+        }
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        List<Map<String, Object>> included = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + limit, albumCount); i++) {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            String albumId;
+            if (synthetic != null) {
+                TidalAlbumDto album = synthetic.album(synthetic.artistIndex(artistId), i);
+                albumId = album.getId();
+                attributes.put("title", album.getTitle());
+                attributes.put("releaseDate", album.getReleaseDate());
+            } else {
+                albumId = artistId + "-album-" + i;
+                attributes.put("title", "Album " + i);
+                attributes.put("releaseDate", "2020-01-01");
+            }
+            data.add(Map.of("id", albumId, "type", "albums"));
+            included.add(resource(albumId, "albums", attributes));
+        }
+
+        Map<String, Object> links = new LinkedHashMap<>();
+        String self = "/artists/" + artistId + "/relationships/albums?countryCode=DE&include=albums";
+        links.put("self", self);
+        if (offset + limit < albumCount) {
+            String nextCursor = "c+" + (offset + limit) + "/=";
+            links.put("next", self + "&page%5Bcursor%5D=" + URLEncoder.encode(nextCursor, StandardCharsets.UTF_8));
+        }
+
+        writeJson(exchange, 200, Map.of("data", data, "included", included, "links", links));
+    }
+
+    /**
+     * @return artist ids of the track, null if the track is unknown (lookup answers 404)
+     */
+    private List<String> artistsOfTrack(String trackId) {
+        SyntheticTidalCatalog synthetic = catalog;
+        if (synthetic != null && trackId.startsWith(SYNTHETIC_TRACK_PREFIX)) {
+            String artistIndex = trackId.substring(SYNTHETIC_TRACK_PREFIX.length(), trackId.lastIndexOf('-'));
+            return List.of(SyntheticTidalCatalog.artistId(Long.parseLong(artistIndex)));
+        }
+        synchronized (this) {
+            return trackArtists.get(trackId);
+        }
+    }
+
+    /**
+     * Track resource with relationships.artists, as returned with include=artists
+     */
+    private static Map<String, Object> trackResource(String trackId, List<String> artistIds) {
+        List<Map<String, Object>> identifiers = new ArrayList<>();
+        for (String artistId : artistIds) {
+            identifiers.add(Map.of("id", artistId, "type", "artists"));
+        }
+        Map<String, Object> track = resource(trackId, "tracks", Map.of("title", "Track " + trackId));
+        track.put("relationships", Map.of("artists", Map.of("data", identifiers)));
+        return track;
+    }
+
+    private List<Map<String, Object>> artistResources(List<String> artistIds) {
+        SyntheticTidalCatalog synthetic = catalog;
+        List<Map<String, Object>> artists = new ArrayList<>();
+        for (String artistId : artistIds) {
+            String name = synthetic != null && artistId.startsWith(SyntheticTidalCatalog.ARTIST_ID_PREFIX)
+                    ? synthetic.artist(synthetic.artistIndex(artistId)).getName()
+                    : "Artist " + artistId;
+            artists.add(resource(artistId, "artists", Map.of("name", name)));
+        }
+        return artists;
+    }
+
+    private static Map<String, Object> resource(String id, String type, Map<String, Object> attributes) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("id", id);
+        resource.put("type", type);
+        resource.put("attributes", attributes);
+        return resource;
+    }
+
+    private static String queryParam(HttpExchange exchange, String name, String defaultValue) {
+        List<String> values = queryParams(exchange, name);
+        return values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    private static List<String> queryParams(HttpExchange exchange, String name) {
+        List<String> values = new ArrayList<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return values;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int idx = pair.indexOf('=');
+            String key = URLDecoder.decode(idx < 0 ? pair : pair.substring(0, idx), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                values.add(idx < 0 ? "" : URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 200 responses carry an ETag derived from the body; a matching If-None-Match is answered with 304
+     */
+    private void writeJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        if (status == 200) {
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                // Request vorher zu Ende lesen: sonst schließt der HttpServer die Keep-Alive Verbindung nach dem 304,
+                // während der Client sie schon für den nächsten Request wiederverwendet
+                exchange.getRequestBody().close();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/vnd.api+json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
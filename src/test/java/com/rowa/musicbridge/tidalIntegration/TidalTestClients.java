@@ -0,0 +1,36 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Optional;
+
+/**
+ * Wires the TIDAL HTTP clients for tests the way the Spring context does
+ */
+final class TidalTestClients {
+
+    private TidalTestClients() {
+    }
+
+    static TidalClientHttpImpl blockingClient(WebClient webClient, TidalTokenService tokenService,
+                                              TidalClientProperties properties) {
+        return blockingClient(webClient, tokenService, properties,
+                new TrackArtistCache(properties, new SimpleMeterRegistry(), Optional.empty()));
+    }
+
+    static TidalClientHttpImpl blockingClient(WebClient webClient, TidalTokenService tokenService,
+                                              TidalClientProperties properties, TrackArtistCache trackArtistCache) {
+        return new TidalClientHttpImpl(reactiveClient(webClient, tokenService, properties, trackArtistCache));
+    }
+
+    static ReactiveTidalClientHttpImpl reactiveClient(WebClient webClient, TidalTokenService tokenService,
+                                                      TidalClientProperties properties,
+                                                      TrackArtistCache trackArtistCache) {
+        JsonApiStreamDecoder decoder = new JsonApiStreamDecoder(
+                new ObjectMapper(), (int) properties.getMaxResourceSize().toBytes());
+        return new ReactiveTidalClientHttpImpl(webClient, tokenService, properties, trackArtistCache, decoder);
+    }
+}
@@ -0,0 +1,148 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TidalTokenService Concurrency Tests")
+class TidalTokenServiceTest {
+
+    private static final int THREADS = 50;
+
+    private TidalStubServer stub;
+    private TidalTokenService tokenService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        TidalConfig config = new TidalConfig(
+                stub.baseUrl(), "client-id", "client-secret", stub.baseUrl(), "/v1/oauth2/token");
+        tokenService = new TidalTokenService(config, new ReactorClientHttpConnector());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenService.shutdown();
+        stub.close();
+    }
+
+    /**
+     * Startet alle Threads gleichzeitig und sammelt die erhaltenen Tokens
+     */
+    private Set<String> requestTokensConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return tokenService.getAccessToken();
+                }));
+            }
+            start.countDown();
+
+            Set<String> tokens = ConcurrentHashMap.newKeySet();
+            for (Future<String> future : futures) {
+                tokens.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return tokens;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("getAccessToken - concurrent callers should share a single token request")
+    void getAccessToken_SingleFlight() throws Exception {
+        // Given
+        stub.setTokenLatencyMs(200);
+
+        // When
+        Set<String> tokens = requestTokensConcurrently();
+
+        // Then
+        assertThat(tokens).containsExactly("token-1");
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getAccessToken - should issue exactly one token request per expiry")
+    void getAccessToken_OneRequestPerExpiry() throws Exception {
+        // Given - Token ist nur 1s länger gültig als die 5-Minuten-Grenze
+        stub.setTokenLatencyMs(100);
+        stub.setTokenExpiresIn(301);
+        assertThat(requestTokensConcurrently()).containsExactly("token-1");
+
+        // When
+        Thread.sleep(1100);
+        Set<String> tokens = requestTokensConcurrently();
+
+        // Then
+        assertThat(tokens).containsExactly("token-2");
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getAccessToken - should renew the token in the background before it expires")
+    void getAccessToken_ProactiveRenewal() throws Exception {
+        // Given - Erneuerung ist 2s nach Ausstellung fällig (362 - 300 - 60)
+        stub.setTokenExpiresIn(362);
+        assertThat(tokenService.getAccessToken()).isEqualTo("token-1");
+
+        // When
+        Thread.sleep(2500);
+
+        // Then - ohne Aufrufer erneuert, der nächste Aufruf bekommt den neuen Token ohne Request
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+        assertThat(tokenService.getAccessToken()).isEqualTo("token-2");
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("invalidateToken - next call should fetch a new token")
+    void invalidateToken_FetchesNewToken() {
+        // Given
+        assertThat(tokenService.getAccessToken()).isEqualTo("token-1");
+
+        // When
+        tokenService.invalidateToken();
+
+        // Then
+        assertThat(tokenService.getAccessToken()).isEqualTo("token-2");
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("invalidateToken - right after a refresh should never hand out the invalidated token")
+    void invalidateToken_RightAfterRefresh() {
+        // Given
+        String token = tokenService.getAccessToken();
+
+        for (int i = 0; i < 20; i++) {
+            // When - invalidieren, solange der gerade abgeschlossene Request noch frisch ist
+            tokenService.invalidateToken();
+            String renewed = tokenService.getAccessToken();
+
+            // Then
+            assertThat(renewed).isNotEqualTo(token);
+            token = renewed;
+        }
+        assertThat(stub.tokenRequests()).isEqualTo(21);
+    }
+}
@@ -0,0 +1,176 @@
+package com.rowa.musicbridge.tidalIntegration;
+
+import com.rowa.musicbridge.tidalIntegration.config.TidalClientProperties;
+import com.rowa.musicbridge.tidalIntegration.dto.TidalArtistDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TrackArtistCache Tests")
+class TrackArtistCacheTest {
+
+    private static final int TRACK_COUNT = 20;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private TidalStubServer stub;
+    private TidalTokenService tokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private TidalClientProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = TidalStubServer.start();
+        for (int i = 0; i < TRACK_COUNT; i++) {
+            stub.addTrack("track-" + i, "artist-" + (i % 5));
+        }
+
+        tokenService = mock(TidalTokenService.class);
+        when(tokenService.getAccessTokenMono()).thenReturn(Mono.just("test-token"));
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TidalClientProperties();
+        properties.setTrackBatchSize(20);
+        properties.getTrackCache().setTtl(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private TrackArtistCache cache(TrackArtistStore store) {
+        return new TrackArtistCache(properties.getTrackCache(), meterRegistry, store, clock::get);
+    }
+
+    private TidalClientHttpImpl client(TrackArtistCache cache) {
+        WebClient webClient = WebClient.builder().baseUrl(stub.baseUrl()).build();
+        return TidalTestClients.blockingClient(webClient, tokenService, properties, cache);
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.counter("tidal.track.cache", "result", result).count();
+    }
+
+    private int trackLookups() {
+        return stub.trackRequests() + stub.batchRequests();
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - overlapping searches should only look up new tracks")
+    void searchTracksAndExtractArtists_SkipsCachedTracks() {
+        // Given
+        TidalClientHttpImpl client = client(cache(null));
+        client.searchTracksAndExtractArtists("rock", 10);
+
+        // When - die ersten 10 Tracks sind bereits bekannt
+        stub.resetCounters();
+        List<TidalArtistDto> artists = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(artists).extracting(TidalArtistDto::getId)
+                .containsExactly("artist-0", "artist-1", "artist-2", "artist-3", "artist-4");
+        assertThat(stub.batchRequests()).isEqualTo(1);
+        assertThat(cacheCount("hit")).isEqualTo(10.0);
+        assertThat(cacheCount("miss")).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - a repeated search should not hit TIDAL for tracks")
+    void searchTracksAndExtractArtists_RepeatedSearchFromCache() {
+        // Given
+        TidalClientHttpImpl client = client(cache(null));
+        List<TidalArtistDto> firstRun = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // When
+        stub.resetCounters();
+        List<TidalArtistDto> secondRun = client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(secondRun).isEqualTo(firstRun);
+        assertThat(trackLookups()).isZero();
+    }
+
+    @Test
+    @DisplayName("searchTracksAndExtractArtists - expired tracks should be looked up again")
+    void searchTracksAndExtractArtists_RefetchesAfterTtl() {
+        // Given
+        TidalClientHttpImpl client = client(cache(null));
+        client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // When
+        clock.addAndGet(Duration.ofHours(1).plusSeconds(1).toMillis());
+        stub.resetCounters();
+        client.searchTracksAndExtractArtists("rock", TRACK_COUNT);
+
+        // Then
+        assertThat(stub.batchRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("putAll - should evict the least recently used tracks above max entries")
+    void putAll_EvictsLeastRecentlyUsed() {
+        // Given
+        properties.getTrackCache().setMaxEntries(2);
+        TrackArtistCache cache = cache(null);
+        List<TidalArtistDto> artists = List.of(new TidalArtistDto("artist-1", "Artist 1", null));
+        cache.putAll(Map.of("track-a", artists));
+        cache.putAll(Map.of("track-b", artists));
+        // track-a wird benutzt, track-b ist damit am längsten unbenutzt
+        cache.getAll(List.of("track-a")).block();
+
+        // When
+        cache.putAll(Map.of("track-c", artists));
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getAll(List.of("track-a", "track-b", "track-c")).block())
+                .containsOnlyKeys("track-a", "track-c");
+    }
+
+    @Test
+    @DisplayName("getAll - should fall back to the store and write resolved tracks through")
+    void getAll_UsesStore() {
+        // Given - track-0 wurde in einem früheren Lauf aufgelöst und persistiert
+        TrackArtistStore store = mock(TrackArtistStore.class);
+        TrackArtistCache.Entry stored = new TrackArtistCache.Entry(
+                List.of(new TidalArtistDto("artist-0", "Artist artist-0", null)), Instant.ofEpochMilli(clock.get()));
+        when(store.findAll(anyCollection(), any())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).contains("track-0")
+                        ? Map.of("track-0", stored)
+                        : Map.of());
+        properties.setTrackBatchSize(1);
+        TidalClientHttpImpl client = client(cache(store));
+
+        // When
+        List<TidalArtistDto> artists = client.searchTracksAndExtractArtists("rock", 3);
+
+        // Then
+        assertThat(artists).extracting(TidalArtistDto::getId).containsExactly("artist-0", "artist-1", "artist-2");
+        assertThat(stub.trackRequests()).isEqualTo(2);
+        // Write-Through pro aufgelöstem Batch: zusammen alle neu geholten Tracks, nie der gespeicherte
+        verify(store, timeout(1000).atLeastOnce()).saveAll(argThat(entries -> entries.containsKey("track-1")));
+        verify(store, timeout(1000).atLeastOnce()).saveAll(argThat(entries -> entries.containsKey("track-2")));
+        verify(store, never()).saveAll(argThat(entries -> entries.containsKey("track-0")));
+    }
+}